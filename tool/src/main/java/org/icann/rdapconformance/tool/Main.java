@@ -6,12 +6,20 @@ import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
 
 import java.net.URI;
+import java.util.Arrays;
 
 
 public class Main {
   private static final Logger logger = LoggerFactory.getLogger(Main.class);
 
   public static void main(String[] args) {
+    if (args.length > 0 && RdapBatchTool.COMMAND.equals(args[0])) {
+      System.exit(execute(new RdapBatchTool(), Arrays.copyOfRange(args, 1, args.length)));
+    }
+    if (args.length > 0 && RdapValidationServer.COMMAND.equals(args[0])) {
+      System.exit(execute(new RdapValidationServer(), Arrays.copyOfRange(args, 1, args.length)));
+    }
+
     RdapConformanceTool tool = new RdapConformanceTool();
     CommandLine commandLine = new CommandLine(tool);
     commandLine.registerConverter(URI.class, new RdapConformanceTool.IdnAwareUriConverter());
@@ -28,4 +36,15 @@ public class Main {
     int exitCode = commandLine.execute(args);
     System.exit(exitCode);
   }
+
+  private static int execute(Object command, String[] args) {
+    CommandLine commandLine = new CommandLine(command);
+    commandLine.setParameterExceptionHandler((ex, params) -> {
+      System.err.println(ex.getMessage());
+      commandLine.usage(System.err);
+      logger.error(ToolResult.BAD_USER_INPUT.getDescription());
+      return ToolResult.BAD_USER_INPUT.getCode();
+    });
+    return commandLine.execute(args);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,385 @@
+package org.icann.rdapconformance.tool;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.icann.rdapconformance.validator.CommonUtils.ZERO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import org.icann.rdapconformance.tool.progress.ProgressTracker;
+import org.icann.rdapconformance.validator.DNSCacheResolver;
+import org.icann.rdapconformance.validator.ToolResult;
+import org.icann.rdapconformance.validator.workflow.FileSystem;
+import org.icann.rdapconformance.validator.workflow.LocalFileSystem;
+import org.icann.rdapconformance.validator.workflow.rdap.DatasetWarmUp;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPDatasetServiceImpl;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * Validates many RDAP URIs in one run of the tool.
+ *
+ * <p>The URIs are read from a file, or from stdin, one per line followed by the options of
+ * {@link RdapConformanceTool} that only apply to it, such as {@code --gtld-registrar} or
+ * {@code --gtld-registry}. The datasets, the DNS resolver and the rate of the requests to each
+ * host are shared by all the URIs, so {@code --use-local-datasets}, {@code --dns-resolver},
+ * {@code --host-rate-limit} and {@code --host-rate-burst} are only accepted as options of the
+ * batch itself. Empty lines and lines starting with {@code #} are ignored. The arguments of a
+ * line are separated by spaces; a value with spaces is put between single or double quotes, as in
+ * a shell but without escapes:</p>
+ * <pre>
+ * https://rdap.example.com/domain/example.com --gtld-registry --use-rdap-profile-february-2024
+ * https://rdap.example.net/entity/123 --gtld-registrar --no-ipv6-queries
+ * https://rdap.example.org/domain/example.org --results-file "results/example org.json"
+ * </pre>
+ *
+ * <p>Up to {@code --workers} URIs are validated at the same time, all of them sharing the IANA
+ * datasets, the compiled schemas and the DNS cache. The results file of each URI is written in
+ * the output directory, unless the URI has its own {@code --results-file}, along with a
+ * {@value #SUMMARY_FILE} listing the exit code and results file of every URI. The batch exits with
+ * {@link ToolResult#BATCH_VALIDATION_FAILED} if the validation of any URI did not exit with
+ * {@link ToolResult#SUCCESS}.</p>
+ *
+ * <p>CLI Usage example:</p>
+ * <pre>
+ * java -jar rdapct.jar batch -c config.json --workers 8 uris.txt
+ * cat uris.txt | java -jar rdapct.jar batch -c config.json -
+ * </pre>
+ *
+ * @see RdapConformanceTool
+ */
+@Command(name = "rdap-conformance-tool batch", versionProvider = org.icann.rdapconformance.tool.VersionProvider.class, mixinStandardHelpOptions = true)
+public class RdapBatchTool implements Callable<Integer> {
+
+  private static final Logger logger = LoggerFactory.getLogger(RdapBatchTool.class);
+
+  /**
+   * The first argument selecting the batch mode, see {@link Main}.
+   */
+  public static final String COMMAND = "batch";
+  public static final String SUMMARY_FILE = "summary.json";
+  private static final String STDIN = "-";
+  private static final String COMMENT = "#";
+  private static final String PROGRESS_PHASE = "BatchValidation";
+  // Options of RdapConformanceTool set once for the whole batch, which a line cannot override
+  private static final List<String> BATCH_OPTIONS = List.of(SharedResourceOptions.USE_LOCAL_DATASETS,
+      SharedResourceOptions.DNS_RESOLVER, SharedResourceOptions.HOST_RATE_LIMIT,
+      SharedResourceOptions.HOST_RATE_BURST);
+
+  @Parameters(paramLabel = "URI_LIST", index = "0",
+      description = "File listing the URIs to be tested, one per line followed by its own options, or - for stdin")
+  String uriList;
+
+  @Option(names = {"-c", "--config"}, description = "Definition file", required = true)
+  String configurationFile;
+
+  @Option(names = {"--workers"},
+      description = "Maximum number of URIs to validate in parallel", defaultValue = "4")
+  int workers = 4;
+
+  @Option(names = {"--output-directory"},
+      description = "Directory to store the results file of each URI and the summary", defaultValue = "results")
+  String outputDirectory = "results";
+
+  @Mixin
+  SharedResourceOptions sharedOptions = new SharedResourceOptions();
+
+  private FileSystem fileSystem = new LocalFileSystem();
+  private InputStream stdin = System.in;
+
+  void setStdin(InputStream stdin) {
+    this.stdin = stdin;
+  }
+
+  @Override
+  public Integer call() throws Exception {
+    if (workers < 1) {
+      logger.error(ToolResult.BAD_USER_INPUT.getDescription() + ": --workers must be at least 1");
+      return ToolResult.BAD_USER_INPUT.getCode();
+    }
+    if (!sharedOptions.configure()) {
+      return ToolResult.BAD_USER_INPUT.getCode();
+    }
+
+    List<BatchEntry> entries;
+    try (BufferedReader reader = openUriList()) {
+      entries = readEntries(reader);
+    } catch (IOException e) {
+      logger.error(ToolResult.FILE_READ_ERROR.getDescription() + ": " + uriList, e);
+      return ToolResult.FILE_READ_ERROR.getCode();
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      logger.error(ToolResult.BAD_USER_INPUT.getDescription());
+      return ToolResult.BAD_USER_INPUT.getCode();
+    }
+
+    RdapConformanceTool.configureTls();
+
+    // The datasets all the URIs are expected to use are loaded up front, any other one on first use
+    Set<Class<?>> warmUp = new HashSet<>();
+    for (BatchEntry entry : entries) {
+      warmUp.addAll(DatasetWarmUp.forQuery(entry.tool().getWarmUpQueryType(), entry.tool()));
+    }
+    RDAPDatasetServiceImpl datasetService = new RDAPDatasetServiceImpl(fileSystem);
+    if (!datasetService.prepare(sharedOptions.useLocalDatasets, warmUp, null)) {
+      logger.error(ToolResult.DATASET_UNAVAILABLE.getDescription());
+      return ToolResult.DATASET_UNAVAILABLE.getCode();
+    }
+
+    DNSCacheResolver dnsResolver;
+    try {
+      dnsResolver = new DNSCacheResolver(sharedOptions.customDnsResolver);
+    } catch (RuntimeException e) {
+      logger.error(ToolResult.BAD_USER_INPUT.getDescription() + ": DNS server is not reachable: " + sharedOptions.customDnsResolver);
+      return ToolResult.BAD_USER_INPUT.getCode();
+    }
+
+    try {
+      fileSystem.mkdir(outputDirectory);
+    } catch (IOException e) {
+      logger.error(ToolResult.FILE_WRITE_ERROR.getDescription() + ": " + outputDirectory, e);
+      return ToolResult.FILE_WRITE_ERROR.getCode();
+    }
+
+    List<BatchResult> results = validateAll(entries, tool -> tool.validate(datasetService, dnsResolver));
+
+    String summaryPath = Paths.get(outputDirectory, SUMMARY_FILE).toString();
+    try {
+      fileSystem.write(summaryPath, createSummary(results).toString(4));
+    } catch (IOException e) {
+      logger.error("Unable to write to summary file: " + summaryPath, e);
+      return ToolResult.FILE_WRITE_ERROR.getCode();
+    }
+    System.out.println("Summary saved to: " + summaryPath);
+    return exitCode(results);
+  }
+
+  /**
+   * @return {@link ToolResult#SUCCESS} if the validation of every URI succeeded,
+   *     {@link ToolResult#BATCH_VALIDATION_FAILED} otherwise
+   */
+  static int exitCode(List<BatchResult> results) {
+    boolean allSucceeded = results.stream()
+        .allMatch(result -> result.exitCode() != null && result.exitCode() == ZERO);
+    return allSucceeded ? ToolResult.SUCCESS.getCode() : ToolResult.BATCH_VALIDATION_FAILED.getCode();
+  }
+
+  private BufferedReader openUriList() throws IOException {
+    if (STDIN.equals(uriList)) {
+      return new BufferedReader(new InputStreamReader(stdin, UTF_8));
+    }
+    return Files.newBufferedReader(Paths.get(uriList), UTF_8);
+  }
+
+  /**
+   * Reads the URIs to validate, each one into its own {@link RdapConformanceTool} configured with
+   * the options of its line and the definition file of the batch.
+   *
+   * @throws IllegalArgumentException if the options of a line are invalid or only apply to the
+   *     whole batch
+   */
+  List<BatchEntry> readEntries(BufferedReader reader) throws IOException {
+    List<BatchEntry> entries = new ArrayList<>();
+    int lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      line = line.strip();
+      if (line.isEmpty() || line.startsWith(COMMENT)) {
+        continue;
+      }
+
+      List<String> args = new ArrayList<>(List.of("--config", configurationFile));
+      args.addAll(tokenize(line, lineNumber));
+      RdapConformanceTool tool = new RdapConformanceTool();
+      CommandLine commandLine = new CommandLine(tool);
+      commandLine.registerConverter(URI.class, new RdapConformanceTool.IdnAwareUriConverter());
+      String errorMessage = UserInputValidator.parseOptions(args.toArray(new String[0]), tool, commandLine);
+      if (errorMessage != null) {
+        throw new IllegalArgumentException("Line " + lineNumber + ": " + errorMessage);
+      }
+      for (String option : BATCH_OPTIONS) {
+        if (commandLine.getParseResult().hasMatchedOption(option)) {
+          throw new IllegalArgumentException("Line " + lineNumber + ": " + option
+              + " applies to the whole batch and must be given before the URI list");
+        }
+      }
+      if (tool.getResultsFile() == null) {
+        tool.setResultsFile(Paths.get(outputDirectory, "results-" + lineNumber + ".json").toString());
+      }
+      tool.setShowProgress(false);
+      tool.applyIpVersionOptions();
+      entries.add(new BatchEntry(lineNumber, tool));
+    }
+    return entries;
+  }
+
+  /**
+   * Splits a line of the URI list into its arguments: they are separated by spaces, and the
+   * characters between a pair of single or double quotes, spaces included, belong to the same
+   * argument.
+   *
+   * @throws IllegalArgumentException if a quote is not closed
+   */
+  static List<String> tokenize(String line, int lineNumber) {
+    List<String> tokens = new ArrayList<>();
+    StringBuilder token = new StringBuilder();
+    boolean inToken = false;
+    char quote = 0;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        } else {
+          token.append(c);
+        }
+      } else if (c == '"' || c == '\'') {
+        quote = c;
+        inToken = true;
+      } else if (Character.isWhitespace(c)) {
+        if (inToken) {
+          tokens.add(token.toString());
+          token.setLength(0);
+          inToken = false;
+        }
+      } else {
+        token.append(c);
+        inToken = true;
+      }
+    }
+    if (quote != 0) {
+      throw new IllegalArgumentException("Line " + lineNumber + ": unterminated " + quote + " quote");
+    }
+    if (inToken) {
+      tokens.add(token.toString());
+    }
+    return tokens;
+  }
+
+  /**
+   * Validates the entries with at most {@link #workers} of them at the same time.
+   *
+   * @param validation validates the URI of a tool and returns its exit code
+   * @return the result of each entry, in the order of the entries
+   */
+  List<BatchResult> validateAll(List<BatchEntry> entries, ToIntFunction<RdapConformanceTool> validation)
+      throws InterruptedException {
+    // Virtual threads, as a validation mostly waits for the network and the per-host rate limiter
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(workers, entries.size())),
+        Thread.ofVirtual().name("batch-worker-", 1).factory());
+    AtomicInteger completed = new AtomicInteger();
+    // The tools of the entries do not show their own progress, the batch shows one step per URI
+    ProgressTracker progressTracker = new ProgressTracker(entries.size(), false);
+    progressTracker.start();
+    progressTracker.updatePhase(PROGRESS_PHASE);
+    try {
+      List<Future<BatchResult>> futures = new ArrayList<>();
+      for (BatchEntry entry : entries) {
+        futures.add(executor.submit(() -> {
+          BatchResult result = validate(entry, validation);
+          logger.info("[{}/{}] {}: {}", completed.incrementAndGet(), entries.size(), entry.tool().getUri(),
+              result.exitCode() != null ? "exit code " + result.exitCode() : result.failure());
+          progressTracker.incrementStep();
+          return result;
+        }));
+      }
+
+      List<BatchResult> results = new ArrayList<>();
+      for (Future<BatchResult> future : futures) {
+        try {
+          results.add(future.get());
+        } catch (ExecutionException e) {
+          // validate() reports the failures in the result
+          throw new IllegalStateException(e.getCause());
+        }
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+      progressTracker.complete();
+    }
+  }
+
+  private static BatchResult validate(BatchEntry entry, ToIntFunction<RdapConformanceTool> validation) {
+    RdapConformanceTool tool = entry.tool();
+    try {
+      int exitCode = validation.applyAsInt(tool);
+      return new BatchResult(entry.line(), tool.getUri(), exitCode, tool.getResultsFile(),
+          tool.getErrorCount(), null);
+    } catch (RuntimeException e) {
+      // One URI failing does not stop the others
+      logger.error("Validation of {} failed", tool.getUri(), e);
+      return new BatchResult(entry.line(), tool.getUri(), null, null, 0,
+          e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+    }
+  }
+
+  static JSONObject createSummary(List<BatchResult> results) {
+    JSONArray entries = new JSONArray();
+    int succeeded = 0;
+    for (BatchResult result : results) {
+      JSONObject entry = new JSONObject();
+      entry.put("line", result.line());
+      entry.put("testedURI", result.uri().toString());
+      entry.put("exitCode", result.exitCode() != null ? result.exitCode() : JSONObject.NULL);
+      entry.put("resultsFile", result.resultsFile() != null ? result.resultsFile() : JSONObject.NULL);
+      entry.put("errorCount", result.errorCount());
+      if (result.failure() != null) {
+        entry.put("failure", result.failure());
+      }
+      entries.put(entry);
+      if (result.exitCode() != null && result.exitCode() == ZERO) {
+        succeeded++;
+      }
+    }
+
+    JSONObject summary = new JSONObject();
+    summary.put("total", results.size());
+    summary.put("succeeded", succeeded);
+    summary.put("failed", results.size() - succeeded);
+    summary.put("results", entries);
+    return summary;
+  }
+
+  /**
+   * A URI of the batch, with the tool configured from its line.
+   */
+  record BatchEntry(int line, RdapConformanceTool tool) {
+
+  }
+
+  /**
+   * The outcome of the validation of a URI of the batch.
+   *
+   * @param exitCode the exit code of the validation, null if it failed unexpectedly
+   * @param failure  the reason of an unexpected failure, null otherwise
+   */
+  record BatchResult(int line, URI uri, Integer exitCode, String resultsFile, int errorCount,
+                     String failure) {
+
+  }
+}
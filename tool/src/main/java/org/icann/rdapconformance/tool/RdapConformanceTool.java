@@ -8,6 +8,7 @@ import ch.qos.logback.classic.joran.JoranConfigurator;
 import java.io.File;
 import java.net.URI;
 import java.security.Security;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -24,6 +25,7 @@ import org.icann.rdapconformance.tool.progress.ProgressPhase;
 import picocli.CommandLine;
 import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
@@ -123,10 +125,6 @@ public class RdapConformanceTool implements RDAPValidatorConfiguration, Callable
       description = "Maximum number of redirects to follow", defaultValue = "3")
   private int maxRedirects = 3;
 
-  @Option(names = {"--use-local-datasets"},
-      description = "Use locally-persisted datasets", defaultValue = "false")
-  private boolean useLocalDatasets = false;
-
   @Option(names = {"--results-file"}, description = "File to store the validation results",  hidden = true)
   private String resultsFile;
 
@@ -138,6 +136,11 @@ public class RdapConformanceTool implements RDAPValidatorConfiguration, Callable
   private boolean executeIPv4Queries = true;
   private boolean executeIPv6Queries = true;
 
+  @Option(names = {"--max-parallel-rounds"},
+      description = "Maximum number of IPv4/IPv6 validation rounds to run in parallel (1 runs them sequentially)",
+      defaultValue = "4")
+  private int maxParallelRounds = 4;
+
   @Option(names = {"--additional-conformance-queries"}, description = "Additional queries '/help' and 'not-a-domain.invalid' to be issued")
   private boolean additionalConformanceQueries = false;
 
@@ -153,9 +156,8 @@ public class RdapConformanceTool implements RDAPValidatorConfiguration, Callable
   @Option(names = {"--logging"}, description = "Set logging level (CLI, INFO, DEBUG, ERROR, VERBOSE)", defaultValue = "CLI")
   private LoggingLevel loggingLevel = LoggingLevel.CLI;
 
-  @Option(names = {"--dns-resolver"},
-          description = "Custom DNS resolver IP address (e.g., 8.8.8.8 or 2001:4860:4860::8888)")
-  private String customDnsResolver;
+  @Mixin
+  private SharedResourceOptions sharedOptions = new SharedResourceOptions();
 
   @Option(names = {"--ssrf-allowed-hosts"},
           description = "Hosts/IPs to allow through SSRF protection (for QA/testing environments). " +
@@ -212,7 +214,7 @@ public void setMaxRedirects(int maxRedirects) {
  * @param useLocalDatasets true to use local datasets, false to download fresh data
  */
 public void setUseLocalDatasets(boolean useLocalDatasets) {
-    this.useLocalDatasets = useLocalDatasets;
+    sharedOptions.useLocalDatasets = useLocalDatasets;
 }
 
 /**
@@ -347,11 +349,11 @@ public void setShowProgress(boolean showProgress) {
    */
 
   public void setCustomDnsResolver(String customDnsResolver) {
-      this.customDnsResolver = customDnsResolver;
+      sharedOptions.customDnsResolver = customDnsResolver;
   }
 
   public String getCustomDnsResolver() {
-      return this.customDnsResolver;
+      return sharedOptions.customDnsResolver;
   }
 
   @Override
@@ -470,29 +472,10 @@ public void setShowProgress(boolean showProgress) {
     }
 
     // these must be set before we do anything else
-    System.setProperty("com.sun.net.ssl.checkRevocation", "true");
-    System.setProperty("com.sun.security.enableCRLDP", "true");
-    Security.setProperty("ocsp.enable", "true");
-    System.setProperty("jdk.tls.client.enableSessionTicketExtension", "false");
-    System.setProperty("jdk.tls.disableCompression", "true");
-
-    // All these have proved useful at one time or another in the past - Turn on whatever level you need for debugging
-    //  System.setProperty("javax.net.debug", "all");
-    //  System.setProperty("javax.net.debug", "ssl");
-    //  System.setProperty("javax.net.debug", "ssl:handshake:verbose");
-    //  System.setProperty("java.net.debug", "all");
+    configureTls();
 
     // Update executeIP*Queries based on command line options if provided
-    if (ipVersionOptions != null) {
-      if (ipVersionOptions.noIPv4Queries) {
-        executeIPv4Queries = false;
-        executeIPv6Queries = true;
-      }
-      if (ipVersionOptions.noIPv6Queries) {
-        executeIPv6Queries = false;
-        executeIPv4Queries = true;
-      }
-    }
+    applyIpVersionOptions();
 
     // we should never reach this point ... paranoid check
     if (!executeIPv4Queries && !executeIPv6Queries) {
@@ -500,9 +483,8 @@ public void setShowProgress(boolean showProgress) {
       return ToolResult.BAD_USER_INPUT.getCode();
     }
 
-    // Validate custom DNS resolver if provided
-    if (customDnsResolver != null && !customDnsResolver.isEmpty() && !isValidIpAddress(customDnsResolver)) {
-      logger.error(ToolResult.BAD_USER_INPUT.getDescription() + ": Invalid DNS resolver IP address format: " + customDnsResolver);
+    // Validate custom DNS resolver if provided and apply the host rate limit
+    if (!sharedOptions.configure()) {
       return ToolResult.BAD_USER_INPUT.getCode();
     }
 
@@ -519,6 +501,59 @@ public void setShowProgress(boolean showProgress) {
       return ToolResult.DATASET_UNAVAILABLE.getCode();
     }
 
+    return validate(datasetService, null);
+  }
+
+  /**
+   * Sets the TLS revocation checking and hardening properties of the JVM.
+   *
+   * <p>These must be set before any connection is made.</p>
+   */
+  static void configureTls() {
+    System.setProperty("com.sun.net.ssl.checkRevocation", "true");
+    System.setProperty("com.sun.security.enableCRLDP", "true");
+    Security.setProperty("ocsp.enable", "true");
+    System.setProperty("jdk.tls.client.enableSessionTicketExtension", "false");
+    System.setProperty("jdk.tls.disableCompression", "true");
+
+    // All these have proved useful at one time or another in the past - Turn on whatever level you need for debugging
+    //  System.setProperty("javax.net.debug", "all");
+    //  System.setProperty("javax.net.debug", "ssl");
+    //  System.setProperty("javax.net.debug", "ssl:handshake:verbose");
+    //  System.setProperty("java.net.debug", "all");
+  }
+
+  /**
+   * Updates the IP versions to query from the --no-ipv4-queries and --no-ipv6-queries options.
+   */
+  void applyIpVersionOptions() {
+    if (ipVersionOptions != null) {
+      if (ipVersionOptions.noIPv4Queries) {
+        executeIPv4Queries = false;
+        executeIPv6Queries = true;
+      }
+      if (ipVersionOptions.noIPv6Queries) {
+        executeIPv6Queries = false;
+        executeIPv4Queries = true;
+      }
+    }
+  }
+
+  /**
+   * Validates the URI once the JVM and the datasets are set up, from the configuration file check
+   * to the results file.
+   *
+   * <p>Used by {@link #call()} and by {@link RdapBatchTool} for each URI of a batch, in which
+   * case the datasets and the DNS cache are shared by all the URIs.</p>
+   *
+   * @param datasetService the datasets to validate with
+   * @param dnsResolver the DNS cache to use, or null to create one for this validation querying
+   *                    the custom DNS resolver if any
+   * @return exit code indicating validation result
+   */
+  int validate(RDAPDatasetService datasetService, DNSCacheResolver dnsResolver) {
+    LoggingLevel effectiveLevel = isVerbose ? LoggingLevel.VERBOSE : loggingLevel;
+
     // First check if the configuration file exists
     if (!CommonUtils.configFileExists(this, fileSystem)) {
       logger.error(ToolResult.CONFIG_DOES_NOT_EXIST.getDescription());
@@ -541,16 +576,20 @@ public void setShowProgress(boolean showProgress) {
     // This includes DNS resolver initialization with any custom DNS server
     try {
       updateProgressPhase(ProgressPhase.DNS_RESOLUTION);
-      queryContext = QueryContext.create(this, datasetService, new org.icann.rdapconformance.validator.workflow.rdap.http.RDAPHttpQuery(this), customDnsResolver);
-      logger.debug("QueryContext created successfully with custom DNS server: {}", customDnsResolver);
+      org.icann.rdapconformance.validator.workflow.rdap.http.RDAPHttpQuery query =
+          new org.icann.rdapconformance.validator.workflow.rdap.http.RDAPHttpQuery(this);
+      queryContext = dnsResolver != null
+          ? QueryContext.create(this, datasetService, query, dnsResolver)
+          : QueryContext.create(this, datasetService, query, sharedOptions.customDnsResolver);
+      logger.debug("QueryContext created successfully with custom DNS server: {}", sharedOptions.customDnsResolver);
     } catch (RuntimeException e) {
       logger.error("Failed to initialize QueryContext with DNS resolver: {}", e.getMessage());
       if (e.getMessage().contains("not responding")) {
           logger.error(ToolResult.BAD_USER_INPUT.getDescription() +
-                       ": DNS server is not reachable: " + customDnsResolver);
+                       ": DNS server is not reachable: " + sharedOptions.customDnsResolver);
       } else {
           logger.error(ToolResult.BAD_USER_INPUT.getDescription() +
-                       ": Invalid DNS resolver IP address: " + customDnsResolver);
+                       ": Invalid DNS resolver IP address: " + sharedOptions.customDnsResolver);
       }
       return ToolResult.BAD_USER_INPUT.getCode();
     }
@@ -590,7 +629,7 @@ public void setShowProgress(boolean showProgress) {
     } else {
         // For non-RDAP validators, create a basic QueryContext and use instance-based approach
         if (queryContext == null) {
-            queryContext = QueryContext.create(this, datasetService, null, customDnsResolver);
+            queryContext = QueryContext.create(this, datasetService, null, sharedOptions.customDnsResolver);
         }
         resultFile = queryContext.getResultFile();
         resultFile.initialize(queryContext.getResults(), this, configFile, fileSystem, queryContext);
@@ -610,63 +649,29 @@ public void setShowProgress(boolean showProgress) {
       // Start network validation phase
       updateProgressPhase(ProgressPhase.NETWORK_VALIDATION);
         
-        // do v6
+        // Collect the rounds to run: v6 first, then v4
+        List<ValidationRound> rounds = new ArrayList<>();
         logger.debug("IPv6 check: executeIPv6Queries={}, hasV6Addresses={}", executeIPv6Queries, queryContext.getDnsResolver().hasV6Addresses(uri.toString()));
         if(executeIPv6Queries && queryContext.getDnsResolver().hasV6Addresses(uri.toString())) {
-          logger.debug("Starting IPv6 validations...");
-          updateProgressPhase("IPv6-JSON");
-
-          if (validator instanceof RDAPValidator) {
-              RDAPValidator rdapValidator = (RDAPValidator) validator;
-              rdapValidator.getQueryContext().setStackToV6();
-              rdapValidator.getQueryContext().setAcceptHeaderToApplicationJson();
-          }
-
-          logger.debug("About to run IPv6-JSON validation");
-          int v6ret = validator.validate();
-          logger.debug("IPv6-JSON validation completed with result: {}", v6ret);
-          incrementProgress(ESTIMATED_VALIDATIONS_PER_ROUND); // Estimated validations per round
-
-          // set the header to RDAP+JSON and redo the validations
-          updateProgressPhase("IPv6-RDAP+JSON");
-
-          if (validator instanceof RDAPValidator) {
-              RDAPValidator rdapValidator = (RDAPValidator) validator;
-              rdapValidator.getQueryContext().setAcceptHeaderToApplicationRdapJson();
-          }
-
-          logger.debug("About to run IPv6-RDAP+JSON validation");
-          int v6ret2 = validator.validate();
-          logger.debug("IPv6-RDAP+JSON validation completed with result: {}", v6ret2);
-          incrementProgress(ESTIMATED_VALIDATIONS_PER_ROUND); // Estimated validations per round
-          logger.debug("IPv6 validations completed");
+          rounds.add(ValidationRound.IPV6_JSON);
+          rounds.add(ValidationRound.IPV6_RDAP_JSON);
         } else {
           logger.debug("Skipping IPv6 validations - executeIPv6Queries={}, hasV6Addresses={}", executeIPv6Queries, queryContext.getDnsResolver().hasV6Addresses(uri.toString()));
         }
 
-        // do v4
         if(executeIPv4Queries && queryContext.getDnsResolver().hasV4Addresses(uri.toString())) {
-          updateProgressPhase("IPv4-JSON");
-
-          if (validator instanceof RDAPValidator) {
-              RDAPValidator rdapValidator = (RDAPValidator) validator;
-              rdapValidator.getQueryContext().setStackToV4();
-              rdapValidator.getQueryContext().setAcceptHeaderToApplicationJson();
-          }
-
-          int v4ret = validator.validate();
-          incrementProgress(ESTIMATED_VALIDATIONS_PER_ROUND); // Estimated validations per round
-
-          // set the header to RDAP+JSON and redo the validations
-          updateProgressPhase("IPv4-RDAP+JSON");
-
-          if (validator instanceof RDAPValidator) {
-              RDAPValidator rdapValidator = (RDAPValidator) validator;
-              rdapValidator.getQueryContext().setAcceptHeaderToApplicationRdapJson();
-          }
+          rounds.add(ValidationRound.IPV4_JSON);
+          rounds.add(ValidationRound.IPV4_RDAP_JSON);
+        }
 
-          int v4ret2 = validator.validate();
-          incrementProgress(ESTIMATED_VALIDATIONS_PER_ROUND); // Estimated validations per round
+        // Each round runs on its own forked QueryContext; results are merged back in round order
+        if (!rounds.isEmpty()) {
+          updateProgressPhase(rounds.get(0).getPhaseName());
+          ValidationRoundRunner roundRunner = new ValidationRoundRunner(queryContext, getMaxParallelRounds());
+          roundRunner.run(rounds, RDAPHttpValidator::new, (round, status) -> {
+            updateProgressPhase(round.getPhaseName());
+            incrementProgress(ESTIMATED_VALIDATIONS_PER_ROUND); // Estimated validations per round
+          });
         }
 
       if(queryContext.getDnsResolver().hasNoAddresses(DNSCacheResolver.getHostnameFromUrl(uri.toString()))) {
@@ -805,6 +810,11 @@ public void setShowProgress(boolean showProgress) {
     return this.timeout;
   }
 
+  @Override
+  public int getMaxParallelRounds() {
+    return this.maxParallelRounds;
+  }
+
   @Override
   public int getMaxRedirects() {
     return this.maxRedirects;
@@ -812,7 +822,7 @@ public void setShowProgress(boolean showProgress) {
 
   @Override
   public boolean useLocalDatasets() {
-    return this.useLocalDatasets;
+    return sharedOptions.useLocalDatasets;
   }
 
   @Override
@@ -1151,7 +1161,7 @@ public void setShowProgress(boolean showProgress) {
    */
   private RDAPDatasetService initializeDataSetWithProgress() {
     // Show appropriate phase name based on whether we're downloading or using local datasets
-    if (useLocalDatasets) {
+    if (sharedOptions.useLocalDatasets) {
       updateProgressPhase("DatasetLoad");
     } else {
       updateProgressPhase(ProgressPhase.DATASET_DOWNLOAD);
@@ -1165,8 +1175,9 @@ public void setShowProgress(boolean showProgress) {
     
     // Create dataset service directly instead of using non-existent CommonUtils method
     FileSystem fileSystem = new LocalFileSystem();
-    RDAPDatasetService datasetService = new RDAPDatasetServiceImpl(fileSystem);
-    datasetService.download(useLocalDatasets, progressCallback);
+    RDAPDatasetServiceImpl datasetService = new RDAPDatasetServiceImpl(fileSystem);
+    // Only the datasets this query needs are loaded now, any other one is loaded if it is used
+    datasetService.prepare(sharedOptions.useLocalDatasets, DatasetWarmUp.forQuery(getWarmUpQueryType(), this), progressCallback);
     
     // Ensure we're at the right progress point (after dataset phase)
     if (progressTracker != null && datasetService != null) {
@@ -1178,6 +1189,18 @@ public void setShowProgress(boolean showProgress) {
     return datasetService;
   }
 
+  /**
+   * The query type as far as it can be known before the query context exists, null otherwise.
+   */
+  RDAPQueryType getWarmUpQueryType() {
+    if (uri != null && uri.getScheme() != null && uri.getScheme().toLowerCase().startsWith(HTTP)) {
+      RDAPHttpQueryTypeProcessor.RDAPHttpQueryType httpQueryType =
+          RDAPHttpQueryTypeProcessor.RDAPHttpQueryType.getType(uri.toString());
+      return httpQueryType != null ? httpQueryType.getQueryType() : null;
+    }
+    return queryType;
+  }
+
   /**
    * Progress callback implementation that updates the progress tracker with real events.
    */
@@ -1187,7 +1210,7 @@ public void setShowProgress(boolean showProgress) {
     @Override
     public void onDatasetDownloadStarted(String datasetName) {
       // Show appropriate phase name based on whether we're downloading or using local datasets
-      if (useLocalDatasets) {
+      if (sharedOptions.useLocalDatasets) {
         updateProgressPhase("DatasetLoad");
       } else {
         updateProgressPhase("DatasetDownload");
@@ -1230,7 +1253,7 @@ public void setShowProgress(boolean showProgress) {
    * Uses existing IP validators from the Everit JSON Schema library.
    * This method ensures the input is a literal IP address, not a hostname.
    */
-  private boolean isValidIpAddress(String ip) {
+  static boolean isValidIpAddress(String ip) {
     if (ip == null || ip.trim().isEmpty()) {
       return false;
     }
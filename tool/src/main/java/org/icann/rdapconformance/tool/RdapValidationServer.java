@@ -0,0 +1,368 @@
+package org.icann.rdapconformance.tool;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.icann.rdapconformance.validator.CommonUtils.ZERO;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import org.icann.rdapconformance.validator.DNSCacheResolver;
+import org.icann.rdapconformance.validator.ToolResult;
+import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
+import org.icann.rdapconformance.validator.workflow.LocalFileSystem;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResult;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResults;
+import org.icann.rdapconformance.validator.workflow.rdap.SharedDatasetService;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+/**
+ * Long-running validation server, validating RDAP URIs sent over HTTP with {@link RdapWebValidator}.
+ *
+ * <p>All the validations share the IANA datasets, loaded once at startup and refreshed in the
+ * background, the compiled schemas and the DNS cache, so that a validation does not pay any
+ * warm-up. Each validation keeps its own HTTP clients, the connections to the tested server
+ * being part of what is validated.</p>
+ *
+ * <p>Endpoints:</p>
+ * <ul>
+ *   <li>{@code POST /validate} validates the URI of the JSON body and returns the results:
+ *   <pre>{@code
+ *   {"uri": "https://rdap.example.com/domain/example.com", "gtldRegistry": true,
+ *    "useRdapProfileFeb2024": true, "noIpv6Queries": false, "additionalConformanceQueries": false}
+ *   }</pre></li>
+ *   <li>{@code GET /health} returns the number of running and queued validations.</li>
+ * </ul>
+ *
+ * <p>At most {@code --max-concurrent-validations} validations run at the same time, and at most
+ * {@code --max-queued-validations} more wait for their turn; any other request is rejected with
+ * a 503 status and a Retry-After header, before its body is read. A body larger than
+ * {@value #MAX_REQUEST_BODY_BYTES} bytes is rejected with a 413 status.</p>
+ *
+ * <p>CLI Usage example:</p>
+ * <pre>
+ * java -jar rdapct.jar server --port 8080 --max-concurrent-validations 8
+ * </pre>
+ *
+ * @see RdapWebValidator
+ */
+@Command(name = "rdap-conformance-tool server", versionProvider = org.icann.rdapconformance.tool.VersionProvider.class, mixinStandardHelpOptions = true)
+public class RdapValidationServer implements Callable<Integer>, AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(RdapValidationServer.class);
+
+  /**
+   * The first argument selecting the server mode, see {@link Main}.
+   */
+  public static final String COMMAND = "server";
+  static final String VALIDATE_PATH = "/validate";
+  static final String HEALTH_PATH = "/health";
+  private static final String RETRY_AFTER_SECONDS = "1";
+  static final int MAX_REQUEST_BODY_BYTES = 64 * 1024;
+
+  @Option(names = {"--bind-address"}, description = "Address to listen on", defaultValue = "127.0.0.1")
+  String bindAddress = "127.0.0.1";
+
+  @Option(names = {"--port"}, description = "Port to listen on, 0 for any free port", defaultValue = "8080")
+  int port = 8080;
+
+  @Option(names = {"--max-concurrent-validations"},
+      description = "Maximum number of validations to run in parallel", defaultValue = "4")
+  int maxConcurrentValidations = 4;
+
+  @Option(names = {"--max-queued-validations"},
+      description = "Maximum number of validations waiting to run, any other request is rejected", defaultValue = "16")
+  int maxQueuedValidations = 16;
+
+  @Option(names = {"--dataset-directory"}, description = "Directory to store the IANA datasets")
+  private String datasetDirectory;
+
+  @Mixin
+  SharedResourceOptions sharedOptions = new SharedResourceOptions();
+
+  @Option(names = {"--dns-cache-min-ttl"},
+      description = "Minimum number of seconds a DNS answer is reused, even with a lower TTL", defaultValue = "30")
+  long dnsCacheMinTtl = 30;
+
+  @Option(names = {"--dns-cache-max-ttl"},
+      description = "Maximum number of seconds a DNS answer is reused, even with a higher TTL", defaultValue = "3600")
+  long dnsCacheMaxTtl = 3600;
+
+  private final CountDownLatch stopped = new CountDownLatch(1);
+  private final Function<ValidationRequest, JSONObject> engine;
+  private SharedDatasetService.Lease datasets;
+  private DNSCacheResolver dnsResolver;
+  private Semaphore admitted;
+  private Semaphore running;
+  private ExecutorService executor;
+  private HttpServer server;
+
+  public RdapValidationServer() {
+    this.engine = this::validate;
+  }
+
+  /**
+   * Creates a server running the given validations instead of {@link RdapWebValidator} ones.
+   * Mainly for testing purposes.
+   */
+  RdapValidationServer(Function<ValidationRequest, JSONObject> engine) {
+    this.engine = engine;
+  }
+
+  @Override
+  public Integer call() throws Exception {
+    if (maxConcurrentValidations < 1 || maxQueuedValidations < 0) {
+      logger.error(ToolResult.BAD_USER_INPUT.getDescription()
+          + ": --max-concurrent-validations must be at least 1 and --max-queued-validations at least 0");
+      return ToolResult.BAD_USER_INPUT.getCode();
+    }
+    if (dnsCacheMinTtl < 0 || dnsCacheMaxTtl < dnsCacheMinTtl) {
+      logger.error(ToolResult.BAD_USER_INPUT.getDescription()
+          + ": --dns-cache-min-ttl must be at least 0 and --dns-cache-max-ttl at least --dns-cache-min-ttl");
+      return ToolResult.BAD_USER_INPUT.getCode();
+    }
+    if (!sharedOptions.configure()) {
+      return ToolResult.BAD_USER_INPUT.getCode();
+    }
+
+    // The server is the only application of its JVM, same as the command-line tool
+    RdapConformanceTool.configureTls();
+
+    try {
+      dnsResolver = new DNSCacheResolver(sharedOptions.customDnsResolver,
+          Duration.ofSeconds(dnsCacheMinTtl), Duration.ofSeconds(dnsCacheMaxTtl));
+    } catch (RuntimeException e) {
+      logger.error(ToolResult.BAD_USER_INPUT.getDescription() + ": DNS server is not reachable: " + sharedOptions.customDnsResolver);
+      return ToolResult.BAD_USER_INPUT.getCode();
+    }
+    // Held until the server stops, so that the datasets stay loaded and are refreshed
+    datasets = SharedDatasetService.acquire(new LocalFileSystem(), datasetDirectory, sharedOptions.useLocalDatasets);
+    if (!datasets.download(sharedOptions.useLocalDatasets)) {
+      datasets.close();
+      logger.error(ToolResult.DATASET_UNAVAILABLE.getDescription());
+      return ToolResult.DATASET_UNAVAILABLE.getCode();
+    }
+
+    try {
+      start();
+    } catch (IOException e) {
+      close();
+      logger.error("Unable to listen on {}:{}", bindAddress, port, e);
+      return ToolResult.BAD_USER_INPUT.getCode();
+    }
+    Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    System.out.println("Listening on http://" + bindAddress + ":" + getPort());
+    stopped.await();
+    return ZERO;
+  }
+
+  /**
+   * Starts listening for validation requests.
+   *
+   * @throws IOException if the server cannot listen on its address
+   */
+  public synchronized void start() throws IOException {
+    admitted = new Semaphore(maxConcurrentValidations + maxQueuedValidations);
+    running = new Semaphore(maxConcurrentValidations, true);
+    // Requests mostly wait for their turn or for the network
+    executor = Executors.newVirtualThreadPerTaskExecutor();
+    server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+    server.createContext(VALIDATE_PATH, this::handleValidate);
+    server.createContext(HEALTH_PATH, this::handleHealth);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  /**
+   * @return the port the server listens on
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Stops the server, letting the running validations complete, and releases the datasets.
+   */
+  @Override
+  public synchronized void close() {
+    if (server != null) {
+      server.stop(0);
+      server = null;
+    }
+    if (executor != null) {
+      executor.close();
+      executor = null;
+    }
+    if (datasets != null) {
+      datasets.close();
+      datasets = null;
+    }
+    stopped.countDown();
+  }
+
+  private void handleValidate(HttpExchange exchange) throws IOException {
+    try {
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().set("Allow", "POST");
+        send(exchange, 405, error("Only POST is supported"));
+        return;
+      }
+
+      // Rejected before reading the body, so that a busy server does not buffer it
+      if (!admitted.tryAcquire()) {
+        exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER_SECONDS);
+        send(exchange, 503, error("Too many validations in progress"));
+        return;
+      }
+      ValidationRequest request = null;
+      try {
+        byte[] body = exchange.getRequestBody().readNBytes(MAX_REQUEST_BODY_BYTES + 1);
+        if (body.length > MAX_REQUEST_BODY_BYTES) {
+          send(exchange, 413, error("The request body exceeds " + MAX_REQUEST_BODY_BYTES + " bytes"));
+          return;
+        }
+        try {
+          request = ValidationRequest.parse(new String(body, UTF_8));
+        } catch (JSONException | IllegalArgumentException e) {
+          send(exchange, 400, error(e.getMessage()));
+          return;
+        }
+
+        running.acquire();
+        try {
+          send(exchange, 200, engine.apply(request));
+        } finally {
+          running.release();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        send(exchange, 503, error("The server is stopping"));
+      } catch (RuntimeException e) {
+        logger.error("Validation of {} failed", request != null ? request.uri() : null, e);
+        send(exchange, 500, error("Validation failed: " + e.getMessage()));
+      } finally {
+        admitted.release();
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void handleHealth(HttpExchange exchange) throws IOException {
+    try {
+      if (!"GET".equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().set("Allow", "GET");
+        send(exchange, 405, error("Only GET is supported"));
+        return;
+      }
+      int runningValidations = maxConcurrentValidations - running.availablePermits();
+      int admittedValidations = maxConcurrentValidations + maxQueuedValidations - admitted.availablePermits();
+      JSONObject health = new JSONObject();
+      health.put("status", "ok");
+      health.put("runningValidations", runningValidations);
+      health.put("queuedValidations", Math.max(0, admittedValidations - runningValidations));
+      health.put("maxConcurrentValidations", maxConcurrentValidations);
+      health.put("maxQueuedValidations", maxQueuedValidations);
+      send(exchange, 200, health);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private JSONObject validate(ValidationRequest request) {
+    RDAPValidatorConfiguration config = new RdapWebValidator.ConfigurableRDAPValidatorConfiguration(
+        request.uri(), request.gtldRegistry(), request.gtldRegistrar(), sharedOptions.useLocalDatasets,
+        request.useRdapProfileFeb2024(), request.noIpv4Queries(), request.noIpv6Queries(),
+        request.additionalConformanceQueries());
+    try (RdapWebValidator validator = new RdapWebValidator(request.uri(), config, datasetDirectory, dnsResolver)) {
+      return toJson(request.uri(), validator.validate());
+    }
+  }
+
+  static JSONObject toJson(URI uri, RDAPValidatorResults results) {
+    JSONArray resultArray = new JSONArray();
+    for (RDAPValidationResult result : results.getAll()) {
+      JSONObject resultObject = new JSONObject();
+      resultObject.put("code", result.getCode());
+      resultObject.put("value", nullable(result.getValue()));
+      resultObject.put("message", nullable(result.getMessage()));
+      resultObject.put("receivedHttpStatusCode", nullable(result.getHttpStatusCode()));
+      resultObject.put("acceptMediaType", nullable(result.getAcceptHeader()));
+      resultObject.put("queriedURI", nullable(result.getQueriedURI()));
+      resultObject.put("httpMethod", nullable(result.getHttpMethod()));
+      resultObject.put("serverIpAddress", nullable(result.getServerIpAddress()));
+      resultArray.put(resultObject);
+    }
+
+    JSONObject response = new JSONObject();
+    response.put("testedURI", uri.toString());
+    response.put("valid", results.getResultCount() == 0);
+    response.put("results", resultArray);
+    return response;
+  }
+
+  private static Object nullable(Object value) {
+    return value != null ? value : JSONObject.NULL;
+  }
+
+  private static JSONObject error(String message) {
+    return new JSONObject().put("error", message != null ? message : "Invalid request");
+  }
+
+  private static void send(HttpExchange exchange, int status, JSONObject body) throws IOException {
+    byte[] bytes = body.toString().getBytes(UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(bytes);
+    }
+  }
+
+  /**
+   * A validation request, with the same defaults as {@link RdapWebValidator}.
+   */
+  record ValidationRequest(URI uri, boolean gtldRegistry, boolean gtldRegistrar,
+                           boolean useRdapProfileFeb2024, boolean noIpv4Queries,
+                           boolean noIpv6Queries, boolean additionalConformanceQueries) {
+
+    /**
+     * @throws JSONException if the body is not a JSON object with a URI
+     * @throws IllegalArgumentException if the URI or the options are invalid
+     */
+    static ValidationRequest parse(String body) {
+      JSONObject json = new JSONObject(body);
+      ValidationRequest request = new ValidationRequest(
+          RdapWebValidator.validateAndCreateURI(json.getString("uri")),
+          json.optBoolean("gtldRegistry", false),
+          json.optBoolean("gtldRegistrar", false),
+          json.optBoolean("useRdapProfileFeb2024", true),
+          json.optBoolean("noIpv4Queries", false),
+          json.optBoolean("noIpv6Queries", false),
+          json.optBoolean("additionalConformanceQueries", false));
+      if (request.gtldRegistry() && request.gtldRegistrar()) {
+        throw new IllegalArgumentException("gtldRegistry and gtldRegistrar are mutually exclusive");
+      }
+      if (request.noIpv4Queries() && request.noIpv6Queries()) {
+        throw new IllegalArgumentException("noIpv4Queries and noIpv6Queries are mutually exclusive");
+      }
+      return request;
+    }
+  }
+}
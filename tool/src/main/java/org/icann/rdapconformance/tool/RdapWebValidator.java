@@ -4,15 +4,22 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import org.icann.rdapconformance.validator.CommonUtils;
+import org.icann.rdapconformance.validator.DNSCacheResolver;
 import org.icann.rdapconformance.validator.QueryContext;
 import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPDatasetService;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPDatasetServiceImpl;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidator;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResults;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPQueryType;
+import org.icann.rdapconformance.validator.workflow.rdap.SharedDatasetService;
+import org.icann.rdapconformance.validator.workflow.rdap.ValidationRound;
+import org.icann.rdapconformance.validator.workflow.rdap.ValidationRoundRunner;
 import org.icann.rdapconformance.validator.workflow.rdap.http.RDAPHttpQuery;
 
 import static org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResultsImpl.falsePositivesCodesForCascadeIpCheck;
@@ -25,7 +32,10 @@ import static org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorRes
  * {@link RdapConformanceTool#call()}.</p>
  *
  * <p><strong>Thread Safety:</strong> This class is thread-safe and suitable for use in
- * multi-threaded web applications. Each instance operates independently without shared state.</p>
+ * multi-threaded web applications. Each instance operates independently, the only thing shared
+ * being the read-only IANA datasets: unless the dataset directory is deleted on close, they are
+ * parsed once per process by {@link SharedDatasetService} and reused by every instance using the
+ * same directory. Close the validator to release them.</p>
  *
  * <p><strong>Usage in Web Applications:</strong></p>
  * <pre>{@code
@@ -49,6 +59,8 @@ public class RdapWebValidator implements AutoCloseable {
     private final RDAPValidator rdapValidator;
     private final String customDatasetDirectory;
     private final boolean shouldCleanupDatasets;
+    // Null when the datasets are private to this validator
+    private final SharedDatasetService.Lease datasetLease;
 
     /**
      * Creates a new web-safe RDAP validator for the specified URI.
@@ -199,6 +211,31 @@ public class RdapWebValidator implements AutoCloseable {
      * @throws RuntimeException if the configuration is invalid
      */
     public RdapWebValidator(URI uri, RDAPValidatorConfiguration config, String customDatasetDirectory, boolean shouldCleanupDatasets) {
+        this(uri, config, customDatasetDirectory, shouldCleanupDatasets, null);
+    }
+
+    /**
+     * Creates a new web-safe RDAP validator with custom configuration and dataset directory,
+     * resolving host names through the given DNS cache.
+     *
+     * <p>Validators sharing a DNS cache only resolve each host name again once the TTL of its
+     * answer expired, e.g. the validators of a long-running server. Each validator keeps its own
+     * snapshot of the answers it used.</p>
+     *
+     * @param uri the RDAP URI to validate
+     * @param config custom configuration, or null for default configuration
+     * @param customDatasetDirectory custom directory for datasets, or null for default
+     * @param dnsResolver the DNS cache shared with other validators
+     * @throws IllegalArgumentException if the URI is invalid
+     * @throws RuntimeException if the configuration is invalid
+     */
+    public RdapWebValidator(URI uri, RDAPValidatorConfiguration config, String customDatasetDirectory,
+                            DNSCacheResolver dnsResolver) {
+        this(uri, config, customDatasetDirectory, false, dnsResolver);
+    }
+
+    private RdapWebValidator(URI uri, RDAPValidatorConfiguration config, String customDatasetDirectory,
+                             boolean shouldCleanupDatasets, DNSCacheResolver dnsResolver) {
         // Store cleanup settings
         this.customDatasetDirectory = customDatasetDirectory;
         this.shouldCleanupDatasets = shouldCleanupDatasets;
@@ -213,32 +250,57 @@ public class RdapWebValidator implements AutoCloseable {
         org.icann.rdapconformance.validator.workflow.FileSystem fileSystem =
             new org.icann.rdapconformance.validator.workflow.LocalFileSystem();
 
-        // Create dataset service for ICANN data with custom directory if provided
-        RDAPDatasetServiceImpl datasetService = customDatasetDirectory != null ?
-            new RDAPDatasetServiceImpl(fileSystem, customDatasetDirectory) :
-            new RDAPDatasetServiceImpl(fileSystem);
+        RDAPDatasetService datasetService;
+        if (shouldCleanupDatasets) {
+            // The directory is deleted on close: load the datasets for this validator only
+            RDAPDatasetServiceImpl privateDatasetService = customDatasetDirectory != null ?
+                new RDAPDatasetServiceImpl(fileSystem, customDatasetDirectory) :
+                new RDAPDatasetServiceImpl(fileSystem);
 
-        // Download and initialize datasets (required for validation)
-        try {
-            datasetService.download(config.useLocalDatasets(), null);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to initialize RDAP datasets: " + e.getMessage(), e);
+            // Download and initialize datasets (required for validation)
+            try {
+                privateDatasetService.download(config.useLocalDatasets(), null);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to initialize RDAP datasets: " + e.getMessage(), e);
+            }
+            this.datasetLease = null;
+            datasetService = privateDatasetService;
+        } else {
+            // Share the datasets parsed by the other validators using the same directory
+            try {
+                this.datasetLease = SharedDatasetService.acquire(fileSystem, customDatasetDirectory,
+                    config.useLocalDatasets());
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to initialize RDAP datasets: " + e.getMessage(), e);
+            }
+            datasetService = datasetLease;
         }
 
         // Create query object for HTTP operations
         RDAPHttpQuery query = new RDAPHttpQuery(config);
 
-        // Create QueryContext - this is the central "world object" for validation
-        this.queryContext = QueryContext.create(config, datasetService, query);
-
-        // Create the RDAP validator using our QueryContext
-        this.rdapValidator = new RDAPValidator(queryContext);
+        try {
+            // Create QueryContext - this is the central "world object" for validation
+            this.queryContext = dnsResolver != null
+                ? QueryContext.create(config, datasetService, query, dnsResolver)
+                : QueryContext.create(config, datasetService, query);
+
+            // Create the RDAP validator using our QueryContext
+            this.rdapValidator = new RDAPValidator(queryContext);
+        } catch (RuntimeException | Error e) {
+            // close() is never called on a validator that failed to construct
+            if (datasetLease != null) {
+                datasetLease.close();
+            }
+            throw e;
+        }
     }
 
     /**
      * Performs RDAP validation and returns the results.
      *
-     * <p>This method performs multiple validation passes like the CLI tool:</p>
+     * <p>This method performs multiple validation passes like the CLI tool, running
+     * up to {@link RDAPValidatorConfiguration#getMaxParallelRounds()} of them at the same time:</p>
      * <ul>
      *   <li>IPv4 with application/json Accept header</li>
      *   <li>IPv4 with application/rdap+json Accept header</li>
@@ -262,30 +324,23 @@ public class RdapWebValidator implements AutoCloseable {
         // Get configuration to check if IPv4/IPv6 should be skipped
         RDAPValidatorConfiguration config = queryContext.getConfig();
 
-        // Perform IPv4 passes (if not disabled)
+        List<ValidationRound> rounds = new ArrayList<>();
+        // IPv4 passes (if not disabled): application/json, then application/rdap+json
         if (!config.isNoIpv4Queries()) {
-            // IPv4 Pass 1: application/json header
-            queryContext.setStackToV4();
-            queryContext.setAcceptHeaderToApplicationJson();
-            rdapValidator.validate();
-
-            // IPv4 Pass 2: application/rdap+json header
-            queryContext.setAcceptHeaderToApplicationRdapJson();
-            rdapValidator.validate();
+            rounds.add(ValidationRound.IPV4_JSON);
+            rounds.add(ValidationRound.IPV4_RDAP_JSON);
         }
 
-        // Perform IPv6 passes (if not disabled)
+        // IPv6 passes (if not disabled): application/json, then application/rdap+json
         if (!config.isNoIpv6Queries()) {
-            // IPv6 Pass 1: application/json header
-            queryContext.setStackToV6();
-            queryContext.setAcceptHeaderToApplicationJson();
-            rdapValidator.validate();
-
-            // IPv6 Pass 2: application/rdap+json header
-            queryContext.setAcceptHeaderToApplicationRdapJson();
-            rdapValidator.validate();
+            rounds.add(ValidationRound.IPV6_JSON);
+            rounds.add(ValidationRound.IPV6_RDAP_JSON);
         }
 
+        // Rounds run on forked contexts and are merged back into queryContext in the order above
+        new ValidationRoundRunner(queryContext, config.getMaxParallelRounds())
+            .run(rounds, RDAPValidator::new, null);
+
         // Check for 404 resource not found and generate warning if applicable
         // This matches the CLI tool behavior that generates -13020 warning
         boolean isResourceNotFound = CommonUtils.handleResourceNotFoundWarning(queryContext, config);
@@ -354,9 +409,13 @@ public class RdapWebValidator implements AutoCloseable {
     /**
      * Closes the validator and cleans up resources.
      * If this validator was created with a temporary directory, it will be deleted.
+     * Shared datasets are released and stay loaded for the other validators.
      */
     @Override
     public void close() {
+        if (datasetLease != null) {
+            datasetLease.close();
+        }
         if (shouldCleanupDatasets && customDatasetDirectory != null) {
             try {
                 deleteDirectoryRecursively(Path.of(customDatasetDirectory));
@@ -530,7 +589,7 @@ public class RdapWebValidator implements AutoCloseable {
      * Configurable implementation of RDAPValidatorConfiguration for web-safe validation.
      * Allows setting registry/registrar flags and dataset options.
      */
-    private static class ConfigurableRDAPValidatorConfiguration implements RDAPValidatorConfiguration {
+    static class ConfigurableRDAPValidatorConfiguration implements RDAPValidatorConfiguration {
         private URI uri;
         private final int timeout = 30; // 30 second timeout
         private final int maxRedirects = 5;
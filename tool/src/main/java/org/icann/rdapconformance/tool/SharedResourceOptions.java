@@ -0,0 +1,63 @@
+package org.icann.rdapconformance.tool;
+
+import org.icann.rdapconformance.validator.ToolResult;
+import org.icann.rdapconformance.validator.workflow.rdap.http.HostRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Option;
+
+/**
+ * The options of the resources that all the validations of a run share: the IANA datasets, the
+ * DNS resolver and the pace of the requests to each host.
+ *
+ * <p>Mixed into {@link RdapConformanceTool}, {@link RdapBatchTool} and
+ * {@link RdapValidationServer}, so that the three commands accept them with the same names,
+ * descriptions and defaults.</p>
+ */
+public class SharedResourceOptions {
+
+  private static final Logger logger = LoggerFactory.getLogger(SharedResourceOptions.class);
+
+  static final String USE_LOCAL_DATASETS = "--use-local-datasets";
+  static final String DNS_RESOLVER = "--dns-resolver";
+  static final String HOST_RATE_LIMIT = "--host-rate-limit";
+  static final String HOST_RATE_BURST = "--host-rate-burst";
+
+  @Option(names = {USE_LOCAL_DATASETS},
+      description = "Use locally-persisted datasets", defaultValue = "false")
+  boolean useLocalDatasets = false;
+
+  @Option(names = {DNS_RESOLVER},
+      description = "Custom DNS resolver IP address (e.g., 8.8.8.8 or 2001:4860:4860::8888)")
+  String customDnsResolver;
+
+  @Option(names = {HOST_RATE_LIMIT},
+      description = "Maximum number of requests per second to a host, 0 for no limit until the host answers 429",
+      defaultValue = "" + HostRateLimiter.DEFAULT_REQUESTS_PER_SECOND)
+  double hostRateLimit = HostRateLimiter.DEFAULT_REQUESTS_PER_SECOND;
+
+  @Option(names = {HOST_RATE_BURST},
+      description = "Number of requests sent at once to an idle host under --host-rate-limit",
+      defaultValue = "" + HostRateLimiter.DEFAULT_BURST)
+  int hostRateBurst = HostRateLimiter.DEFAULT_BURST;
+
+  /**
+   * Checks the options and applies the host rate limit to the shared {@link HostRateLimiter}.
+   *
+   * @return false if an option is invalid, which is logged as {@link ToolResult#BAD_USER_INPUT}
+   */
+  boolean configure() {
+    if (customDnsResolver != null && !customDnsResolver.isEmpty()
+        && !RdapConformanceTool.isValidIpAddress(customDnsResolver)) {
+      logger.error(ToolResult.BAD_USER_INPUT.getDescription() + ": Invalid DNS resolver IP address format: " + customDnsResolver);
+      return false;
+    }
+    try {
+      HostRateLimiter.shared().configure(hostRateLimit, hostRateBurst);
+      return true;
+    } catch (IllegalArgumentException e) {
+      logger.error(ToolResult.BAD_USER_INPUT.getDescription() + ": " + e.getMessage());
+      return false;
+    }
+  }
+}
@@ -0,0 +1,272 @@
+package org.icann.rdapconformance.tool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.icann.rdapconformance.tool.RdapBatchTool.BatchEntry;
+import org.icann.rdapconformance.tool.RdapBatchTool.BatchResult;
+import org.icann.rdapconformance.validator.ToolResult;
+import org.json.JSONObject;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RdapBatchToolTest {
+
+  private Path outputDirectory;
+  private RdapBatchTool batchTool;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    outputDirectory = Files.createTempDirectory("rdap-batch-test");
+    batchTool = new RdapBatchTool();
+    batchTool.configurationFile = "/tmp/config.json";
+    batchTool.outputDirectory = outputDirectory.toString();
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    try (var files = Files.list(outputDirectory)) {
+      for (Path file : files.toList()) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(outputDirectory);
+  }
+
+  @Test
+  public void testReadEntries_ConfiguresEachUriFromItsLine() throws IOException {
+    List<BatchEntry> entries = batchTool.readEntries(reader("""
+        # Nightly sweep
+        https://rdap.example.com/domain/example.com --gtld-registry --use-rdap-profile-february-2024
+
+        https://rdap.example.net/entity/123 --gtld-registrar --no-ipv6-queries
+          https://rdap.example.org/help --results-file /tmp/help.json
+        """));
+
+    assertThat(entries).extracting(BatchEntry::line).containsExactly(2, 4, 5);
+
+    RdapConformanceTool registry = entries.get(0).tool();
+    assertThat(registry.getUri()).isEqualTo(URI.create("https://rdap.example.com/domain/example.com"));
+    assertThat(registry.isGtldRegistry()).isTrue();
+    assertThat(registry.useRdapProfileFeb2024()).isTrue();
+    assertThat(registry.getConfigurationFile().toString()).endsWith("/tmp/config.json");
+    assertThat(registry.getResultsFile()).isEqualTo(Paths.get(outputDirectory.toString(), "results-2.json").toString());
+
+    RdapConformanceTool registrar = entries.get(1).tool();
+    assertThat(registrar.isGtldRegistrar()).isTrue();
+    assertThat(registrar.isNoIpv6Queries()).isTrue();
+    assertThat(registrar.isNoIpv4Queries()).isFalse();
+
+    assertThat(entries.get(2).tool().getResultsFile()).isEqualTo("/tmp/help.json");
+  }
+
+  @Test
+  public void testReadEntries_InvalidLine_ThrowsWithTheLineNumber() {
+    assertThatThrownBy(() -> batchTool.readEntries(reader("""
+        https://rdap.example.com/domain/example.com --gtld-registry
+        https://rdap.example.net/domain/example.net --gtld-registry --gtld-registrar
+        """)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("Line 2: ");
+  }
+
+  @Test
+  public void testReadEntries_BatchWideOptionOnALine_IsRejected() {
+    assertThatThrownBy(() -> batchTool.readEntries(reader("""
+        https://rdap.example.com/domain/example.com --gtld-registry
+        https://rdap.example.net/domain/example.net --dns-resolver 8.8.8.8
+        """)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Line 2: --dns-resolver applies to the whole batch and must be given before the URI list");
+
+    assertThatThrownBy(() -> batchTool.readEntries(reader("""
+        https://rdap.example.com/domain/example.com --use-local-datasets
+        """)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("Line 1: --use-local-datasets ");
+
+    assertThatThrownBy(() -> batchTool.readEntries(reader("""
+        https://rdap.example.com/domain/example.com --host-rate-limit 5
+        """)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("Line 1: --host-rate-limit ");
+  }
+
+  @Test
+  public void testValidateAll_RunsOnVirtualThreads() throws Exception {
+    List<BatchEntry> entries = batchTool.readEntries(reader("""
+        https://rdap.example.com/domain/a.example
+        https://rdap.example.com/domain/b.example
+        """));
+
+    List<BatchResult> results = batchTool.validateAll(entries, tool -> Thread.currentThread().isVirtual() ? 0 : 1);
+
+    assertThat(results).extracting(BatchResult::exitCode).containsExactly(0, 0);
+  }
+
+  @Test
+  public void testValidateAll_KeepsTheOrderOfTheEntries() throws Exception {
+    List<BatchEntry> entries = batchTool.readEntries(reader("""
+        https://rdap.example.com/domain/a.example
+        https://rdap.example.com/domain/b.example
+        https://rdap.example.com/domain/c.example
+        """));
+
+    List<BatchResult> results = batchTool.validateAll(entries,
+        tool -> tool.getUri().getPath().contains("b.example") ? ToolResult.UNSUPPORTED_QUERY.getCode() : 0);
+
+    assertThat(results).extracting(BatchResult::line).containsExactly(1, 2, 3);
+    assertThat(results).extracting(BatchResult::exitCode)
+        .containsExactly(0, ToolResult.UNSUPPORTED_QUERY.getCode(), 0);
+  }
+
+  @Test
+  public void testValidateAll_RunsAtMostTheWorkersAtOnce() throws Exception {
+    batchTool.workers = 2;
+    List<BatchEntry> entries = batchTool.readEntries(reader("""
+        https://rdap.example.com/domain/a.example
+        https://rdap.example.com/domain/b.example
+        https://rdap.example.com/domain/c.example
+        https://rdap.example.com/domain/d.example
+        https://rdap.example.com/domain/e.example
+        """));
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch bothStarted = new CountDownLatch(2);
+
+    batchTool.validateAll(entries, tool -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      bothStarted.countDown();
+      try {
+        bothStarted.await(5, TimeUnit.SECONDS);
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      running.decrementAndGet();
+      return 0;
+    });
+
+    assertThat(maxRunning.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testValidateAll_FailureDoesNotStopTheOtherUris() throws Exception {
+    List<BatchEntry> entries = batchTool.readEntries(reader("""
+        https://rdap.example.com/domain/a.example
+        https://rdap.example.com/domain/b.example
+        """));
+
+    List<BatchResult> results = batchTool.validateAll(entries, tool -> {
+      if (tool.getUri().getPath().contains("a.example")) {
+        throw new IllegalStateException("boom");
+      }
+      return 0;
+    });
+
+    assertThat(results.get(0).exitCode()).isNull();
+    assertThat(results.get(0).failure()).isEqualTo("boom");
+    assertThat(results.get(1).exitCode()).isZero();
+  }
+
+  @Test
+  public void testTokenize_QuotedValuesKeepTheirSpaces() {
+    assertThat(RdapBatchTool.tokenize(
+        "https://rdap.example.com/domain/a.example  --results-file \"out dir/a.json\" --x 'b c'd", 1))
+        .containsExactly("https://rdap.example.com/domain/a.example", "--results-file", "out dir/a.json", "--x",
+            "b cd");
+    assertThat(RdapBatchTool.tokenize("--results-file \"\"", 1)).containsExactly("--results-file", "");
+  }
+
+  @Test
+  public void testTokenize_UnterminatedQuote_ThrowsWithTheLineNumber() {
+    assertThatThrownBy(() -> RdapBatchTool.tokenize("https://rdap.example.com --results-file \"a.json", 7))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("Line 7:");
+  }
+
+  @Test
+  public void testExitCode_AnyUriNotSucceeded_IsBatchValidationFailed() {
+    BatchResult succeeded = new BatchResult(1, URI.create("https://rdap.example.com/domain/a.example"), 0,
+        "results-1.json", 2, null);
+    BatchResult failed = new BatchResult(2, URI.create("https://rdap.example.com/domain/b.example"), 3,
+        "results-2.json", 0, null);
+    BatchResult crashed = new BatchResult(3, URI.create("https://rdap.example.com/domain/c.example"), null,
+        null, 0, "boom");
+
+    assertThat(RdapBatchTool.exitCode(List.of(succeeded))).isEqualTo(ToolResult.SUCCESS.getCode());
+    assertThat(RdapBatchTool.exitCode(List.of(succeeded, failed)))
+        .isEqualTo(ToolResult.BATCH_VALIDATION_FAILED.getCode());
+    assertThat(RdapBatchTool.exitCode(List.of(succeeded, crashed)))
+        .isEqualTo(ToolResult.BATCH_VALIDATION_FAILED.getCode());
+  }
+
+  @Test
+  public void testCreateSummary_CountsTheSucceededUris() {
+    JSONObject summary = RdapBatchTool.createSummary(List.of(
+        new BatchResult(1, URI.create("https://rdap.example.com/domain/a.example"), 0, "results-1.json", 2, null),
+        new BatchResult(2, URI.create("https://rdap.example.com/domain/b.example"), 3, "results-2.json", 0, null),
+        new BatchResult(3, URI.create("https://rdap.example.com/domain/c.example"), null, null, 0, "boom")));
+
+    assertThat(summary.getInt("total")).isEqualTo(3);
+    assertThat(summary.getInt("succeeded")).isEqualTo(1);
+    assertThat(summary.getInt("failed")).isEqualTo(2);
+    JSONObject first = summary.getJSONArray("results").getJSONObject(0);
+    assertThat(first.getString("testedURI")).isEqualTo("https://rdap.example.com/domain/a.example");
+    assertThat(first.getString("resultsFile")).isEqualTo("results-1.json");
+    assertThat(first.getInt("errorCount")).isEqualTo(2);
+    JSONObject last = summary.getJSONArray("results").getJSONObject(2);
+    assertThat(last.isNull("exitCode")).isTrue();
+    assertThat(last.getString("failure")).isEqualTo("boom");
+  }
+
+  @Test
+  public void testCall_NoWorkers_IsBadUserInput() throws Exception {
+    batchTool.uriList = "-";
+    batchTool.workers = 0;
+
+    assertThat(batchTool.call()).isEqualTo(ToolResult.BAD_USER_INPUT.getCode());
+  }
+
+  @Test
+  public void testCall_MissingUriList_IsFileReadError() throws Exception {
+    batchTool.uriList = outputDirectory.resolve("missing.txt").toString();
+
+    assertThat(batchTool.call()).isEqualTo(ToolResult.FILE_READ_ERROR.getCode());
+  }
+
+  @Test
+  public void testCall_InvalidLineOnStdin_IsBadUserInput() throws Exception {
+    batchTool.uriList = "-";
+    batchTool.setStdin(new ByteArrayInputStream(
+        "https://rdap.example.com/domain/example.com --thin\n".getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(batchTool.call()).isEqualTo(ToolResult.BAD_USER_INPUT.getCode());
+  }
+
+  @Test
+  public void testCall_InvalidHostRateLimit_IsBadUserInput() throws Exception {
+    batchTool.uriList = "-";
+    batchTool.sharedOptions.hostRateLimit = -1;
+
+    assertThat(batchTool.call()).isEqualTo(ToolResult.BAD_USER_INPUT.getCode());
+  }
+
+  private static BufferedReader reader(String content) {
+    return new BufferedReader(new StringReader(content));
+  }
+}
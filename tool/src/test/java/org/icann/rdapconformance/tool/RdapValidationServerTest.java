@@ -0,0 +1,257 @@
+package org.icann.rdapconformance.tool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.icann.rdapconformance.tool.RdapValidationServer.ValidationRequest;
+import org.icann.rdapconformance.validator.ToolResult;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResult;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResults;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResultsImpl;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class RdapValidationServerTest {
+
+  private static final String BODY = "{\"uri\": \"https://rdap.example.com/domain/example.com\", \"gtldRegistry\": true}";
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private RdapValidationServer server;
+
+  @AfterMethod
+  public void tearDown() {
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  @Test
+  public void testValidate_ReturnsTheResultsOfTheEngine() throws Exception {
+    start(request -> new JSONObject().put("testedURI", request.uri().toString())
+        .put("gtldRegistry", request.gtldRegistry()), 1, 0);
+
+    HttpResponse<String> response = post(BODY);
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue("Content-Type")).hasValue("application/json");
+    JSONObject body = new JSONObject(response.body());
+    assertThat(body.getString("testedURI")).isEqualTo("https://rdap.example.com/domain/example.com");
+    assertThat(body.getBoolean("gtldRegistry")).isTrue();
+  }
+
+  @Test
+  public void testValidate_InvalidRequest_IsBadRequest() throws Exception {
+    start(request -> new JSONObject(), 1, 0);
+
+    assertThat(post("not json").statusCode()).isEqualTo(400);
+    assertThat(post("{}").statusCode()).isEqualTo(400);
+    assertThat(post("{\"uri\": \"ftp://rdap.example.com/domain/example.com\"}").statusCode()).isEqualTo(400);
+  }
+
+  @Test
+  public void testValidate_Get_IsNotAllowed() throws Exception {
+    start(request -> new JSONObject(), 1, 0);
+
+    HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(RdapValidationServer.VALIDATE_PATH)).GET().build(),
+        HttpResponse.BodyHandlers.ofString());
+
+    assertThat(response.statusCode()).isEqualTo(405);
+    assertThat(response.headers().firstValue("Allow")).hasValue("POST");
+  }
+
+  @Test
+  public void testValidate_EngineFailure_IsServerError() throws Exception {
+    start(request -> {
+      throw new IllegalStateException("boom");
+    }, 1, 0);
+
+    HttpResponse<String> response = post(BODY);
+
+    assertThat(response.statusCode()).isEqualTo(500);
+    assertThat(new JSONObject(response.body()).getString("error")).contains("boom");
+  }
+
+  @Test
+  public void testValidate_BeyondTheQueue_IsRejected() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    start(request -> {
+      started.countDown();
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new JSONObject();
+    }, 1, 0);
+
+    CompletableFuture<HttpResponse<String>> running = client.sendAsync(postRequest(BODY),
+        HttpResponse.BodyHandlers.ofString());
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+    HttpResponse<String> rejected = post(BODY);
+    assertThat(rejected.statusCode()).isEqualTo(503);
+    assertThat(rejected.headers().firstValue("Retry-After")).hasValue("1");
+
+    JSONObject health = new JSONObject(get(RdapValidationServer.HEALTH_PATH).body());
+    assertThat(health.getInt("runningValidations")).isEqualTo(1);
+    assertThat(health.getInt("queuedValidations")).isZero();
+
+    release.countDown();
+    assertThat(running.get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+    assertThat(post(BODY).statusCode()).isEqualTo(200);
+  }
+
+  @Test
+  public void testValidate_OversizedBody_IsRejected() throws Exception {
+    start(request -> new JSONObject(), 1, 0);
+
+    String body = "{\"uri\": \"https://rdap.example.com/domain/example.com\", \"padding\": \""
+        + "a".repeat(RdapValidationServer.MAX_REQUEST_BODY_BYTES) + "\"}";
+
+    assertThat(post(body).statusCode()).isEqualTo(413);
+    assertThat(post(BODY).statusCode()).isEqualTo(200);
+  }
+
+  @Test
+  public void testValidate_QueuedRequestsWaitForTheirTurn() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    start(request -> {
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new JSONObject();
+    }, 1, 2);
+
+    List<CompletableFuture<HttpResponse<String>>> responses = List.of(
+        client.sendAsync(postRequest(BODY), HttpResponse.BodyHandlers.ofString()),
+        client.sendAsync(postRequest(BODY), HttpResponse.BodyHandlers.ofString()),
+        client.sendAsync(postRequest(BODY), HttpResponse.BodyHandlers.ofString()));
+    awaitHealth(health -> health.getInt("runningValidations") == 1 && health.getInt("queuedValidations") == 2);
+
+    release.countDown();
+    for (CompletableFuture<HttpResponse<String>> response : responses) {
+      assertThat(response.get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+    }
+  }
+
+  @Test
+  public void testHealth_ReportsTheLimits() throws Exception {
+    start(request -> new JSONObject(), 2, 3);
+
+    HttpResponse<String> response = get(RdapValidationServer.HEALTH_PATH);
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    JSONObject health = new JSONObject(response.body());
+    assertThat(health.getString("status")).isEqualTo("ok");
+    assertThat(health.getInt("maxConcurrentValidations")).isEqualTo(2);
+    assertThat(health.getInt("maxQueuedValidations")).isEqualTo(3);
+    assertThat(health.getInt("runningValidations")).isZero();
+  }
+
+  @Test
+  public void testCall_InvalidDnsCacheTtls_IsBadUserInput() throws Exception {
+    RdapValidationServer invalid = new RdapValidationServer();
+    invalid.dnsCacheMinTtl = 60;
+    invalid.dnsCacheMaxTtl = 30;
+
+    assertThat(invalid.call()).isEqualTo(ToolResult.BAD_USER_INPUT.getCode());
+  }
+
+  @Test
+  public void testCall_InvalidHostRateLimit_IsBadUserInput() throws Exception {
+    RdapValidationServer invalid = new RdapValidationServer();
+    invalid.sharedOptions.hostRateBurst = 0;
+
+    assertThat(invalid.call()).isEqualTo(ToolResult.BAD_USER_INPUT.getCode());
+  }
+
+  @Test
+  public void testParse_AppliesTheDefaults() {
+    ValidationRequest request = ValidationRequest.parse("{\"uri\": \"https://rdap.example.com/domain/example.com\"}");
+
+    assertThat(request.uri()).isEqualTo(URI.create("https://rdap.example.com/domain/example.com"));
+    assertThat(request.gtldRegistry()).isFalse();
+    assertThat(request.gtldRegistrar()).isFalse();
+    assertThat(request.useRdapProfileFeb2024()).isTrue();
+    assertThat(request.noIpv4Queries()).isFalse();
+    assertThat(request.noIpv6Queries()).isFalse();
+  }
+
+  @Test
+  public void testParse_ExclusiveOptions_Throw() {
+    assertThatThrownBy(() -> ValidationRequest.parse(
+        "{\"uri\": \"https://rdap.example.com/domain/example.com\", \"gtldRegistry\": true, \"gtldRegistrar\": true}"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ValidationRequest.parse(
+        "{\"uri\": \"https://rdap.example.com/domain/example.com\", \"noIpv4Queries\": true, \"noIpv6Queries\": true}"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ValidationRequest.parse("{\"gtldRegistry\": true}"))
+        .isInstanceOf(JSONException.class);
+  }
+
+  @Test
+  public void testToJson_ListsTheResults() {
+    RDAPValidatorResults results = new RDAPValidatorResultsImpl();
+    results.add(new RDAPValidationResult(-12345, "value", "message", null, null, null, 200, null));
+
+    JSONObject json = RdapValidationServer.toJson(URI.create("https://rdap.example.com/domain/example.com"), results);
+
+    assertThat(json.getBoolean("valid")).isFalse();
+    JSONObject result = json.getJSONArray("results").getJSONObject(0);
+    assertThat(result.getInt("code")).isEqualTo(-12345);
+    assertThat(result.getString("message")).isEqualTo("message");
+    assertThat(result.getInt("receivedHttpStatusCode")).isEqualTo(200);
+    assertThat(result.isNull("serverIpAddress")).isTrue();
+  }
+
+  private void start(Function<ValidationRequest, JSONObject> engine, int maxConcurrent, int maxQueued)
+      throws IOException {
+    server = new RdapValidationServer(engine);
+    server.port = 0;
+    server.maxConcurrentValidations = maxConcurrent;
+    server.maxQueuedValidations = maxQueued;
+    server.start();
+  }
+
+  private void awaitHealth(Predicate<JSONObject> condition) throws Exception {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.test(new JSONObject(get(RdapValidationServer.HEALTH_PATH).body()))) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://127.0.0.1:" + server.getPort() + path);
+  }
+
+  private HttpRequest postRequest(String body) {
+    return HttpRequest.newBuilder(uri(RdapValidationServer.VALIDATE_PATH))
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private HttpResponse<String> post(String body) throws IOException, InterruptedException {
+    return client.send(postRequest(body), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+    return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+  }
+}
@@ -392,6 +392,41 @@ public class ConnectionTracker {
         lastMainConnection = null;
     }
 
+    /**
+     * Appends all connections recorded by another tracker, preserving their order.
+     *
+     * <p>Used to fold the tracker of a per-round child {@link QueryContext} back into
+     * the parent once the round has completed, so that run-wide checks such as
+     * {@link #areAllRelevantQueriesNotFound()} see every connection of the run.</p>
+     *
+     * @param other the tracker whose connections should be appended
+     */
+    public void mergeFrom(ConnectionTracker other) {
+        if (other == null || other == this) {
+            return;
+        }
+        List<ConnectionRecord> otherConnections;
+        ConnectionRecord otherCurrent;
+        ConnectionRecord otherLastMain;
+        synchronized (other) {
+            otherConnections = other.getConnections();
+            otherCurrent = other.getCurrentConnection();
+            otherLastMain = other.getLastMainConnection();
+        }
+        synchronized (this) {
+            for (ConnectionRecord record : otherConnections) {
+                connections.add(record);
+                connectionsByTrackingId.put(record.getTrackingId(), record);
+            }
+            if (otherCurrent != null) {
+                currentConnection = otherCurrent;
+            }
+            if (otherLastMain != null) {
+                lastMainConnection = otherLastMain;
+            }
+        }
+    }
+
 
 
 
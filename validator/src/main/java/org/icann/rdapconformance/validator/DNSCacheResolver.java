@@ -17,9 +17,14 @@ import org.slf4j.LoggerFactory;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.xbill.DNS.Record;
 
 /**
@@ -28,6 +33,10 @@ import org.xbill.DNS.Record;
  * <p>This class provides DNS resolution services with the following features:</p>
  * <ul>
  *   <li>Cached A and AAAA record lookups to improve performance</li>
+ *   <li>Concurrent A and AAAA lookups bounded by a per-host deadline, shared by
+ *       concurrent callers asking for the same name</li>
+ *   <li>Answers shared by all instances of the process for their TTL, including names
+ *       without addresses, with each instance keeping its own consistent view</li>
  *   <li>IPv4 and IPv6 address resolution and validation</li>
  *   <li>Configurable timeouts and retry logic for DNS queries</li>
  *   <li>Support for both system-configured and custom DNS resolvers</li>
@@ -68,9 +77,30 @@ public class DNSCacheResolver {
     // DNS resolver configuration constants
     private static final int DNS_TIMEOUT_SECONDS = 10;
     private static final int DNS_RETRIES = 3;
+    private static final int DNS_LOOKUP_DEADLINE_SECONDS = 15;
+    private static final String SYSTEM_RESOLVER = "system";
+
+    // Answers shared by all instances of this process, by resolver, name and record type
+    private static final Map<String, SharedAnswer> sharedAnswers = new ConcurrentHashMap<>(16, 0.75f, 1);
+    private static final Map<String, CompletableFuture<Answer>> sharedLookups = new ConcurrentHashMap<>();
+    private static final int MAX_SHARED_ANSWERS = 10000;
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(60);
+    public static final Duration DEFAULT_MIN_TTL = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_MAX_TTL = Duration.ofHours(1);
+
+    // Health checks of the custom resolvers, a reachable one is not checked again for a while
+    private static final Map<String, HealthCheck> healthChecks = new ConcurrentHashMap<>();
+    private static final Duration REACHABLE_CHECK_TTL = Duration.ofMinutes(5);
+    private static final Duration UNREACHABLE_CHECK_TTL = Duration.ofSeconds(30);
 
     // Instance-based resolver for thread safety
     private final Resolver resolver;
+    private final String resolverId;
+    private final Duration minTtl;
+    private final Duration maxTtl;
+    private volatile Clock clock = Clock.systemUTC();
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private volatile Duration lookupDeadline = Duration.ofSeconds(DNS_LOOKUP_DEADLINE_SECONDS);
 
     static {
         logger.info("DNS Resolver initialized");
@@ -84,7 +114,60 @@ public class DNSCacheResolver {
 
     // Constructor with custom DNS server for testing
     public DNSCacheResolver(String customDnsServer) {
+        this(customDnsServer, DEFAULT_MIN_TTL, DEFAULT_MAX_TTL);
+    }
+
+    /**
+     * Creates a resolver using the given DNS server, sharing its answers in this process for
+     * their TTL within the given bounds, positive or negative.
+     *
+     * @param customDnsServer the custom DNS server to use, or null to use system default
+     * @param minTtl how long an answer is shared at least, even with a lower TTL
+     * @param maxTtl how long an answer is shared at most, even with a higher TTL
+     */
+    public DNSCacheResolver(String customDnsServer, Duration minTtl, Duration maxTtl) {
+        checkTtlBounds(minTtl, maxTtl);
+        this.minTtl = minTtl;
+        this.maxTtl = maxTtl;
         this.resolver = initializeResolver(customDnsServer);
+        this.resolverId = customDnsServer != null && !customDnsServer.isEmpty() ? customDnsServer : SYSTEM_RESOLVER;
+    }
+
+    // Constructor with a given resolver for testing, answers are shared with the instances of the same id
+    DNSCacheResolver(Resolver resolver, String resolverId) {
+        this(resolver, resolverId, DEFAULT_MIN_TTL, DEFAULT_MAX_TTL);
+    }
+
+    DNSCacheResolver(Resolver resolver, String resolverId, Duration minTtl, Duration maxTtl) {
+        checkTtlBounds(minTtl, maxTtl);
+        this.resolver = resolver;
+        this.resolverId = resolverId;
+        this.minTtl = minTtl;
+        this.maxTtl = maxTtl;
+    }
+
+    private static void checkTtlBounds(Duration minTtl, Duration maxTtl) {
+        Objects.requireNonNull(minTtl);
+        Objects.requireNonNull(maxTtl);
+        if (minTtl.isNegative() || maxTtl.compareTo(minTtl) < 0) {
+            throw new IllegalArgumentException("Invalid TTL bounds: " + minTtl + " to " + maxTtl);
+        }
+    }
+
+    /**
+     * Creates a resolver using the same DNS server, with its own view of the answers.
+     *
+     * <p>The snapshot starts empty. Each name it resolves is taken from the answers shared in
+     * this process while their TTL has not expired, or resolved again otherwise, and is then kept
+     * for the lifetime of the snapshot so that a validation sees consistent answers.</p>
+     *
+     * @return a new resolver sharing the DNS server and the process-wide answers of this one
+     */
+    public DNSCacheResolver snapshot() {
+        DNSCacheResolver snapshot = new DNSCacheResolver(resolver, resolverId, minTtl, maxTtl);
+        snapshot.lookupDeadline = lookupDeadline;
+        snapshot.clock = clock;
+        return snapshot;
     }
 
     /**
@@ -125,6 +208,23 @@ public class DNSCacheResolver {
         }
     }
 
+    /**
+     * Returns the last health check result of the custom DNS server while it is recent enough,
+     * and checks it again otherwise.
+     */
+    private boolean isReachable(String customDnsServer, SimpleResolver resolver) {
+        Instant now = clock.instant();
+        HealthCheck check = healthChecks.get(customDnsServer);
+        if (check != null && check.expiresAt().isAfter(now)) {
+            logger.debug("Using the health check of DNS server {} from {}", customDnsServer, check.checkedAt());
+            return check.reachable();
+        }
+        boolean reachable = checkResolverReachability(resolver);
+        healthChecks.put(customDnsServer, new HealthCheck(reachable, now,
+            now.plus(reachable ? REACHABLE_CHECK_TTL : UNREACHABLE_CHECK_TTL)));
+        return reachable;
+    }
+
     /**
      * Initializes the DNS resolver with an optional custom DNS server.
      *
@@ -144,7 +244,7 @@ public class DNSCacheResolver {
                                      customDnsServer.equals(CommonUtils.LOCALHOST);
 
                 // IMPORTANT: Test if the resolver is actually reachable (unless it's localhost)
-                if (!isLocalhost && !checkResolverReachability(simpleResolver)) {
+                if (!isLocalhost && !isReachable(customDnsServer, simpleResolver)) {
                     throw new RuntimeException(
                         "DNS server " + customDnsServer + " is not responding. " +
                         "Please verify the IP address is correct and the server is reachable.");
@@ -275,82 +375,309 @@ public class DNSCacheResolver {
         return v4Addresses.isEmpty() && v6Addresses.isEmpty();
     }
 
+    /**
+     * Starts resolving the A and AAAA records of the given host names concurrently, without
+     * waiting for the answers. A later lookup of one of them uses its answers, or waits for its
+     * lookup still in flight.
+     *
+     * @param hosts the host names to resolve
+     * @return a future completed once all the host names are resolved
+     */
+    public CompletableFuture<Void> prefetch(Collection<String> hosts) {
+        return CompletableFuture.allOf(hosts.stream()
+            .filter(host -> host != null && !host.isEmpty())
+            .map(host -> resolveAsync(ensureFQDN(host)))
+            .toArray(CompletableFuture[]::new));
+    }
+
     private void resolveIfNeeded(String fqdn) {
+        resolveAsync(fqdn).join();
+    }
+
+    private CompletableFuture<Void> resolveAsync(String fqdn) {
         if (cacheV4.containsKey(fqdn) && cacheV6.containsKey(fqdn)) {
             logger.debug("Cache hit for {}", fqdn);
-            return;
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Concurrent callers for the same name wait on the lookup already in flight
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        CompletableFuture<Void> lookup = inFlight.putIfAbsent(fqdn, pending);
+        if (lookup == null) {
+            lookup = pending;
+            if (cacheV4.containsKey(fqdn) && cacheV6.containsKey(fqdn)) {
+                // Another lookup completed between the cache check and now
+                inFlight.remove(fqdn, pending);
+                pending.complete(null);
+            } else {
+                lookup(fqdn).whenComplete((result, e) -> {
+                    inFlight.remove(fqdn, pending);
+                    pending.complete(null);
+                });
+            }
+        } else {
+            logger.debug("Waiting for the lookup of {} already in flight", fqdn);
         }
+        return lookup;
+    }
 
+    /**
+     * Resolves the A and AAAA records of the name concurrently. Each family is bounded by the
+     * lookup deadline, after which it has no addresses for this call and is resolved again by the
+     * next one.
+     */
+    private CompletableFuture<Void> lookup(String fqdn) {
+        CompletableFuture<Void> v4;
         if (fqdn.equals(LOCAL_IPv4 + DOT) || fqdn.equals(LOCALHOST + DOT)) {
             logger.debug("Handling special-case loopback (IPv4) for {}", fqdn);
-            try {
-                cacheV4.put(fqdn, List.of(InetAddress.getByName(CommonUtils.LOCAL_IPv4)));
-            } catch (Exception e) {
-                logger.debug("Failed to handle {}", CommonUtils.LOCAL_IPv4, e);
-                cacheV4.put(fqdn, List.of());
-            }
+            cacheV4.put(fqdn, loopback(CommonUtils.LOCAL_IPv4));
+            v4 = CompletableFuture.completedFuture(null);
         } else {
-            cacheV4.put(fqdn, resolveWithCNAMEChain(fqdn, Type.A));
+            v4 = sharedLookup(fqdn, Type.A).thenAccept(answer -> cache(cacheV4, fqdn, answer));
         }
 
+        CompletableFuture<Void> v6;
         if (fqdn.equals(LOCAL_IPv6 + DOT) || fqdn.equals(LOCALHOST + DOT)) {
             logger.debug("Handling special-case loopback (IPv6) for {}", fqdn);
-            try {
-                cacheV6.put(fqdn, List.of(InetAddress.getByName(CommonUtils.LOCAL_IPv6_COMPRESSED)));
-            } catch (Exception e) {
-                logger.debug("Failed to handle {}", CommonUtils.LOCAL_IPv6_COMPRESSED, e);
-                cacheV6.put(fqdn, List.of());
-            }
+            cacheV6.put(fqdn, loopback(CommonUtils.LOCAL_IPv6_COMPRESSED));
+            v6 = CompletableFuture.completedFuture(null);
         } else {
-            cacheV6.put(fqdn, resolveWithCNAMEChain(fqdn, Type.AAAA));
+            v6 = sharedLookup(fqdn, Type.AAAA).thenAccept(answer -> cache(cacheV6, fqdn, answer));
         }
+
+        return CompletableFuture.allOf(v4, v6);
     }
 
-    private List<InetAddress> resolveWithCNAMEChain(String fqdn, int type) {
-        List<InetAddress> results = new ArrayList<>();
-        Set<String> visited = new HashSet<>();
-        String currentName = fqdn;
+    // A timed out lookup is not kept, so that a slow name is not taken for one without addresses
+    private static void cache(Map<String, List<InetAddress>> cache, String fqdn, Answer answer) {
+        if (!answer.timedOut()) {
+            cache.put(fqdn, answer.addresses());
+        }
+    }
 
-        while (true) {
-            if (!visited.add(currentName)) {
-                logger.debug("Detected CNAME loop involving: {}", currentName);
-                break;
+    /**
+     * Returns the addresses of the name shared in this process while their TTL has not expired.
+     * Otherwise, resolves them, or waits for the lookup of another instance already in flight,
+     * and shares the answer for its TTL. Answers to failed or timed out lookups are not shared.
+     */
+    private CompletableFuture<Answer> sharedLookup(String fqdn, int type) {
+        String key = resolverId + " " + fqdn + " " + Type.string(type);
+        Answer shared = getSharedAnswer(key);
+        if (shared != null) {
+            logger.debug("Shared answer hit for {} [{}]", fqdn, Type.string(type));
+            return CompletableFuture.completedFuture(shared);
+        }
+
+        CompletableFuture<Answer> pending = new CompletableFuture<>();
+        CompletableFuture<Answer> lookup = sharedLookups.putIfAbsent(key, pending);
+        if (lookup != null) {
+            return lookup;
+        }
+        shared = getSharedAnswer(key);
+        if (shared != null) {
+            // Another lookup completed between the shared answer check and now
+            sharedLookups.remove(key, pending);
+            pending.complete(shared);
+            return pending;
+        }
+
+        withDeadline(resolveWithCNAMEChain(fqdn, type), fqdn, type).thenAccept(answer -> {
+            if (answer.ttl() != null) {
+                putSharedAnswer(key, answer.addresses(), answer.ttl());
             }
+            sharedLookups.remove(key, pending);
+            pending.complete(answer);
+        });
+        return pending;
+    }
 
-            try {
-                Name name = Name.fromString(currentName, Name.root);
-                Record question = Record.newRecord(name, type, DClass.IN);
-                Message query = Message.newQuery(question);
-                Message response = resolver.send(query);
+    private Answer getSharedAnswer(String key) {
+        SharedAnswer answer = sharedAnswers.get(key);
+        if (answer == null) {
+            return null;
+        }
+        if (!answer.expiresAt().isAfter(clock.instant())) {
+            sharedAnswers.remove(key, answer);
+            return null;
+        }
+        return Answer.notCached(answer.addresses());
+    }
+
+    private void putSharedAnswer(String key, List<InetAddress> addresses, Duration ttl) {
+        Instant now = clock.instant();
+        if (sharedAnswers.size() >= MAX_SHARED_ANSWERS) {
+            sharedAnswers.values().removeIf(answer -> !answer.expiresAt().isAfter(now));
+        }
+        if (sharedAnswers.size() >= MAX_SHARED_ANSWERS) {
+            // Clear 20% of cache when full
+            sharedAnswers.keySet().stream()
+                .limit(MAX_SHARED_ANSWERS / 5)
+                .forEach(sharedAnswers::remove);
+        }
+        sharedAnswers.put(key, new SharedAnswer(addresses, now.plus(clamp(ttl))));
+    }
+
+    private Duration clamp(Duration ttl) {
+        return ttl.compareTo(minTtl) < 0 ? minTtl : ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl;
+    }
+
+    private CompletableFuture<Answer> withDeadline(CompletableFuture<Answer> answer, String fqdn, int type) {
+        return answer
+            .orTimeout(lookupDeadline.toMillis(), TimeUnit.MILLISECONDS)
+            .exceptionally(e -> {
+                logger.error("Resolving {} [{}] did not complete within {}", fqdn, Type.string(type), lookupDeadline);
+                return Answer.TIMED_OUT;
+            });
+    }
+
+    private static List<InetAddress> loopback(String address) {
+        try {
+            return List.of(InetAddress.getByName(address));
+        } catch (Exception e) {
+            logger.debug("Failed to handle {}", address, e);
+            return List.of();
+        }
+    }
 
-                boolean foundCname = false;
+    private CompletableFuture<Answer> resolveWithCNAMEChain(String fqdn, int type) {
+        return resolveWithCNAMEChain(fqdn, fqdn, type, new Chain());
+    }
 
-                for (Record answer : response.getSection(Section.ANSWER)) {
+    /**
+     * Sends the query for the current name of the chain without blocking, and follows the
+     * CNAME of the answer, if any, once the response arrives.
+     */
+    private CompletableFuture<Answer> resolveWithCNAMEChain(String fqdn, String currentName, int type, Chain chain) {
+        if (!chain.visited.add(currentName)) {
+            logger.debug("Detected CNAME loop involving: {}", currentName);
+            return resolved(fqdn, type, Answer.notCached(chain.addresses));
+        }
+
+        CompletionStage<Message> response;
+        try {
+            Name name = Name.fromString(currentName, Name.root);
+            Record question = Record.newRecord(name, type, DClass.IN);
+            response = resolver.sendAsync(Message.newQuery(question));
+        } catch (Exception e) {
+            logger.error("Error resolving {} [{}]", currentName, Type.string(type), e);
+            return resolved(fqdn, type, Answer.notCached(chain.addresses));
+        }
+
+        return response.toCompletableFuture()
+            .thenCompose(message -> {
+                for (Record answer : message.getSection(Section.ANSWER)) {
                     if (type == Type.A && answer instanceof ARecord) {
-                        results.add(((ARecord) answer).getAddress());
+                        chain.addresses.add(((ARecord) answer).getAddress());
+                        chain.ttl = Math.min(chain.ttl, answer.getTTL());
                     } else if (type == Type.AAAA && answer instanceof AAAARecord) {
-                        results.add(((AAAARecord) answer).getAddress());
+                        chain.addresses.add(((AAAARecord) answer).getAddress());
+                        chain.ttl = Math.min(chain.ttl, answer.getTTL());
                     } else if (answer instanceof CNAMERecord) {
                         CNAMERecord cname = (CNAMERecord) answer;
-                        currentName = cname.getTarget().toString();
-                        foundCname = true;
-                        logger.debug("Following CNAME: {} → {}", cname.getName(), currentName);
-                        break; // loop with new name
+                        String target = cname.getTarget().toString();
+                        chain.ttl = Math.min(chain.ttl, answer.getTTL());
+                        logger.debug("Following CNAME: {} → {}", cname.getName(), target);
+                        return resolveWithCNAMEChain(fqdn, target, type, chain);
                     }
                 }
-
-                if (!foundCname) {
-                    break;
-                }
-
-            } catch (Exception e) {
+                return resolved(fqdn, type, answer(message, chain));
+            })
+            .exceptionally(e -> {
                 logger.error("Error resolving {} [{}]", currentName, Type.string(type), e);
+                return Answer.notCached(chain.addresses);
+            });
+    }
+
+    /**
+     * Builds the answer ending the chain. Addresses are shared for the lowest TTL of the chain. A
+     * name that does not exist or has no address of the type is shared for the negative TTL of
+     * the SOA record of the response, as in RFC 2308, and any other response is not shared.
+     */
+    private static Answer answer(Message response, Chain chain) {
+        if (!chain.addresses.isEmpty()) {
+            return new Answer(List.copyOf(chain.addresses), Duration.ofSeconds(chain.ttl));
+        }
+        int rcode = response.getRcode();
+        if (rcode != Rcode.NOERROR && rcode != Rcode.NXDOMAIN) {
+            logger.debug("Not sharing the {} response", Rcode.string(rcode));
+            return Answer.notCached(List.of());
+        }
+        Duration negativeTtl = DEFAULT_NEGATIVE_TTL;
+        for (Record authority : response.getSection(Section.AUTHORITY)) {
+            if (authority instanceof SOARecord) {
+                negativeTtl = Duration.ofSeconds(Math.min(authority.getTTL(), ((SOARecord) authority).getMinimum()));
                 break;
             }
         }
+        if (chain.ttl < negativeTtl.toSeconds()) {
+            negativeTtl = Duration.ofSeconds(chain.ttl);
+        }
+        return new Answer(List.of(), negativeTtl);
+    }
+
+    private static CompletableFuture<Answer> resolved(String fqdn, int type, Answer answer) {
+        logger.debug("Final resolved {} [{}] → {} record(s)", fqdn, Type.string(type), answer.addresses().size());
+        return CompletableFuture.completedFuture(answer);
+    }
+
+    /**
+     * Sets how long the A or AAAA lookup of a name, including its CNAME chain, may take before
+     * the name is considered to have no addresses of that family.
+     *
+     * @param lookupDeadline the deadline of each lookup
+     */
+    public void setLookupDeadline(Duration lookupDeadline) {
+        Objects.requireNonNull(lookupDeadline);
+        if (lookupDeadline.isNegative() || lookupDeadline.isZero()) {
+            throw new IllegalArgumentException("Lookup deadline must be positive: " + lookupDeadline);
+        }
+        this.lookupDeadline = lookupDeadline;
+    }
+
+    /**
+     * Clears the answers and health checks shared in this process. Mainly for testing purposes.
+     */
+    public static void clearSharedCache() {
+        sharedAnswers.clear();
+        healthChecks.clear();
+    }
+
+    /**
+     * Sets the clock of the TTLs and health checks of this resolver and its snapshots. Mainly for
+     * testing purposes.
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    // Addresses of a lookup, with the TTL they can be shared for, or null if they are not shared
+    private record Answer(List<InetAddress> addresses, Duration ttl, boolean timedOut) {
+
+        static final Answer TIMED_OUT = new Answer(List.of(), null, true);
+
+        Answer(List<InetAddress> addresses, Duration ttl) {
+            this(addresses, ttl, false);
+        }
+
+        static Answer notCached(List<InetAddress> addresses) {
+            return new Answer(List.copyOf(addresses), null);
+        }
+    }
+
+    private record SharedAnswer(List<InetAddress> addresses, Instant expiresAt) {
+
+    }
+
+    private record HealthCheck(boolean reachable, Instant checkedAt, Instant expiresAt) {
+
+    }
+
+    // State of a lookup following a CNAME chain, only accessed by one response at a time
+    private static final class Chain {
 
-        logger.debug("Final resolved {} [{}] → {} record(s)", fqdn, Type.string(type), results.size());
-        return results;
+        private final Set<String> visited = new HashSet<>();
+        private final List<InetAddress> addresses = new ArrayList<>();
+        private long ttl = Long.MAX_VALUE;
     }
 
     /**
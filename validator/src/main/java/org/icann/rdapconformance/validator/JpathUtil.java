@@ -3,13 +3,21 @@ package org.icann.rdapconformance.validator;
 import static com.jayway.jsonpath.JsonPath.using;
 
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.ParseContext;
+import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JsonOrgMappingProvider;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import org.icann.rdapconformance.validator.schema.JsonPointers;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPResponseDocument;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,17 +25,52 @@ import org.slf4j.LoggerFactory;
 public class JpathUtil {
   private static final Logger logger = LoggerFactory.getLogger(JpathUtil.class);
 
+  private static final ParseContext PATH_LIST_PARSE_CONTEXT = using(Configuration.defaultConfiguration()
+      .addOptions(Option.AS_PATH_LIST)
+      .addOptions(Option.SUPPRESS_EXCEPTIONS));
+
+  // Queries org.json trees in place: no serialization or re-parsing of the JSONObject
+  private static final ParseContext ORG_JSON_PATH_LIST_PARSE_CONTEXT = using(Configuration.builder()
+      .jsonProvider(new JsonOrgJsonProvider())
+      .mappingProvider(new JsonOrgMappingProvider())
+      .options(Option.AS_PATH_LIST, Option.SUPPRESS_EXCEPTIONS)
+      .build());
+
+  // Compiled paths are immutable and shared by all threads. Redaction validations build their
+  // paths from response values (prePath, postPath, replacementPath), which repeat a lot across
+  // rounds and runs, so the cache is bounded and evicts the least recently used path.
+  private static final int MAX_COMPILED_PATHS = 1000;
+  private static final Map<String, JsonPath> compiledPathCache = Collections.synchronizedMap(
+      new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+          return size() > MAX_COMPILED_PATHS;
+        }
+      });
+  private static final LongAdder compiledPathHits = new LongAdder();
+  private static final LongAdder compiledPathMisses = new LongAdder();
+
   private final ParseContext parseContext;
 
   public JpathUtil() {
-    Configuration jsonPathConfig = Configuration.defaultConfiguration()
-        .addOptions(Option.AS_PATH_LIST)
-        .addOptions(Option.SUPPRESS_EXCEPTIONS);
-    parseContext = using(jsonPathConfig);
+    parseContext = PATH_LIST_PARSE_CONTEXT;
+  }
+
+  /**
+   * Wraps the given JSONObject into a document whose queries return path lists, without
+   * serializing it. The returned context reads the JSONObject directly and can be queried
+   * any number of times, as long as the JSONObject is not modified.
+   */
+  public static DocumentContext pathListContext(JSONObject jsonObject) {
+    return ORG_JSON_PATH_LIST_PARSE_CONTEXT.parse(jsonObject);
+  }
+
+  public boolean exists(RDAPResponseDocument document, String jpath) {
+    return !getPointerFromJPath(document, jpath).isEmpty();
   }
 
   public boolean exists(JSONObject jsonObject, String jpath) {
-    return exists(jsonObject.toString(), jpath);
+    return !getPointerFromJPath(jsonObject, jpath).isEmpty();
   }
 
   public boolean exists(String json, String jpath) {
@@ -35,11 +78,23 @@ public class JpathUtil {
   }
 
   public Set<String> getPointerFromJPath(JSONObject jsonObject, String jpath) {
-    return getPointerFromJPath(jsonObject.toString(), jpath);
+    return toPointers(pathListContext(jsonObject), jpath);
   }
 
   public Set<String> getPointerFromJPath(String json, String jpath) {
-    List<String> jpaths = parseContext.parse(json).read(jpath);
+    return toPointers(parseContext.parse(json), jpath);
+  }
+
+  /**
+   * Same as {@link #getPointerFromJPath(String, String)} but queries the document's parsed
+   * JSONPath view instead of parsing the JSON again.
+   */
+  public Set<String> getPointerFromJPath(RDAPResponseDocument document, String jpath) {
+    return toPointers(document.getJsonPathContext(), jpath);
+  }
+
+  private Set<String> toPointers(DocumentContext documentContext, String jpath) {
+    List<String> jpaths = documentContext.read(compile(jpath));
     return jpaths
         .stream()
         .map(JsonPointers::fromJpath)
@@ -55,7 +110,7 @@ public class JpathUtil {
    */
   public boolean isValidJsonPath(String jsonPath) {
     try {
-      JsonPath.compile(jsonPath);
+      compile(jsonPath);
     } catch (Exception e) {
       logger.debug("Invalid JSON path: {} with error: {}", jsonPath, e.getMessage());
       return false;
@@ -63,4 +118,54 @@ public class JpathUtil {
 
     return true;
   }
+
+  /**
+   * Returns the compiled form of the given path, compiling and caching it on first use.
+   *
+   * @throws com.jayway.jsonpath.InvalidPathException if the path cannot be compiled
+   * @throws IllegalArgumentException if the path is null or empty
+   */
+  static JsonPath compile(String jpath) {
+    JsonPath compiled = compiledPathCache.get(jpath);
+    if (compiled != null) {
+      compiledPathHits.increment();
+      return compiled;
+    }
+
+    compiledPathMisses.increment();
+    // Compile outside the lock: two threads may compile the same path, both results are equal
+    compiled = JsonPath.compile(jpath);
+    compiledPathCache.put(jpath, compiled);
+    return compiled;
+  }
+
+  /**
+   * Gets the number of path lookups served from the compiled path cache.
+   */
+  public static long getCompiledPathCacheHits() {
+    return compiledPathHits.sum();
+  }
+
+  /**
+   * Gets the number of path lookups that had to compile the path.
+   */
+  public static long getCompiledPathCacheMisses() {
+    return compiledPathMisses.sum();
+  }
+
+  /**
+   * Gets the current number of compiled paths in the cache.
+   */
+  public static int getCompiledPathCacheSize() {
+    return compiledPathCache.size();
+  }
+
+  /**
+   * Clears the compiled path cache and its counters. Mainly for testing purposes.
+   */
+  public static synchronized void clearCompiledPathCache() {
+    compiledPathCache.clear();
+    compiledPathHits.reset();
+    compiledPathMisses.reset();
+  }
 }
@@ -6,17 +6,20 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPDatasetService;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPQuery;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPQueryType;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPResponseDocument;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResults;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResultsImpl;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResult;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResultFile;
 import org.icann.rdapconformance.validator.workflow.rdap.http.RDAPHttpQueryTypeProcessor;
 import org.icann.rdapconformance.validator.workflow.rdap.http.HttpClientManager;
+import org.icann.rdapconformance.validator.workflow.profile.tig_section.general.TlsProbeService;
 import org.icann.rdapconformance.validator.workflow.rdap.file.RDAPFileQueryTypeProcessor;
 import org.json.JSONObject;
 
@@ -59,6 +62,7 @@ public class QueryContext {
     private final RDAPValidationResultFile resultFile;
     private final DNSCacheResolver dnsResolver;
     private final HttpClientManager httpClientManager;
+    private final TlsProbeService tlsProbeService;
     private final RDAPHttpQueryTypeProcessor httpQueryTypeProcessor;
     private final RDAPFileQueryTypeProcessor fileQueryTypeProcessor;
     private final NetworkInfo networkInfo;
@@ -67,6 +71,7 @@ public class QueryContext {
     private String rdapResponseData;
     private HttpResponse<String> currentHttpResponse;
     private JSONObject jsonResponseData;
+    private RDAPResponseDocument responseDocument;
 
     // Flag for enable testing
     private boolean ssrfProtectionEnabled = true;
@@ -74,6 +79,9 @@ public class QueryContext {
     // Set of allowed hosts for SSRF protection (can be configured for testing)
     private Set<String> ssrfAllowedHosts = new HashSet<>();
 
+    // Whether the hosts to contact are prefetched, shared with the contexts forked from this one
+    private AtomicBoolean dnsPrefetchStarted = new AtomicBoolean();
+
     /**
      * Constructs a new QueryContext with the specified configuration and services.
      *
@@ -103,6 +111,23 @@ public class QueryContext {
                        RDAPDatasetService datasetService,
                        RDAPQuery query,
                        String customDnsServer) {
+        this(queryId, config, datasetService, query, new DNSCacheResolver(customDnsServer));
+    }
+
+    /**
+     * Constructs a new QueryContext with the specified configuration, services, and DNS cache.
+     *
+     * @param queryId unique identifier for this validation query
+     * @param config the RDAP validator configuration
+     * @param datasetService service for accessing RDAP datasets
+     * @param query the RDAP query to be validated
+     * @param dnsResolver the DNS cache to use, possibly shared with other validations
+     */
+    public QueryContext(String queryId,
+                       RDAPValidatorConfiguration config,
+                       RDAPDatasetService datasetService,
+                       RDAPQuery query,
+                       DNSCacheResolver dnsResolver) {
         // Initialize immutable configuration
         this.queryId = queryId;
         this.config = config;
@@ -113,7 +138,7 @@ public class QueryContext {
         this.results = new RDAPValidatorResultsImpl();
         this.connectionTracker = new ConnectionTracker();
         this.resultFile = new RDAPValidationResultFile();
-        this.dnsResolver = new DNSCacheResolver(customDnsServer);
+        this.dnsResolver = dnsResolver;
         // Initialize DNS cache once at startup with the target URL (skip for test URIs to improve performance)
         if (config.getUri() != null) {
             String uriString = config.getUri().toString();
@@ -122,6 +147,7 @@ public class QueryContext {
             }
         }
         this.httpClientManager = new HttpClientManager();
+        this.tlsProbeService = new TlsProbeService(this.dnsResolver);
         this.httpQueryTypeProcessor = new RDAPHttpQueryTypeProcessor();
         this.fileQueryTypeProcessor = new RDAPFileQueryTypeProcessor();
         this.networkInfo = new NetworkInfo();
@@ -172,6 +198,7 @@ public class QueryContext {
             }
         }
         this.httpClientManager = new HttpClientManager();
+        this.tlsProbeService = new TlsProbeService(this.dnsResolver);
         this.httpQueryTypeProcessor = new RDAPHttpQueryTypeProcessor();
         this.fileQueryTypeProcessor = new RDAPFileQueryTypeProcessor();
         this.networkInfo = new NetworkInfo();
@@ -218,6 +245,7 @@ public class QueryContext {
             }
         }
         this.httpClientManager = new HttpClientManager();
+        this.tlsProbeService = new TlsProbeService(this.dnsResolver);
         this.httpQueryTypeProcessor = new RDAPHttpQueryTypeProcessor();
         this.fileQueryTypeProcessor = new RDAPFileQueryTypeProcessor();
         this.networkInfo = new NetworkInfo();
@@ -228,6 +256,66 @@ public class QueryContext {
         }
     }
 
+    /**
+     * Private constructor used by {@link #forkForRound(NetworkProtocol, NetworkInfo.AcceptHeader)}
+     * and {@link #forkForValidation()}.
+     *
+     * <p>The child shares the immutable configuration, dataset service, query type, DNS
+     * cache, HTTP client pools, TLS probes and SSRF settings with its parent, and gets its own
+     * network settings, results and connection tracker. A round gets its own query
+     * instance; a validation fork keeps the parent's query and current response.</p>
+     *
+     * @param parent the context being forked
+     * @param protocol the network protocol for the round
+     * @param acceptHeader the Accept header for the round
+     * @param shareResponse whether the child keeps the parent's query and current response
+     */
+    private QueryContext(QueryContext parent, NetworkProtocol protocol, NetworkInfo.AcceptHeader acceptHeader,
+                         boolean shareResponse) {
+        this.queryId = parent.queryId + "-" + protocol.name() + "-" + acceptHeader.name();
+        this.config = parent.config;
+        this.datasetService = parent.datasetService;
+        this.queryType = parent.queryType;
+
+        this.results = new RDAPValidatorResultsImpl();
+        this.connectionTracker = new ConnectionTracker();
+        this.resultFile = new RDAPValidationResultFile();
+        this.dnsResolver = parent.dnsResolver;
+        this.httpClientManager = parent.httpClientManager;
+        this.tlsProbeService = parent.tlsProbeService;
+        this.httpQueryTypeProcessor = parent.httpQueryTypeProcessor;
+        this.fileQueryTypeProcessor = parent.fileQueryTypeProcessor;
+        this.networkInfo = new NetworkInfo();
+        this.networkInfo.setNetworkProtocolValue(protocol);
+        if (acceptHeader == NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON) {
+            this.networkInfo.setAcceptHeaderToApplicationRdapJsonValue();
+        } else {
+            this.networkInfo.setAcceptHeaderToApplicationJsonValue();
+        }
+
+        this.ssrfProtectionEnabled = parent.ssrfProtectionEnabled;
+        this.ssrfAllowedHosts = new HashSet<>(parent.ssrfAllowedHosts);
+        this.dnsPrefetchStarted = parent.dnsPrefetchStarted;
+
+        if (shareResponse) {
+            // A validation fork observes the response the parent round already fetched
+            this.query = parent.query;
+            this.rdapResponseData = parent.rdapResponseData;
+            this.responseDocument = parent.responseDocument;
+            this.currentHttpResponse = parent.currentHttpResponse;
+            this.jsonResponseData = parent.jsonResponseData;
+            this.networkInfo.setHttpMethodValue(parent.getHttpMethod());
+            this.networkInfo.setServerIpAddressValue(parent.getServerIpAddress());
+        } else if (parent.query instanceof org.icann.rdapconformance.validator.workflow.rdap.http.RDAPHttpQuery httpQuery) {
+            // Each round runs its own query since RDAPHttpQuery keeps the response of its last run
+            org.icann.rdapconformance.validator.workflow.rdap.http.RDAPHttpQuery roundQuery = httpQuery.copy();
+            roundQuery.setQueryContext(this);
+            this.query = roundQuery;
+        } else {
+            this.query = parent.query;
+        }
+    }
+
     /**
      * Determines the query type based on the provided query and configuration.
      */
@@ -306,6 +394,10 @@ public class QueryContext {
         return httpClientManager;
     }
 
+    public TlsProbeService getTlsProbeService() {
+        return tlsProbeService;
+    }
+
     public RDAPHttpQueryTypeProcessor getHttpQueryTypeProcessor() {
         return httpQueryTypeProcessor;
     }
@@ -328,6 +420,33 @@ public class QueryContext {
 
     public void setRdapResponseData(String rdapResponseData) {
         this.rdapResponseData = rdapResponseData;
+        this.responseDocument = null;
+    }
+
+    /**
+     * Returns the parsed document for the current response data.
+     *
+     * <p>The document is created once per response and shared with every validation of the
+     * same response, which read the org.json, Jackson and JSONPath views from it instead of
+     * parsing the response again.</p>
+     *
+     * @return the parsed response document, or null if there is no response data
+     */
+    public RDAPResponseDocument getResponseDocument() {
+        if (responseDocument == null && rdapResponseData != null && !rdapResponseData.isEmpty()) {
+            responseDocument = RDAPResponseDocument.of(rdapResponseData);
+        }
+        return responseDocument;
+    }
+
+    /**
+     * Claims the DNS prefetch of the validation, which is started once for this context and all
+     * the contexts forked from it.
+     *
+     * @return true if the caller is to start the prefetch, false if it was already started
+     */
+    public boolean claimDnsPrefetch() {
+        return dnsPrefetchStarted.compareAndSet(false, true);
     }
 
     public HttpResponse<String> getCurrentHttpResponse() {
@@ -428,6 +547,80 @@ public class QueryContext {
                 .build(this));
     }
 
+    // ================================
+    // ROUND FORKING METHODS
+    // ================================
+
+    /**
+     * Forks this context into a child context for a single validation round.
+     *
+     * <p>The child shares the configuration, dataset service, DNS cache and HTTP client
+     * pools with this context, but has its own {@link NetworkInfo}, current response,
+     * result buffer and connection tracker, so several rounds can run concurrently.
+     * Results are folded back with {@link #mergeRoundResults(QueryContext)}.</p>
+     *
+     * @param protocol the network protocol the round uses
+     * @param acceptHeader the Accept header the round sends
+     * @return a new child QueryContext configured for the round
+     */
+    public QueryContext forkForRound(NetworkProtocol protocol, NetworkInfo.AcceptHeader acceptHeader) {
+        return new QueryContext(this, protocol, acceptHeader, false);
+    }
+
+    /**
+     * Forks this context for a single validation that runs alongside others in the same round.
+     *
+     * <p>The child keeps this context's query, current response and network settings, so the
+     * validation sees the same state it would see when run inline. Requests it makes are
+     * tracked, and results it finds are recorded, on the child only. Results are folded back
+     * with {@link #mergeRoundResults(QueryContext)}.</p>
+     *
+     * @return a new child QueryContext mirroring the current state of this context
+     */
+    public QueryContext forkForValidation() {
+        NetworkInfo.AcceptHeader acceptHeader =
+            NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON.getValue().equals(getAcceptHeader())
+                ? NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON
+                : NetworkInfo.AcceptHeader.APPLICATION_JSON;
+        return new QueryContext(this, getNetworkProtocol(), acceptHeader, true);
+    }
+
+    /**
+     * Merges the results, groups and tracked connections of a completed round into this context.
+     *
+     * <p>Callers must merge rounds in round order to keep the output deterministic. The
+     * response data and network settings of the merged round become the current ones of
+     * this context, as they would after running the rounds sequentially.</p>
+     *
+     * @param roundContext a child context created by {@link #forkForRound(NetworkProtocol, NetworkInfo.AcceptHeader)}
+     *                     or {@link #forkForValidation()}
+     */
+    public synchronized void mergeRoundResults(QueryContext roundContext) {
+        RDAPValidatorResults roundResults = roundContext.getResults();
+        for (RDAPValidationResult result : roundResults.getAllAsList()) {
+            results.add(result);
+        }
+        results.addGroups(roundResults.getGroups());
+        for (String group : roundResults.getGroupErrorWarning()) {
+            results.addGroupErrorWarning(group);
+        }
+        connectionTracker.mergeFrom(roundContext.getConnectionTracker());
+
+        this.rdapResponseData = roundContext.rdapResponseData;
+        this.responseDocument = roundContext.responseDocument;
+        this.currentHttpResponse = roundContext.currentHttpResponse;
+        this.jsonResponseData = roundContext.jsonResponseData;
+        NetworkInfo roundInfo = roundContext.getNetworkInfo();
+        networkInfo.setNetworkProtocolValue(roundInfo.getNetworkProtocolValue());
+        if (NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON.getValue().equals(roundInfo.getAcceptHeaderValue())) {
+            networkInfo.setAcceptHeaderToApplicationRdapJsonValue();
+        } else {
+            networkInfo.setAcceptHeaderToApplicationJsonValue();
+        }
+        networkInfo.setHttpMethodValue(roundContext.getHttpMethod());
+        networkInfo.setServerIpAddressValue(roundContext.getServerIpAddress());
+    }
+
     // =================
     // FACTORY METHODS
     // =================
@@ -462,6 +655,24 @@ public class QueryContext {
         return new QueryContext(UUID.randomUUID().toString(), config, datasetService, query, customDnsServer);
     }
 
+    /**
+     * Creates a QueryContext for production use with a snapshot of the given DNS cache, so that
+     * the answers shared with other validations are reused while this one sees consistent ones.
+     *
+     * @param config the RDAP validator configuration
+     * @param datasetService service for accessing RDAP datasets
+     * @param query the RDAP query to be validated
+     * @param dnsResolver the DNS cache shared with other validations
+     * @return a new QueryContext with unique query ID using a snapshot of the given DNS cache
+     * @see DNSCacheResolver#snapshot()
+     */
+    public static QueryContext create(RDAPValidatorConfiguration config,
+                                    RDAPDatasetService datasetService,
+                                    RDAPQuery query,
+                                    DNSCacheResolver dnsResolver) {
+        return new QueryContext(UUID.randomUUID().toString(), config, datasetService, query, dnsResolver.snapshot());
+    }
+
     /**
      * Creates a QueryContext for testing with all default mock components.
      *
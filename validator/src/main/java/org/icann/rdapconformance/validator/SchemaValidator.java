@@ -27,6 +27,7 @@ import org.icann.rdapconformance.validator.customvalidator.RdapExtensionsFormatV
 import org.icann.rdapconformance.validator.exception.ValidationExceptionNode;
 import org.icann.rdapconformance.validator.exception.parser.ExceptionParser;
 import org.icann.rdapconformance.validator.jcard.VcardArrayGeneralValidation;
+import org.icann.rdapconformance.validator.schema.SchemaMetadata;
 import org.icann.rdapconformance.validator.schema.SchemaNode;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPDatasetService;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResult;
@@ -53,7 +54,7 @@ public class SchemaValidator {
   // Cache for compiled patterns to avoid repeated compilation of the same key patterns
   private static final java.util.concurrent.ConcurrentHashMap<String, Pattern> keyPatternCache = new java.util.concurrent.ConcurrentHashMap<>();
   private final JpathUtil jpathUtil;
-  private JSONObject schemaObject;
+  private SchemaMetadata schemaMetadata;
   private Schema schema;
   private RDAPValidatorResults results;
   private SchemaNode schemaRootNode;
@@ -85,8 +86,9 @@ public class SchemaValidator {
 
   private void init(Schema schema, RDAPValidatorResults results, QueryContext queryContext) {
     this.schema = schema;
-    this.schemaRootNode = SchemaNode.create(null, this.schema);
-    this.schemaObject = new JSONObject(schema.toString());
+    // Shared with the exception parsers of this schema, see SchemaMetadata
+    this.schemaMetadata = SchemaMetadata.of(schema);
+    this.schemaRootNode = schemaMetadata.getRootNode();
     this.results = results;
     this.queryContext = queryContext;
   }
@@ -146,7 +148,7 @@ public class SchemaValidator {
 
   public boolean validate(String content) {
     int startingCount = results.getResultCount();
-    results.addGroups(schemaRootNode.findAllValuesOf("validationName"));
+    results.addGroups(schemaMetadata.getValidationNames());
 
     JSONObject jsonObject;
     try {
@@ -170,12 +172,12 @@ public class SchemaValidator {
 
       if (content.contains("\"vcardArray\"")) {
         logger.info("Validating: vcardArrayGeneralValidation");
-        new VcardArrayGeneralValidation(jsonObject.toString(), results, queryContext).validate();
+        new VcardArrayGeneralValidation(content, results, queryContext).validate();
       }
 
       if (content.contains("\"notices\"")) {
         logger.info("Validating: noticesTopMostValidation");
-        new NoticesTopMostValidation(jsonObject.toString(), results, schemaRootNode, queryContext).validate();
+        new NoticesTopMostValidation(content, results, schemaRootNode, queryContext).validate();
       }
     } catch (Exception e) {
       logger.debug("Exception during schema validation. This is likely caused by a schema deeply "
@@ -209,7 +211,7 @@ public class SchemaValidator {
             // and add also corresponding group test validation error:
             ExceptionParser
                 .validateGroupTest(jsonPointer + "/" + i + "/eventAction", jsonObject, results,
-                    schema, this.queryContext);
+                    schemaMetadata, this.queryContext);
           }
           i++;
         }
@@ -236,7 +238,7 @@ public class SchemaValidator {
       // limitation: here we search for the first key matching the one flag as duplicated, we don't
       // know if it is the right one since the same key can be at multiple places in the hierarchy.
       return RDAPValidationResult.builder()
-          .code(ExceptionParser.parseErrorCode(() -> schemaRootNode.searchBottomMostErrorCode(key,
+          .code(ExceptionParser.parseErrorCode(() -> schemaMetadata.searchBottomMostErrorCode(key,
               "duplicateKeys")))
           .value(key + ":" + value)
           .message("The name in the name/value pair of a link structure was found more than once.")
@@ -251,25 +253,16 @@ public class SchemaValidator {
   }
 
   private void parseException(ValidationException e, JSONObject jsonObject) {
-    List<ExceptionParser> exceptionParsers = ExceptionParser.createParsers(e, schema, jsonObject,
+    List<ValidationExceptionNode> unmatchedExceptions = ExceptionParser.parseAll(e, schema, jsonObject,
         results, queryContext);
-    for (ExceptionParser exceptionParser : exceptionParsers) {
-      exceptionParser.parse();
-    }
-
-    List<ValidationExceptionNode> validationExceptions =
-        new ValidationExceptionNode(null, e).getAllExceptions();
-    for (ValidationExceptionNode validationException : validationExceptions) {
-      if (exceptionParsers.stream()
-          .noneMatch(exceptionParser -> exceptionParser.matches(validationException))) {
-        logger.debug(
-            "We found this error with no exception parser {}", validationException.getMessage());
-      }
+    for (ValidationExceptionNode validationException : unmatchedExceptions) {
+      logger.debug(
+          "We found this error with no exception parser {}", validationException.getMessage());
     }
   }
 
   private int getErrorCode(String validationName) {
-    return (int) schemaObject.get(validationName);
+    return schemaMetadata.getErrorCode(validationName);
   }
 
   public SchemaNode getSchemaRootNode() {
@@ -16,7 +16,8 @@ public enum ToolResult implements ConformanceError {
     FILE_WRITE_ERROR(21, "Failure in writing to results file"),
     FILE_READ_ERROR(22, "Failure in reading from results file"),
     BAD_USER_INPUT(25, "The user input is invalid"),
-    CONFIG_DOES_NOT_EXIST(26, "The config file does not exist");
+    CONFIG_DOES_NOT_EXIST(26, "The config file does not exist"),
+    BATCH_VALIDATION_FAILED(27, "The validation of at least one URI of the batch did not succeed");
 
     private final int code;
     private final String description;
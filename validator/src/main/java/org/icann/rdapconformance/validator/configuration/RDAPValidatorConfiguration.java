@@ -102,6 +102,24 @@ public interface RDAPValidatorConfiguration {
     return false;
   }
 
+  /**
+   * Maximum number of validation rounds (IPv4/IPv6 and Accept header combinations)
+   * that may run at the same time.
+   * @return the number of rounds to run in parallel; 1 runs them sequentially
+   */
+  default int getMaxParallelRounds() {
+    return 4;
+  }
+
+  /**
+   * Whether the network-bound profile validations of a round (HEAD request, HTTP downgrade,
+   * TLS probe, DNS checks and the invalid-domain redirect test) run concurrently.
+   * @return true to run them concurrently on virtual threads, false to run them in sequence
+   */
+  default boolean isConcurrentNetworkValidations() {
+    return true;
+  }
+
   default boolean check() {
     if (getUri().getScheme() != null && getUri().getScheme().startsWith("http")) {
       if (getQueryType() != null) {
@@ -3,12 +3,14 @@ package org.icann.rdapconformance.validator.exception.parser;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
 import org.icann.rdapconformance.validator.exception.ValidationExceptionNode;
-import org.icann.rdapconformance.validator.schema.SchemaNode;
+import org.icann.rdapconformance.validator.schema.SchemaMetadata;
 import org.icann.rdapconformance.validator.schema.ValidationNode;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResult;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResults;
@@ -21,24 +23,68 @@ public abstract class ExceptionParser {
   private static final Logger logger = LoggerFactory.getLogger(ExceptionParser.class);
   protected final ValidationExceptionNode e;
   protected final Schema schema;
-  protected final JSONObject schemaObject;
+  protected final SchemaMetadata schemaMetadata;
   protected final JSONObject jsonObject;
   protected final RDAPValidatorResults results;
   protected final org.icann.rdapconformance.validator.QueryContext queryContext;
   public final static int UNKNOWN_ERROR_CODE = -999;
 
+  // Keywords everit reports for violations of each schema type. Parsers that match on the
+  // violated schema class, e.g. on its format validator, are registered for all of them.
+  private static final Set<String> STRING_KEYWORDS = Set.of("type", "minLength", "maxLength", "pattern", "format");
+  private static final Set<String> NUMBER_KEYWORDS = Set.of("type", "minimum", "maximum", "exclusiveMinimum",
+      "exclusiveMaximum", "multipleOf");
+  private static final Set<String> ARRAY_KEYWORDS = Set.of("type", "minItems", "maxItems", "uniqueItems", "contains",
+      "items", "additionalItems");
+
+  // Every parser type with the keywords it can match, an empty set meaning any keyword. The
+  // order is the order in which matching parsers run for a given exception.
+  private static final List<ParserType> PARSER_TYPES = List.of(
+      new ParserType(Set.of("additionalProperties"), UnknowKeyExceptionParser::new),
+      new ParserType(Set.of("type"), BasicTypeExceptionParser::new),
+      new ParserType(Set.of("enum"), EnumExceptionParser::new),
+      new ParserType(Set.of("required"), MissingKeyExceptionParser::new),
+      new ParserType(Set.of("const"), ConstExceptionParser::new),
+      new ParserType(ARRAY_KEYWORDS, ContainsConstExceptionParser::new),
+
+      // IPv4-specific parsers MUST come before RegexExceptionParser to handle -11406 pattern failures
+      new ParserType(Set.of("pattern"), Ipv4PatternExceptionParser::new),
+      new ParserType(STRING_KEYWORDS, Ipv4ValidationExceptionParser::new),
+
+      // General regex parser comes after IPv4-specific parsers
+      new ParserType(Set.of("pattern"), RegexExceptionParser::new),
+
+      new ParserType(STRING_KEYWORDS, DatetimeExceptionParser::new),
+      new ParserType(Set.of("dependencies"), DependenciesExceptionParser::new),
+      new ParserType(STRING_KEYWORDS, HostNameInUriExceptionParser::new),
+      new ParserType(STRING_KEYWORDS, Ipv6ValidationExceptionParser::new),
+      new ParserType(STRING_KEYWORDS, IdnHostNameExceptionParser::new),
+      new ParserType(Set.of("uniqueItems"), UniqueItemsExceptionParser::new),
+      new ParserType(NUMBER_KEYWORDS, NumberExceptionParser::new),
+      new ParserType(Set.of("type"), ComplexTypeExceptionParser::new),
+      new ParserType(STRING_KEYWORDS, RdapExtensionsExceptionParser::new),
+      new ParserType(STRING_KEYWORDS, DatasetExceptionParser::new),
+      new ParserType(Set.of(), VcardExceptionParser::new));
+
+  private static final Map<String, List<ParserType>> PARSERS_BY_KEYWORD = new ConcurrentHashMap<>();
+
 
   protected ExceptionParser(ValidationExceptionNode e, Schema schema,
       JSONObject jsonObject, RDAPValidatorResults results, org.icann.rdapconformance.validator.QueryContext queryContext) {
     this.e = e;
     this.schema = schema;
-    this.schemaObject = new JSONObject(schema.toString());
+    this.schemaMetadata = SchemaMetadata.of(schema);
     this.jsonObject = jsonObject;
     this.results = results;
     this.queryContext = queryContext;
   }
 
 
+  /**
+   * Creates the parsers of every basic exception of the given validation exception. Only the
+   * parsers registered for the keyword of each basic exception are created, see
+   * {@link #parsersFor(String)}.
+   */
   public static List<ExceptionParser> createParsers(
       ValidationException e,
       Schema schema,
@@ -46,36 +92,56 @@ public abstract class ExceptionParser {
     List<ExceptionParser> parsers = new ArrayList<>();
 
     ValidationExceptionNode rootException = new ValidationExceptionNode(null, e);
-    List<ValidationExceptionNode> basicExceptions = rootException.getAllExceptions();
-    for (ValidationExceptionNode basicException : basicExceptions) {
-      parsers.add(new UnknowKeyExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new BasicTypeExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new EnumExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new MissingKeyExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new ConstExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new ContainsConstExceptionParser(basicException, schema, object, results, queryContext));
+    for (ValidationExceptionNode basicException : rootException.getAllExceptions()) {
+      for (ParserType parserType : parsersFor(basicException.getKeyword())) {
+        parsers.add(parserType.factory().create(basicException, schema, object, results, queryContext));
+      }
+    }
 
-      // IPv4-specific parsers MUST come before RegexExceptionParser to handle -11406 pattern failures
-      parsers.add(new Ipv4PatternExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new Ipv4ValidationExceptionParser(basicException, schema, object, results, queryContext));
+    return parsers;
+  }
 
-      // General regex parser comes after IPv4-specific parsers
-      parsers.add(new RegexExceptionParser(basicException, schema, object, results, queryContext));
-
-      parsers.add(new DatetimeExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new DependenciesExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new HostNameInUriExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new Ipv6ValidationExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new IdnHostNameExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new UniqueItemsExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new NumberExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new ComplexTypeExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new RdapExtensionsExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new DatasetExceptionParser(basicException, schema, object, results, queryContext));
-      parsers.add(new VcardExceptionParser(basicException, schema, object, results, queryContext));
+  /**
+   * Parses every basic exception of the given validation exception with the parsers registered
+   * for its keyword, in registration order.
+   *
+   * @return the basic exceptions that no parser matched
+   */
+  public static List<ValidationExceptionNode> parseAll(
+      ValidationException e,
+      Schema schema,
+      JSONObject object, RDAPValidatorResults results, org.icann.rdapconformance.validator.QueryContext queryContext) {
+    List<ValidationExceptionNode> unmatchedExceptions = new ArrayList<>();
+
+    ValidationExceptionNode rootException = new ValidationExceptionNode(null, e);
+    for (ValidationExceptionNode basicException : rootException.getAllExceptions()) {
+      boolean matched = false;
+      for (ParserType parserType : parsersFor(basicException.getKeyword())) {
+        ExceptionParser parser = parserType.factory().create(basicException, schema, object, results, queryContext);
+        if (parser.matches(basicException)) {
+          matched = true;
+          parser.parseMatched();
+        }
+      }
+      if (!matched) {
+        unmatchedExceptions.add(basicException);
+      }
     }
 
-    return parsers;
+    return unmatchedExceptions;
+  }
+
+  /**
+   * Gets the parser types that may match an exception raised for the given everit keyword, in
+   * the order in which they must run. Exceptions without a keyword go through every parser.
+   */
+  static List<ParserType> parsersFor(String keyword) {
+    if (keyword == null) {
+      return PARSER_TYPES;
+    }
+    return PARSERS_BY_KEYWORD.computeIfAbsent(keyword, k -> PARSER_TYPES.stream()
+        .filter(parserType -> parserType.keywords().isEmpty() || parserType.keywords().contains(k))
+        .toList());
   }
 
   public static int parseErrorCode(Supplier<Integer> getErrorCodeFn) {
@@ -91,20 +157,27 @@ public abstract class ExceptionParser {
 
   public void parse() {
     if (matches(e)) {
-      doParse();
+      parseMatched();
+    }
+  }
 
-      if (e.getPointerToViolation() != null) {
-        validateGroupTest(e.getPointerToViolation(), jsonObject, results, schema, queryContext);
-      }
+  /**
+   * Same as {@link #parse()} for an exception that {@link #matches(ValidationExceptionNode)}
+   * already accepted.
+   */
+  protected void parseMatched() {
+    doParse();
+
+    if (e.getPointerToViolation() != null) {
+      validateGroupTest(e.getPointerToViolation(), jsonObject, results, schemaMetadata, queryContext);
     }
   }
 
 
   public static void validateGroupTest(String jsonPointer, JSONObject jsonObject,
-      RDAPValidatorResults results, Schema schema, org.icann.rdapconformance.validator.QueryContext queryContext) {
-    SchemaNode tree = SchemaNode.create(null, schema);
-    Set<ValidationNode> validationNodes = tree.findValidationNodes(jsonPointer,
-        "validationName");
+      RDAPValidatorResults results, SchemaMetadata schemaMetadata,
+      org.icann.rdapconformance.validator.QueryContext queryContext) {
+    Set<ValidationNode> validationNodes = schemaMetadata.findValidationNodes(jsonPointer, "validationName");
     for (ValidationNode validationNode : validationNodes) {
       results.addGroupErrorWarning(validationNode.getValidationKey());
       if (validationNode.hasParentValidationCode()) {
@@ -133,4 +206,14 @@ public abstract class ExceptionParser {
     }
     return "#";
   }
+
+  @FunctionalInterface
+  interface ParserFactory {
+
+    ExceptionParser create(ValidationExceptionNode e, Schema schema, JSONObject jsonObject,
+        RDAPValidatorResults results, org.icann.rdapconformance.validator.QueryContext queryContext);
+  }
+
+  record ParserType(Set<String> keywords, ParserFactory factory) {
+  }
 }
@@ -30,10 +30,7 @@ public class Ipv6ValidationExceptionParser extends StringFormatExceptionParser<I
   }
 
   @Override
-  public void parse() {
-    if (!matches(e)) {
-      return;
-    }
+  protected void parseMatched() {
     String ipValue = jsonObject.query(e.getPointerToViolation()).toString();
 
     // First, determine if this is truly a syntax error using IPAddressString library
@@ -73,6 +70,6 @@ public class Ipv6ValidationExceptionParser extends StringFormatExceptionParser<I
 
     // For any other format validation failure, fall back to default schema validation behavior
     // This will call validateGroupTest() for cascade errors
-    super.parse();
+    super.parseMatched();
   }
 }
@@ -1,5 +1,7 @@
 package org.icann.rdapconformance.validator.jcard;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Pattern;
 import org.everit.json.schema.Schema;
@@ -8,33 +10,68 @@ import org.everit.json.schema.loader.SchemaLoader;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
+/**
+ * The schemas of the jCard categories defined in json-schema/jcard_categories.json.
+ *
+ * <p>The definitions are read and compiled once per process, the first time the class is used,
+ * and shared by every instance: compiled schemas are immutable and can validate concurrently.</p>
+ */
 public class JcardCategoriesSchemas {
 
-  private final JSONObject jsonSchema;
   private final static Pattern extensionPattern = Pattern.compile("x-[a-z0-9-]*");
+  private final static String EXTENSION_CATEGORY = "x-[a-z0-9-]*";
+  private final static Map<String, Schema> CATEGORY_SCHEMAS = compileAll();
+  private final static JcardCategoriesSchemas INSTANCE = new JcardCategoriesSchemas();
+
+  private final Map<String, Schema> categorySchemas;
 
   public JcardCategoriesSchemas() {
-    jsonSchema = new JSONObject(
-        new JSONTokener(
-            Objects.requireNonNull(
-                getClass().getClassLoader().getResourceAsStream("json-schema/jcard_categories"
-                    + ".json")))).getJSONObject("definitions");
+    categorySchemas = CATEGORY_SCHEMAS;
+  }
+
+  /**
+   * @return the process-wide instance
+   */
+  public static JcardCategoriesSchemas getInstance() {
+    return INSTANCE;
   }
 
   public boolean hasCategory(String category) {
-    return jsonSchema.has(category);
+    return categorySchemas.containsKey(category);
   }
 
+  /**
+   * @return the schema of the given category, extension categories sharing the x- schema
+   * @throws IllegalArgumentException if the category is not defined
+   */
   public Schema getCategory(String category) {
-    if (!jsonSchema.has(category) && extensionPattern.matcher(category).find()) {
-      category = "x-[a-z0-9-]*";
+    if (!categorySchemas.containsKey(category) && extensionPattern.matcher(category).find()) {
+      category = EXTENSION_CATEGORY;
+    }
+
+    Schema schema = categorySchemas.get(category);
+    if (schema == null) {
+      throw new IllegalArgumentException("Unknown jCard category: " + category);
     }
+    return schema;
+  }
+
+  private static Map<String, Schema> compileAll() {
+    JSONObject jsonSchema = new JSONObject(
+        new JSONTokener(
+            Objects.requireNonNull(
+                JcardCategoriesSchemas.class.getClassLoader().getResourceAsStream(
+                    "json-schema/jcard_categories.json")))).getJSONObject("definitions");
 
-    return SchemaLoader.builder()
-        .schemaClient(SchemaClient.classPathAwareClient())
-        .schemaJson(jsonSchema.getJSONObject(category))
-        .resolutionScope("classpath://json-schema/")
-        .draftV7Support()
-        .build().load().build();
+    Map<String, Schema> schemas = new HashMap<>();
+    for (String category : jsonSchema.keySet()) {
+      schemas.put(category, SchemaLoader.builder()
+          .schemaClient(SchemaClient.classPathAwareClient())
+          .schemaJson(jsonSchema.getJSONObject(category))
+          .resolutionScope("classpath://json-schema/")
+          .draftV7Support()
+          .build().load().build());
+    }
+    return Map.copyOf(schemas);
   }
 }
@@ -0,0 +1,211 @@
+package org.icann.rdapconformance.validator.schema;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.everit.json.schema.Schema;
+import org.json.JSONObject;
+
+/**
+ * Read-only information derived from a compiled {@link Schema}: its JSON form, its
+ * {@link SchemaNode} tree, the validation names it declares and its top level error codes.
+ *
+ * <p>Serializing a compiled schema back to JSON is expensive for the RDAP schemas, so the
+ * metadata is computed once per schema instance and shared by the schema validator and every
+ * exception parser working with that schema.</p>
+ *
+ * <p>The schema tree lookups are memoized as well. Validation nodes are indexed by the shape of
+ * the JSON pointer, i.e. the pointer with its array indices replaced by {@code *}, since the
+ * schema of an array item does not depend on its index.</p>
+ */
+public final class SchemaMetadata {
+
+  // Keyed by schema identity: Schema.equals/hashCode walk the whole schema
+  private static final Map<SchemaKey, SchemaMetadata> metadataCache = new ConcurrentHashMap<>(16, 0.75f, 1);
+  private static final int MAX_CACHE_SIZE = 50;
+  // Unknown members of a response add pointer shapes, so the validation node index is bounded
+  private static final int MAX_INDEX_SIZE = 1000;
+
+  private final Schema schema;
+  private final SchemaNode rootNode;
+  private final Map<String, Integer> errorCodes = new ConcurrentHashMap<>();
+  private final Map<String, Set<ValidationNode>> validationNodesByPointerShape = new ConcurrentHashMap<>();
+  private final Map<String, Integer> bottomMostErrorCodes = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> valuesByKey = new ConcurrentHashMap<>();
+  private volatile JSONObject schemaObject;
+
+  private SchemaMetadata(Schema schema) {
+    this.schema = Objects.requireNonNull(schema);
+    this.rootNode = SchemaNode.create(null, schema);
+  }
+
+  /**
+   * Returns the metadata of the given schema, computing it on first use.
+   *
+   * @param schema the compiled schema
+   * @return the shared metadata of this schema instance
+   */
+  public static SchemaMetadata of(Schema schema) {
+    SchemaKey key = new SchemaKey(Objects.requireNonNull(schema));
+    SchemaMetadata cached = metadataCache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    if (metadataCache.size() >= MAX_CACHE_SIZE) {
+      // Clear 20% of cache when full
+      metadataCache.keySet().stream()
+          .limit(MAX_CACHE_SIZE / 5)
+          .forEach(metadataCache::remove);
+    }
+    return metadataCache.computeIfAbsent(key, k -> new SchemaMetadata(schema));
+  }
+
+  /**
+   * Clears the metadata cache. Mainly for testing purposes.
+   */
+  public static void clearCache() {
+    metadataCache.clear();
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /**
+   * @return the root of the schema tree
+   */
+  public SchemaNode getRootNode() {
+    return rootNode;
+  }
+
+  /**
+   * @return the JSON form of the schema, which must not be modified
+   */
+  public JSONObject getSchemaObject() {
+    JSONObject result = schemaObject;
+    if (result == null) {
+      synchronized (this) {
+        result = schemaObject;
+        if (result == null) {
+          result = new JSONObject(schema.toString());
+          schemaObject = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return every value of the "validationName" keys found in the schema tree
+   */
+  public Set<String> getValidationNames() {
+    return findAllValuesOf("validationName");
+  }
+
+  /**
+   * Same as {@link SchemaNode#findAllValuesOf(String)} on the root node, computed once per key.
+   *
+   * @return an unmodifiable set of the values
+   */
+  public Set<String> findAllValuesOf(String key) {
+    Objects.requireNonNull(key);
+    return valuesByKey.computeIfAbsent(key,
+        k -> Collections.unmodifiableSet(rootNode.findAllValuesOf(k)));
+  }
+
+  /**
+   * Same as {@link SchemaNode#findValidationNodes(String, String)} on the root node, computed
+   * once per pointer shape and validation name.
+   *
+   * @return an unmodifiable set of the validation nodes
+   */
+  public Set<ValidationNode> findValidationNodes(String jsonPointer, String validationName) {
+    String key = toPointerShape(jsonPointer) + " " + validationName;
+    Set<ValidationNode> validationNodes = validationNodesByPointerShape.get(key);
+    if (validationNodes == null) {
+      if (validationNodesByPointerShape.size() >= MAX_INDEX_SIZE) {
+        // Clear 20% of the index when full
+        validationNodesByPointerShape.keySet().stream()
+            .limit(MAX_INDEX_SIZE / 5)
+            .forEach(validationNodesByPointerShape::remove);
+      }
+      validationNodes = Collections.unmodifiableSet(rootNode.findValidationNodes(jsonPointer, validationName));
+      validationNodesByPointerShape.putIfAbsent(key, validationNodes);
+    }
+    return validationNodes;
+  }
+
+  /**
+   * Same as {@link SchemaNode#searchBottomMostErrorCode(String, String)} on the root node. Found
+   * error codes are memoized, failed searches are not.
+   *
+   * @throws IllegalArgumentException if the error key is not found around the search key
+   */
+  public int searchBottomMostErrorCode(String searchKey, String errorKey) {
+    String key = searchKey + " " + errorKey;
+    Integer errorCode = bottomMostErrorCodes.get(key);
+    if (errorCode == null) {
+      errorCode = rootNode.searchBottomMostErrorCode(searchKey, errorKey);
+      bottomMostErrorCodes.put(key, errorCode);
+    }
+    return errorCode;
+  }
+
+  /**
+   * Replaces the array indices of the given JSON pointer by {@code *}.
+   */
+  static String toPointerShape(String jsonPointer) {
+    String[] elements = jsonPointer.split("/", -1);
+    StringBuilder shape = new StringBuilder(jsonPointer.length());
+    for (int i = 0; i < elements.length; i++) {
+      if (i > 0) {
+        shape.append('/');
+      }
+      shape.append(i > 0 && isArrayIndex(elements[i]) ? "*" : elements[i]);
+    }
+    return shape.toString();
+  }
+
+  // Same test as SchemaNode.findAssociatedSchema, which skips the elements that parse as integers
+  private static boolean isArrayIndex(String element) {
+    try {
+      Integer.parseInt(element);
+      return true;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Gets an error code declared at the top level of the schema, e.g. "structureInvalid".
+   *
+   * @param errorKey the error key
+   * @return the error code
+   * @throws org.json.JSONException if the schema does not declare this key
+   * @throws ClassCastException if the key is not an error code
+   */
+  public int getErrorCode(String errorKey) {
+    Integer errorCode = errorCodes.get(errorKey);
+    if (errorCode == null) {
+      errorCode = (int) getSchemaObject().get(errorKey);
+      errorCodes.put(errorKey, errorCode);
+    }
+    return errorCode;
+  }
+
+  private record SchemaKey(Schema schema) {
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof SchemaKey other && other.schema == schema;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(schema);
+    }
+  }
+}
@@ -22,6 +22,7 @@ import org.icann.rdapconformance.validator.workflow.rdap.RDAPQueryType;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResult;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResults;
 import org.icann.rdapconformance.validator.workflow.rdap.http.RDAPHttpRequest;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPResponseDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -85,7 +86,7 @@ public class DomainCaseFoldingValidation extends ProfileValidation {
 
       // Try to parse as JSON
       JsonNode httpResponseJson = mapper.readTree(httpResponse.body());
-      JsonNode httpsResponseJson = mapper.readTree(rdapResponse.body());
+      JsonNode httpsResponseJson = RDAPResponseDocument.readTree(rdapResponse.body());
 
       if (jsonComparator.compare(httpResponseJson, httpsResponseJson) != ZERO) {
         results.add(RDAPValidationResult.builder()
@@ -0,0 +1,13 @@
+package org.icann.rdapconformance.validator.workflow;
+
+/**
+ * The outcome of {@link FileSystem#downloadIfModified(java.net.URI, String, String, String)}.
+ *
+ * @param modified     false if the server answered that the file has not changed, in which case
+ *                     the local file was left as is
+ * @param etag         the ETag of the file, null if unknown
+ * @param lastModified the Last-Modified date of the file, null if unknown
+ */
+public record DownloadResult(boolean modified, String etag, String lastModified) {
+
+}
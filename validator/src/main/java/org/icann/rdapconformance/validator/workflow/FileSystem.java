@@ -16,5 +16,23 @@ public interface FileSystem {
 
   void download(URI uri, String filePath) throws IOException;
 
+  /**
+   * Downloads the file at the given URI unless the server reports it has not changed since the
+   * download that returned the given validators.
+   *
+   * <p>The default implementation always downloads the file.</p>
+   *
+   * @param uri          the URI of the file
+   * @param filePath     where the file is stored
+   * @param etag         the ETag of the stored file, or null
+   * @param lastModified the Last-Modified date of the stored file, or null
+   * @return whether the file was downloaded, and its new validators
+   */
+  default DownloadResult downloadIfModified(URI uri, String filePath, String etag, String lastModified)
+      throws IOException {
+    download(uri, filePath);
+    return new DownloadResult(true, null, null);
+  }
+
   InputStream uriToStream(URI uri) throws IOException;
 }
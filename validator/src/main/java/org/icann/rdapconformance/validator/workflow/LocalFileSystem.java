@@ -1,12 +1,21 @@
 package org.icann.rdapconformance.validator.workflow;
 
 import java.io.*;
+import java.net.HttpURLConnection;
 import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.stream.Collectors;
 
 public class LocalFileSystem implements FileSystem {
 
+  // A dataset server that stops responding must not hang the dataset download
+  private static final int DOWNLOAD_CONNECT_TIMEOUT_MILLIS = 30_000;
+  private static final int DOWNLOAD_READ_TIMEOUT_MILLIS = 60_000;
+
   @Override
   public void write(String filepath, String data) throws IOException {
     try (FileWriter fileWriter = new FileWriter(filepath)) {
@@ -50,12 +59,71 @@ public class LocalFileSystem implements FileSystem {
 
   @Override
   public void download(URI uri, String filePath) throws IOException {
-    try (InputStream is = uri.toURL().openStream();
+    try (InputStream is = openConnection(uri).getInputStream();
         OutputStream fis = new FileOutputStream(filePath, false)) {
       is.transferTo(fis);
     }
   }
 
+  @Override
+  public DownloadResult downloadIfModified(URI uri, String filePath, String etag, String lastModified)
+      throws IOException {
+    URLConnection connection = openConnection(uri);
+    if (!(connection instanceof HttpURLConnection httpConnection)) {
+      download(uri, filePath);
+      return new DownloadResult(true, null, null);
+    }
+
+    try {
+      if (exists(filePath)) {
+        if (etag != null) {
+          httpConnection.setRequestProperty("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+          httpConnection.setRequestProperty("If-Modified-Since", lastModified);
+        }
+      }
+
+      int status = httpConnection.getResponseCode();
+      String newEtag = httpConnection.getHeaderField("ETag");
+      String newLastModified = httpConnection.getHeaderField("Last-Modified");
+      if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+        return new DownloadResult(false,
+            newEtag != null ? newEtag : etag,
+            newLastModified != null ? newLastModified : lastModified);
+      }
+      if (status < 200 || status >= 300) {
+        throw new IOException("Unexpected HTTP status " + status + " when downloading " + uri);
+      }
+
+      // Readers of the previous file never see a partially written one
+      Path target = Path.of(filePath).toAbsolutePath();
+      Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+      try {
+        try (InputStream is = httpConnection.getInputStream()) {
+          Files.copy(is, temporary, StandardCopyOption.REPLACE_EXISTING);
+        }
+        try {
+          Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+      return new DownloadResult(true, newEtag, newLastModified);
+    } finally {
+      httpConnection.disconnect();
+    }
+  }
+
+  private static URLConnection openConnection(URI uri) throws IOException {
+    URLConnection connection = uri.toURL().openConnection();
+    connection.setConnectTimeout(DOWNLOAD_CONNECT_TIMEOUT_MILLIS);
+    connection.setReadTimeout(DOWNLOAD_READ_TIMEOUT_MILLIS);
+    return connection;
+  }
+
   @Override
   public InputStream uriToStream(URI uri) throws IOException {
     if (!uri.isAbsolute()) {
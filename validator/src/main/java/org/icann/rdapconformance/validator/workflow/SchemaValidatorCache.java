@@ -3,8 +3,10 @@ package org.icann.rdapconformance.validator.workflow;
 import java.util.concurrent.ConcurrentHashMap;
 import org.everit.json.schema.Schema;
 import org.icann.rdapconformance.validator.SchemaValidator;
+import org.icann.rdapconformance.validator.schema.SchemaMetadata;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPDatasetService;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResults;
+import org.icann.rdapconformance.validator.workflow.rdap.SharedDatasetService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,9 +68,12 @@ public final class SchemaValidatorCache {
 
       // Create new schema
       logger.debug("Creating new Schema for schema: {}", schemaName);
-      return SchemaValidator.getSchema(schemaName, "json-schema/",
-                                      SchemaValidatorCache.class.getClassLoader(),
-                                      datasetService);
+      Schema schema = SchemaValidator.getSchema(schemaName, "json-schema/",
+                                               SchemaValidatorCache.class.getClassLoader(),
+                                               datasetService);
+      // Compute the metadata shared by the validators and exception parsers of this schema
+      SchemaMetadata.of(schema).getValidationNames();
+      return schema;
     });
 
     return createValidatorWithSchema(newSchema, results, queryContext);
@@ -86,6 +91,10 @@ public final class SchemaValidatorCache {
   private static String createCacheKey(String schemaName, RDAPDatasetService datasetService) {
     // Create a cache key that includes schema name and dataset service hashcode
     // This ensures that different dataset configurations don't share schemas
+    if (datasetService instanceof SharedDatasetService.Lease lease) {
+      // Each validation gets its own lease on the same shared datasets
+      datasetService = lease.getDatasets();
+    }
     return schemaName + "_" + System.identityHashCode(datasetService);
   }
   
@@ -104,6 +113,7 @@ public final class SchemaValidatorCache {
    */
   public static void clearCache() {
     schemaCache.clear();
+    SchemaMetadata.clearCache();
     logger.debug("Schema cache cleared");
   }
   
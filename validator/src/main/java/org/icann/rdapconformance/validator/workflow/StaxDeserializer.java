@@ -0,0 +1,60 @@
+package org.icann.rdapconformance.validator.workflow;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.StreamingXmlDatasetModel;
+
+/**
+ * Reads XML dataset files with a streaming parser, for the models that support it.
+ *
+ * @see StreamingXmlDatasetModel
+ */
+public class StaxDeserializer<T> implements Deserializer<T> {
+
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    private final Class<T> type;
+
+    public StaxDeserializer(Class<T> type) {
+        if (!StreamingXmlDatasetModel.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException(type.getSimpleName() + " cannot be read with a streaming parser");
+        }
+        this.type = type;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
+    }
+
+    @Override
+    public T deserialize(File file) throws IOException {
+        T instance;
+        try {
+            instance = type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create an instance of " + type.getSimpleName(), e);
+        }
+
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(is);
+            try {
+                ((StreamingXmlDatasetModel) instance).read(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot read " + file, e);
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,106 @@
+package org.icann.rdapconformance.validator.workflow.profile;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.icann.rdapconformance.validator.QueryContext;
+
+/**
+ * A profile validation whose running time is dominated by network I/O (HTTP, TLS or DNS).
+ *
+ * <p>The wrapped validation is described by a factory rather than an instance, so that
+ * {@link RDAPProfile} can create it against a context of its own and run it next to the
+ * other network-bound validations of the round. When run inline through {@link #validate()}
+ * the validation is created against the round's context and behaves exactly as if it had
+ * been added to the profile directly.</p>
+ */
+public final class NetworkBoundValidation extends ProfileValidation {
+
+  private final QueryContext queryContext;
+  private final Function<QueryContext, ProfileValidation> factory;
+  private ProfileValidation inlineValidation;
+
+  public NetworkBoundValidation(QueryContext queryContext,
+      Function<QueryContext, ProfileValidation> factory) {
+    super(queryContext.getResults());
+    this.queryContext = queryContext;
+    this.factory = factory;
+  }
+
+  @Override
+  public String getGroupName() {
+    return inlineValidation().getGroupName();
+  }
+
+  @Override
+  public boolean validate() {
+    return inlineValidation().validate();
+  }
+
+  @Override
+  protected boolean doValidate() throws Exception {
+    return inlineValidation().doValidate();
+  }
+
+  @Override
+  public boolean doLaunch() {
+    return inlineValidation().doLaunch();
+  }
+
+  /**
+   * Starts the validation on a forked context.
+   *
+   * <p>The validation is created on the calling thread and validated on the executor.
+   * The returned launch must be completed with {@link Launch#complete()} to merge its
+   * results back into the round's context.</p>
+   *
+   * @param executor the executor running the validation
+   * @return the pending validation
+   */
+  Launch launch(ExecutorService executor) {
+    QueryContext forkedContext = queryContext.forkForValidation();
+    ProfileValidation validation = factory.apply(forkedContext);
+    return new Launch(validation, forkedContext, executor.submit(validation::validate));
+  }
+
+  private ProfileValidation inlineValidation() {
+    if (inlineValidation == null) {
+      inlineValidation = factory.apply(queryContext);
+    }
+    return inlineValidation;
+  }
+
+  /**
+   * A network-bound validation running on its own forked context.
+   */
+  final class Launch {
+
+    private final ProfileValidation validation;
+    private final QueryContext forkedContext;
+    private final Future<Boolean> future;
+
+    private Launch(ProfileValidation validation, QueryContext forkedContext, Future<Boolean> future) {
+      this.validation = validation;
+      this.forkedContext = forkedContext;
+      this.future = future;
+    }
+
+    String getGroupName() {
+      return validation.getGroupName();
+    }
+
+    /**
+     * Waits for the validation to finish and merges its results into the round's context.
+     *
+     * @return the outcome of the validation
+     * @throws InterruptedException if interrupted while waiting
+     * @throws ExecutionException if the validation could not be run to completion
+     */
+    boolean complete() throws InterruptedException, ExecutionException {
+      boolean outcome = future.get();
+      queryContext.mergeRoundResults(forkedContext);
+      return outcome;
+    }
+  }
+}
@@ -3,33 +3,50 @@ package org.icann.rdapconformance.validator.workflow.profile;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.icann.rdapconformance.validator.JpathUtil;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPResponseDocument;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResults;
+import org.icann.rdapconformance.validator.workflow.rdap.ResponseIndex;
 import org.json.JSONObject;
 
 public abstract class ProfileJsonValidation extends ProfileValidation {
 
+  protected final RDAPResponseDocument document;
   protected final JSONObject jsonObject;
   private final JpathUtil jpathUtil;
 
   public ProfileJsonValidation(String rdapResponse, RDAPValidatorResults results) {
     super(results);
-    // Use cached JSON parsing to avoid repeated parsing of the same RDAP response
-    jsonObject = org.icann.rdapconformance.validator.workflow.JsonCacheUtil.getCachedJsonObject(rdapResponse);
+    // The response is parsed once and shared by every validation of the same response
+    document = RDAPResponseDocument.of(rdapResponse);
+    jsonObject = document.getJsonObject();
     jpathUtil = new JpathUtil(); // ready to dependency injection if needed sometimes
   }
 
   protected boolean exists(String jpath) {
-    return jpathUtil.exists(jsonObject, jpath);
+    return !getPointerFromJPath(jpath).isEmpty();
   }
 
   protected Set<String> getPointerFromJPath(String jpath) {
-    return getPointerFromJPath(jsonObject, jpath);
+    // Entity role filters and redacted entries are served by the response index
+    return getIndex().find(jpath)
+        .orElseGet(() -> jpathUtil.getPointerFromJPath(document, jpath));
   }
 
   protected Set<String> getPointerFromJPath(JSONObject entity, String jpath) {
+    if (entity == jsonObject) {
+      return getPointerFromJPath(jpath);
+    }
     return jpathUtil.getPointerFromJPath(entity, jpath);
   }
 
+  protected ResponseIndex getIndex() {
+    return document.getIndex();
+  }
+
+  protected Set<String> getNoticesPointers() {
+    return getIndex().getNoticesPointers();
+  }
+
   public String getResultValue(String jsonPointer) {
     return jsonPointer + ":" + jsonObject.query(jsonPointer);
   }
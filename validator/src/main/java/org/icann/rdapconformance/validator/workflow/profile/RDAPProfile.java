@@ -1,6 +1,11 @@
 package org.icann.rdapconformance.validator.workflow.profile;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,12 +13,40 @@ public class RDAPProfile {
 
   private static final Logger logger = LoggerFactory.getLogger(RDAPProfile.class);
   private final List<ProfileValidation> validations;
+  private final ExecutionMode executionMode;
+
+  /**
+   * How the validations of a profile are executed.
+   */
+  public enum ExecutionMode {
+    /** Every validation runs on the calling thread, one after the other. */
+    SEQUENTIAL,
+    /**
+     * {@link NetworkBoundValidation}s are started up front on virtual threads, each against its
+     * own forked context; the other validations keep running on the calling thread. Results
+     * are merged back in list order, so the output matches {@link #SEQUENTIAL}.
+     */
+    CONCURRENT_NETWORK
+  }
 
   public RDAPProfile(List<ProfileValidation> validations) {
+    this(validations, ExecutionMode.SEQUENTIAL);
+  }
+
+  public RDAPProfile(List<ProfileValidation> validations, ExecutionMode executionMode) {
     this.validations = validations;
+    this.executionMode = executionMode;
   }
 
   public boolean validate() {
+    if (executionMode == ExecutionMode.SEQUENTIAL
+        || validations.stream().noneMatch(NetworkBoundValidation.class::isInstance)) {
+      return validateSequentially();
+    }
+    return validateConcurrently();
+  }
+
+  private boolean validateSequentially() {
     boolean result = true;
 
     for (ProfileValidation validation : validations) {
@@ -23,4 +56,45 @@ public class RDAPProfile {
 
     return result;
   }
+
+  private boolean validateConcurrently() {
+    boolean result = true;
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      // Launch every network-bound validation first so their I/O overlaps
+      Map<ProfileValidation, NetworkBoundValidation.Launch> launches = new IdentityHashMap<>();
+      for (ProfileValidation validation : validations) {
+        if (validation instanceof NetworkBoundValidation networkBoundValidation) {
+          launches.put(validation, networkBoundValidation.launch(executor));
+        }
+      }
+
+      for (ProfileValidation validation : validations) {
+        NetworkBoundValidation.Launch launch = launches.get(validation);
+        if (launch == null) {
+          logger.info("Validating: {}", validation.getGroupName());
+          result &= validation.validate();
+          continue;
+        }
+        logger.info("Validating: {}", launch.getGroupName());
+        result &= complete(launch);
+      }
+    }
+
+    return result;
+  }
+
+  private boolean complete(NetworkBoundValidation.Launch launch) {
+    try {
+      return launch.complete();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for " + launch.getGroupName(), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(launch.getGroupName() + " failed", e.getCause());
+    }
+  }
 }
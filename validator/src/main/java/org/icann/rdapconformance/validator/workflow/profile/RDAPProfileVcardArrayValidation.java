@@ -20,8 +20,8 @@ public abstract class RDAPProfileVcardArrayValidation extends ProfileJsonValidat
 
   @Override
   protected boolean doValidate() {
-    Set<String> pointersFromJPath = getPointerFromJPath("$..entities..vcardArray");
-    JcardCategoriesSchemas jcardCategoriesSchemas = new JcardCategoriesSchemas();
+    Set<String> pointersFromJPath = getIndex().getEntityVcardArrayPointers();
+    JcardCategoriesSchemas jcardCategoriesSchemas = JcardCategoriesSchemas.getInstance();
     boolean isValid = true;
     for (String jsonPointer : pointersFromJPath) {
       JSONArray vcardArray = (JSONArray) jsonObject.query(jsonPointer);
@@ -1,9 +1,7 @@
 package org.icann.rdapconformance.validator.workflow.profile.rdap_response.domain;
 
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.icann.rdapconformance.validator.QueryContext;
-import org.icann.rdapconformance.validator.schema.JsonPointers;
 import org.icann.rdapconformance.validator.workflow.profile.ProfileJsonValidation;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPQueryType;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResult;
@@ -37,12 +35,10 @@ public abstract class NoticesValidation extends ProfileJsonValidation {
         "$..notices[?(@.title == '%s' && @.description contains '%s')].links[?(@.href == '%s')]",
         title, description, href);
     if (!exists(path)) {
-      Set<String> noticesPaths = getPointerFromJPath("$..notices");
+      Set<String> noticesPaths = getNoticesPointers();
       RDAPValidationResult.Builder builder = RDAPValidationResult.builder()
           .code(code)
-          .value(getResultValue(noticesPaths.stream()
-              .map(JsonPointers::fromJpath)
-              .collect(Collectors.toSet())))
+          .value(getResultValue(noticesPaths))
           .message(String.format("The notice for %s was not found.", href));
 
       results.add(builder.build(queryContext));
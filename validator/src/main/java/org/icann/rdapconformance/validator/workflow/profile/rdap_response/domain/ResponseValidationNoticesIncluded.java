@@ -25,7 +25,7 @@ public final class ResponseValidationNoticesIncluded extends ProfileJsonValidati
 
   @Override
   protected boolean doValidate() {
-    if (getPointerFromJPath("$..notices").isEmpty()) {
+    if (getNoticesPointers().isEmpty()) {
       RDAPValidationResult.Builder builder = RDAPValidationResult.builder()
           .code(-46500)
           .value(jsonObject.toString())
@@ -90,7 +90,7 @@ public class ResponseValidation2Dot7Dot1DotXAndRelated2 extends
 
   private boolean validateVcardProperty(String jsonPointer, JSONObject entity, String property) {
     Set<String> propertyPointers = getVcardPropertyPointers(entity, property);
-    JcardCategoriesSchemas jcardCategoriesSchemas = new JcardCategoriesSchemas();
+    JcardCategoriesSchemas jcardCategoriesSchemas = JcardCategoriesSchemas.getInstance();
     boolean isValid = true;
     if (propertyPointers.isEmpty()) {
       isValid &= log52101(jsonPointer);
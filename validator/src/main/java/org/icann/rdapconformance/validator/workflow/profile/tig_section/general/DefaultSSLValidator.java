@@ -52,16 +52,23 @@ public class DefaultSSLValidator implements SSLValidator {
     
     @Override
     public SSLValidationResult validateSSL(String hostname, int port) {
+        // Resolve the hostname to an IP address
+        InetAddress ipAddress = resolveHostname(hostname);
+        if (ipAddress == null) {
+            return SSLValidationResult.failure(
+                "Cannot resolve correct v4 or v6 host address for " + hostname, null);
+        }
+        return probeProtocols(hostname, ipAddress, port);
+    }
+
+    /**
+     * Connects to the server at the given address and returns the protocols enabled for the
+     * handshake.
+     */
+    static SSLValidationResult probeProtocols(String hostname, InetAddress ipAddress, int port) {
         try {
             SSLContext sslContext = SSLContext.getDefault();
             
-            // Resolve the hostname to an IP address
-            InetAddress ipAddress = resolveHostname(hostname);
-            if (ipAddress == null) {
-                return SSLValidationResult.failure(
-                    "Cannot resolve correct v4 or v6 host address for " + hostname, null);
-            }
-            
             // Create socket connection and get enabled protocols
             List<String> enabledProtocols = getEnabledProtocols(sslContext, hostname, ipAddress, port);
             
@@ -90,7 +97,7 @@ public class DefaultSSLValidator implements SSLValidator {
         }
     }
     
-    private List<String> getEnabledProtocols(SSLContext sslContext, String hostname, 
+    private static List<String> getEnabledProtocols(SSLContext sslContext, String hostname,
                                            InetAddress ipAddress, int port) throws IOException {
         try (Socket socket = new Socket()) {
             socket.connect(new InetSocketAddress(ipAddress, port), TIMEOUT_IN_5SECS);
@@ -108,20 +115,37 @@ public class DefaultSSLValidator implements SSLValidator {
     
     @Override
     public CipherValidationResult validateTLS12CipherSuites(String hostname, int port) {
+        InetAddress ipAddress = resolveHostname(hostname);
+        if (ipAddress == null) {
+            return CipherValidationResult.failure(
+                "Cannot resolve correct v4 or v6 host address for " + hostname, null);
+        }
+        return probeTLS12Cipher(hostname, ipAddress, port);
+    }
+
+    /**
+     * Connects to the server at the given address with TLS 1.2 only and returns the negotiated
+     * cipher suite.
+     */
+    static CipherValidationResult probeTLS12Cipher(String hostname, InetAddress ipAddress, int port) {
         try {
             SSLContext sslContext = SSLContext.getDefault();
             
-            try (SSLSocket sslSocket = (SSLSocket) sslContext.getSocketFactory()
-                    .createSocket(hostname, port)) {
-                sslSocket.setEnabledProtocols(new String[]{"TLSv1.2"});
-                sslSocket.startHandshake();
-                SSLSession sslSession = sslSocket.getSession();
-                
-                String protocol = sslSession.getProtocol();
-                String cipher = sslSession.getCipherSuite();
-                logger.debug("cipher for protocol {} is {}", protocol, cipher);
-                
-                return CipherValidationResult.success(protocol, cipher);
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(ipAddress, port), TIMEOUT_IN_5SECS);
+
+                try (SSLSocket sslSocket = (SSLSocket) sslContext.getSocketFactory()
+                        .createSocket(socket, hostname, port, true)) {
+                    sslSocket.setEnabledProtocols(new String[]{"TLSv1.2"});
+                    sslSocket.startHandshake();
+                    SSLSession sslSession = sslSocket.getSession();
+
+                    String protocol = sslSession.getProtocol();
+                    String cipher = sslSession.getCipherSuite();
+                    logger.debug("cipher for protocol {} is {}", protocol, cipher);
+
+                    return CipherValidationResult.success(protocol, cipher);
+                }
             }
         } catch (NoSuchAlgorithmException e) {
             logger.info("Cannot create SSL context for TLS 1.2 cipher validation", e);
@@ -131,4 +155,4 @@ public class DefaultSSLValidator implements SSLValidator {
             return CipherValidationResult.failure("Connection error during TLS 1.2 cipher validation", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -18,6 +18,7 @@ import org.icann.rdapconformance.validator.QueryContext;
 import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
 import org.icann.rdapconformance.validator.workflow.profile.ProfileValidation;
 import org.icann.rdapconformance.validator.workflow.rdap.http.RDAPHttpRequest;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPResponseDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,7 +58,7 @@ public final class TigValidation1Dot2 extends ProfileValidation {
         // the two false items are: it is not the main connection and do not record an error if the http connection fails - that's a good thing that it fails!
         HttpResponse<String> httpResponse = RDAPHttpRequest.makeRequest(qctx, uri, config.getTimeout(), GET, false, false);
         JsonNode httpResponseJson = mapper.readTree(httpResponse.body());
-        JsonNode httpsResponseJson = mapper.readTree(rdapResponse.body());
+        JsonNode httpsResponseJson = RDAPResponseDocument.readTree(rdapResponse.body());
         if (!httpResponse.uri().getScheme().equals(HTTPS) // if redirect to https, do not validate
             && jsonComparator.compare(httpResponseJson,
             httpsResponseJson) == 0) {
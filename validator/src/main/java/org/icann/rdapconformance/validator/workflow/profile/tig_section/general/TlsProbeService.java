@@ -0,0 +1,145 @@
+package org.icann.rdapconformance.validator.workflow.profile.tig_section.general;
+
+import java.net.InetAddress;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.icann.rdapconformance.validator.DNSCacheResolver;
+import org.icann.rdapconformance.validator.NetworkProtocol;
+import org.icann.rdapconformance.validator.workflow.profile.tig_section.general.SSLValidator.CipherValidationResult;
+import org.icann.rdapconformance.validator.workflow.profile.tig_section.general.SSLValidator.SSLValidationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TLS probes of the RDAP servers, shared by the rounds of a validation.
+ *
+ * <p>The enabled protocols and the TLS 1.2 cipher suite of a server are probed once per host,
+ * resolved IP address and port, and the result is reused by every round connecting to the same
+ * address. Both probes of an address run concurrently.</p>
+ *
+ * @see DefaultSSLValidator
+ */
+public class TlsProbeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TlsProbeService.class);
+
+    private final DNSCacheResolver dnsResolver;
+    private final Prober prober;
+    private final Map<ProbeKey, CompletableFuture<TlsProbe>> probes = new ConcurrentHashMap<>();
+
+    /**
+     * @param dnsResolver the DNS cache of the validation, resolving the probed hosts
+     */
+    public TlsProbeService(DNSCacheResolver dnsResolver) {
+        this(dnsResolver, new Prober() {
+            @Override
+            public SSLValidationResult probeProtocols(String hostname, InetAddress ipAddress, int port) {
+                return DefaultSSLValidator.probeProtocols(hostname, ipAddress, port);
+            }
+
+            @Override
+            public CipherValidationResult probeTLS12Cipher(String hostname, InetAddress ipAddress, int port) {
+                return DefaultSSLValidator.probeTLS12Cipher(hostname, ipAddress, port);
+            }
+        });
+    }
+
+    // Constructor with a given prober for testing
+    TlsProbeService(DNSCacheResolver dnsResolver, Prober prober) {
+        this.dnsResolver = dnsResolver;
+        this.prober = prober;
+    }
+
+    /**
+     * Returns an SSL validator connecting over the given protocol, using the probes of this
+     * service.
+     *
+     * @param networkProtocol the protocol of the resolved addresses to connect to
+     * @return the SSL validator
+     */
+    public SSLValidator forProtocol(NetworkProtocol networkProtocol) {
+        return new SSLValidator() {
+            @Override
+            public SSLValidationResult validateSSL(String hostname, int port) {
+                InetAddress ipAddress = resolve(networkProtocol, hostname);
+                if (ipAddress == null) {
+                    return SSLValidationResult.failure(
+                        "Cannot resolve correct v4 or v6 host address for " + hostname, null);
+                }
+                return probe(hostname, ipAddress, port).protocols();
+            }
+
+            @Override
+            public CipherValidationResult validateTLS12CipherSuites(String hostname, int port) {
+                InetAddress ipAddress = resolve(networkProtocol, hostname);
+                if (ipAddress == null) {
+                    return CipherValidationResult.failure(
+                        "Cannot resolve correct v4 or v6 host address for " + hostname, null);
+                }
+                return probe(hostname, ipAddress, port).tls12Cipher();
+            }
+        };
+    }
+
+    private InetAddress resolve(NetworkProtocol networkProtocol, String hostname) {
+        InetAddress ipAddress = networkProtocol == NetworkProtocol.IPv6
+            ? dnsResolver.getFirstV6Address(hostname)
+            : dnsResolver.getFirstV4Address(hostname);
+        logger.info("Using {} address {} for host {}", networkProtocol, ipAddress, hostname);
+        return ipAddress;
+    }
+
+    private TlsProbe probe(String hostname, InetAddress ipAddress, int port) {
+        ProbeKey key = new ProbeKey(hostname.toLowerCase(Locale.ROOT), ipAddress, port);
+        CompletableFuture<TlsProbe> pending = new CompletableFuture<>();
+        CompletableFuture<TlsProbe> probe = probes.putIfAbsent(key, pending);
+        if (probe == null) {
+            probe = pending;
+            pending.complete(runProbes(hostname, ipAddress, port));
+        } else {
+            logger.debug("Reusing the TLS probe of {} ({}) port {}", hostname, ipAddress.getHostAddress(), port);
+        }
+        return probe.join();
+    }
+
+    private TlsProbe runProbes(String hostname, InetAddress ipAddress, int port) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var protocols = executor.submit(() -> prober.probeProtocols(hostname, ipAddress, port));
+            var tls12Cipher = executor.submit(() -> prober.probeTLS12Cipher(hostname, ipAddress, port));
+            return new TlsProbe(protocols.get(), tls12Cipher.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed("TLS probe interrupted", e);
+        } catch (ExecutionException e) {
+            logger.debug("Error during TLS probe of {}", hostname, e.getCause());
+            return failed("Error during TLS probe", e);
+        }
+    }
+
+    private static TlsProbe failed(String errorMessage, Exception e) {
+        return new TlsProbe(SSLValidationResult.failure(errorMessage, e), CipherValidationResult.failure(errorMessage, e));
+    }
+
+    /**
+     * The TLS handshakes with a server at a resolved IP address.
+     */
+    interface Prober {
+
+        SSLValidationResult probeProtocols(String hostname, InetAddress ipAddress, int port);
+
+        CipherValidationResult probeTLS12Cipher(String hostname, InetAddress ipAddress, int port);
+    }
+
+    private record ProbeKey(String hostname, InetAddress ipAddress, int port) {
+
+    }
+
+    private record TlsProbe(SSLValidationResult protocols, CipherValidationResult tls12Cipher) {
+
+    }
+}
@@ -0,0 +1,135 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.icann.rdapconformance.validator.DNSCacheResolver;
+import org.icann.rdapconformance.validator.QueryContext;
+import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.BootstrapDomainNameSpace;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The host names a validation is expected to contact once the first response is received, to be
+ * resolved up front by {@link org.icann.rdapconformance.validator.DNSCacheResolver#prefetch} while
+ * the response is validated, so that the network validations do not wait for DNS.
+ */
+public final class DNSPrefetch {
+
+  private static final Logger logger = LoggerFactory.getLogger(DNSPrefetch.class);
+
+  private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("dns-prefetch-", 1).factory());
+
+  private DNSPrefetch() {
+  }
+
+  /**
+   * Starts resolving the host names of {@link #hostsFor} and {@link #registryHostsFor} without
+   * waiting for the answers. The registries of the TLD are looked up on the prefetch thread, so
+   * that a dataset not loaded yet does not delay the validation.
+   *
+   * @param queryContext the query context, with the DNS cache to fill and the response document
+   * @param responseUri  the URI of the first response, after redirects, or null if none
+   * @param redirects    the URIs of the redirects followed by the first query
+   * @return a future completed once all the host names are resolved
+   */
+  public static CompletableFuture<Void> start(QueryContext queryContext, URI responseUri, List<URI> redirects) {
+    DNSCacheResolver dnsResolver = queryContext.getDnsResolver();
+    Set<String> hosts = hostsFor(queryContext.getConfig(), responseUri, redirects);
+    logger.debug("Prefetching the addresses of {}", hosts);
+    CompletableFuture<Void> known = dnsResolver.prefetch(hosts);
+
+    RDAPValidatorConfiguration config = queryContext.getConfig();
+    RDAPResponseDocument document = queryContext.getResponseDocument();
+    if (!config.isGtldRegistrar() || !config.useRdapProfileFeb2024()
+        || queryContext.getQueryType() != RDAPQueryType.DOMAIN || document == null) {
+      return known;
+    }
+    RDAPDatasetService datasetService = queryContext.getDatasetService();
+    CompletableFuture<Void> registries = CompletableFuture
+        .supplyAsync(() -> registryHostsFor(document, datasetService), EXECUTOR)
+        .thenCompose(registryHosts -> {
+          logger.debug("Prefetching the addresses of {}", registryHosts);
+          return dnsResolver.prefetch(registryHosts);
+        });
+    return CompletableFuture.allOf(known, registries);
+  }
+
+  /**
+   * @param config      the validator configuration
+   * @param responseUri the URI of the first response, after redirects, or null if none
+   * @param redirects   the URIs of the redirects followed by the first query
+   * @return the host names the validation is expected to contact
+   */
+  static Set<String> hostsFor(RDAPValidatorConfiguration config, URI responseUri, List<URI> redirects) {
+    Set<String> hosts = new LinkedHashSet<>();
+    // The target and the redirects, queried again by the other rounds and additional queries
+    addHost(hosts, config.getUri());
+    for (URI redirect : redirects) {
+      addHost(hosts, redirect);
+    }
+    // Checked by TIG 1.8, and queried over HTTP by TIG 1.2
+    addHost(hosts, responseUri);
+    return hosts;
+  }
+
+  /**
+   * Returns the hosts of the registries of the TLD of a domain, queried by a registrar validation
+   * to check whether the entities of the domain are in a thick registry.
+   *
+   * @param document       the domain response
+   * @param datasetService the datasets, for the registries of the TLD
+   * @return the host names of the registries, empty if the TLD is unknown
+   */
+  static Set<String> registryHostsFor(RDAPResponseDocument document, RDAPDatasetService datasetService) {
+    Set<String> hosts = new LinkedHashSet<>();
+    String tld = getTld(document);
+    Set<String> registryUrls = tld != null
+        ? datasetService.get(BootstrapDomainNameSpace.class).getUrlsForTld(tld)
+        : null;
+    if (registryUrls != null) {
+      for (String registryUrl : registryUrls) {
+        try {
+          addHost(hosts, URI.create(registryUrl));
+        } catch (IllegalArgumentException e) {
+          logger.debug("Invalid registry URL {} for TLD {}", registryUrl, tld);
+        }
+      }
+    }
+    return hosts;
+  }
+
+  private static void addHost(Set<String> hosts, URI uri) {
+    if (uri != null && uri.getHost() != null && !uri.getHost().isEmpty()) {
+      hosts.add(uri.getHost().toLowerCase(Locale.ROOT));
+    }
+  }
+
+  private static String getTld(RDAPResponseDocument document) {
+    String domainName;
+    try {
+      JSONObject domain = document.getJsonObject();
+      domainName = domain.optString("ldhName", domain.optString("unicodeName", null));
+    } catch (RuntimeException e) {
+      // Not a JSON object, reported by the schema validation
+      return null;
+    }
+    if (domainName == null) {
+      return null;
+    }
+    String domain = domainName.trim().toLowerCase(Locale.ROOT);
+    if (domain.endsWith(".")) {
+      domain = domain.substring(0, domain.length() - 1);
+    }
+    int lastDot = domain.lastIndexOf('.');
+    return lastDot != -1 ? domain.substring(lastDot + 1) : null;
+  }
+}
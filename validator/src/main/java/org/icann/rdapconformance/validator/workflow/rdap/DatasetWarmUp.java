@@ -0,0 +1,65 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.BootstrapDomainNameSpace;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.EPPRoid;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.Ipv4AddressSpace;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.Ipv6AddressSpace;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.LinkRelations;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.MediaTypes;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RDAPExtensions;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RDAPJsonValues;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RegistrarId;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.SpecialIPv4Addresses;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.SpecialIPv6Addresses;
+
+/**
+ * The datasets a validation is expected to use, to be loaded up front by
+ * {@link RDAPDatasetServiceImpl#prepare} while the other ones are only loaded if they are used.
+ */
+public final class DatasetWarmUp {
+
+  // Used by the schema validation of every response, see SchemaValidator#getSchema
+  private static final Set<Class<?>> SCHEMA_DATASETS = Set.of(
+      Ipv4AddressSpace.class,
+      SpecialIPv4Addresses.class,
+      Ipv6AddressSpace.class,
+      SpecialIPv6Addresses.class,
+      RDAPExtensions.class,
+      LinkRelations.class,
+      MediaTypes.class,
+      RDAPJsonValues.class);
+
+  private DatasetWarmUp() {
+  }
+
+  /**
+   * @param queryType the query type, or null if it is not known yet
+   * @param config    the validator configuration
+   * @return the dataset models the validation of this query is expected to use
+   */
+  public static Set<Class<?>> forQuery(RDAPQueryType queryType, RDAPValidatorConfiguration config) {
+    Set<Class<?>> datasets = new HashSet<>(SCHEMA_DATASETS);
+    if (!config.isGtldRegistrar() && !config.isGtldRegistry()) {
+      // No profile validation
+      return datasets;
+    }
+
+    if (queryType == null || queryType == RDAPQueryType.DOMAIN
+        || queryType == RDAPQueryType.NAMESERVER || queryType == RDAPQueryType.ENTITY) {
+      // Handle validations
+      datasets.add(EPPRoid.class);
+    }
+    if (queryType == null || queryType == RDAPQueryType.DOMAIN || queryType == RDAPQueryType.ENTITY) {
+      // Registrar entity and IANA ID validations
+      datasets.add(RegistrarId.class);
+    }
+    if (queryType == null || queryType == RDAPQueryType.DOMAIN) {
+      // TLD lookups of the entity and URL validations
+      datasets.add(BootstrapDomainNameSpace.class);
+    }
+    return datasets;
+  }
+}
@@ -3,9 +3,13 @@ package org.icann.rdapconformance.validator.workflow.rdap;
 import static org.icann.rdapconformance.validator.CommonUtils.ZERO;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +34,12 @@ public class RDAPDatasetServiceImpl implements RDAPDatasetService {
   private final List<RDAPDataset<? extends RDAPDatasetModel>> datasetList;
   protected Map<Class<? extends RDAPDataset>, RDAPDataset> datasets;
   protected Map<Class<?>, Object> datasetValidatorModels;
+  // The dataset each model is loaded from, for the datasets loaded on first access
+  private final Map<Class<?>, RDAPDataset<? extends RDAPDatasetModel>> datasetByModel = new ConcurrentHashMap<>();
+  // Loads of the datasets on first access, shared by the callers asking for the same dataset
+  private final Map<RDAPDataset<?>, CompletableFuture<Boolean>> loads = new ConcurrentHashMap<>();
+  private volatile boolean prepared;
+  private volatile boolean preparedUseLocalDatasets;
 
   // Public constructor for instance-based usage with default dataset directory
   public RDAPDatasetServiceImpl(FileSystem fileSystem) {
@@ -56,8 +66,40 @@ public class RDAPDatasetServiceImpl implements RDAPDatasetService {
     this.datasets = datasetList
         .stream()
         .collect(Collectors.toMap(RDAPDataset::getClass, Function.identity()));
+    datasetList.forEach(dataset -> datasetByModel.put(dataset.getModelClass(), dataset));
+    RDAPDataset<? extends RDAPDatasetModel> rdapJsonValues = datasetByModel.get(RDAPJsonValues.class);
+    List.of(NoticeAndRemarkJsonValues.class, EventActionJsonValues.class, StatusJsonValues.class,
+            RedactedExpressionLanguageJsonValues.class, RedactedNameJsonValues.class,
+            VariantRelationJsonValues.class, RoleJsonValues.class)
+        .forEach(view -> datasetByModel.put(view, rdapJsonValues));
   }
 
+  /**
+   * Sets how long every downloaded dataset file is used without checking whether it changed.
+   *
+   * <p>This is for applications embedding the validator, there is no command line option for
+   * it.</p>
+   *
+   * @param freshnessTtl the freshness TTL, zero to check the files on every download
+   */
+  public void setFreshnessTtl(Duration freshnessTtl) {
+    datasetList.forEach(dataset -> dataset.setFreshnessTtl(freshnessTtl));
+  }
+
+  /**
+   * Sets how long the file of the given dataset is used without checking whether it changed.
+   *
+   * @param datasetName  the dataset name, e.g. "mediaTypes"
+   * @param freshnessTtl the freshness TTL, zero to check the file on every download
+   * @throws IllegalArgumentException if there is no dataset with this name
+   */
+  public void setFreshnessTtl(String datasetName, Duration freshnessTtl) {
+    datasetList.stream()
+        .filter(dataset -> dataset.getName().equals(datasetName))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown dataset: " + datasetName))
+        .setFreshnessTtl(freshnessTtl);
+  }
 
   /**
    * Download all RDAP datasets.
@@ -84,10 +126,7 @@ public class RDAPDatasetServiceImpl implements RDAPDatasetService {
       return false;
     }
 
-    // Create a thread pool for parallel dataset loading
-    // Use a thread pool size based on available processors but cap it to avoid overwhelming the system
-    int threadPoolSize = Math.min(Runtime.getRuntime().availableProcessors() * THREADS_PER_CORE, MAX_THREAD_POOL_SIZE);
-    ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
+    ExecutorService executor = newExecutor();
 
     logger.info("Starting dataset download and parse operations...");
 
@@ -170,48 +209,182 @@ public class RDAPDatasetServiceImpl implements RDAPDatasetService {
       logger.error("Failed to download datasets in parallel", e);
       return false;
     } finally {
-      // Shutdown the executor
-      executor.shutdown();
-      try {
-        if (!executor.awaitTermination(AWAIT_TIMEOUT, TimeUnit.SECONDS)) {
-          executor.shutdownNow();
-        }
-      } catch (InterruptedException e) {
-        executor.shutdownNow();
-        Thread.currentThread().interrupt();
-      }
+      shutdown(executor);
     }
 
-    this.datasetValidatorModels = datasetList
-        .stream()
-        .map(RDAPDataset::getData)
-        .collect(Collectors.toMap(RDAPDatasetModel::getClass, Function.identity()));
-    // special case for these compound datasets:
-    this.datasetValidatorModels.put(NoticeAndRemarkJsonValues.class,
-        new NoticeAndRemarkJsonValues(get(RDAPJsonValues.class)));
+    Map<Class<?>, Object> models = new ConcurrentHashMap<>();
+    datasetList.forEach(dataset -> register(models, dataset.getData()));
+    this.datasetValidatorModels = models;
+    return true;
+  }
 
-    this.datasetValidatorModels.put(EventActionJsonValues.class,
-        new EventActionJsonValues(get(RDAPJsonValues.class)));
+  /**
+   * Prepares the datasets to be loaded on first access through {@link #get(Class)} instead of
+   * all of them up front, and loads the given ones right away.
+   *
+   * <p>A dataset asked for by several threads at once is only loaded once. A dataset that fails
+   * to load is tried again on the next access.</p>
+   *
+   * @param useLocalDatasets Whether local versions of datasets are used instead of downloading them
+   *                         again
+   * @param warmUp           the dataset models to load right away, see {@link DatasetWarmUp}
+   * @param progressCallback Callback to receive progress updates of the warm-up, or null for no
+   *                         progress tracking
+   * @return true if the warm-up datasets were loaded
+   */
+  public boolean prepare(boolean useLocalDatasets, Collection<Class<?>> warmUp,
+      ProgressCallback progressCallback) {
+    try {
+      fileSystem.mkdir(datasetDirectory);
+    } catch (IOException e) {
+      logger.error("Failed to create datasets directory: {}", datasetDirectory, e);
+      return false;
+    }
+    if (this.datasetValidatorModels == null) {
+      this.datasetValidatorModels = new ConcurrentHashMap<>();
+    }
+    this.preparedUseLocalDatasets = useLocalDatasets;
+    this.prepared = true;
 
-    this.datasetValidatorModels.put(StatusJsonValues.class,
-        new StatusJsonValues(get(RDAPJsonValues.class)));
+    List<RDAPDataset<? extends RDAPDatasetModel>> warmUpDatasets = warmUp.stream()
+        .map(datasetByModel::get)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+    logger.info("Loading {} of {} datasets, the others are loaded on first use",
+        warmUpDatasets.size(), datasetList.size());
 
-    this.datasetValidatorModels.put(RedactedExpressionLanguageJsonValues.class,
-        new RedactedExpressionLanguageJsonValues(get(RDAPJsonValues.class)));
+    ExecutorService executor = newExecutor();
+    try {
+      List<CompletableFuture<Boolean>> loadFutures = warmUpDatasets.stream()
+          .map(dataset -> CompletableFuture.supplyAsync(
+              () -> loadOnce(dataset, useLocalDatasets, progressCallback), executor))
+          .toList();
+      CompletableFuture.allOf(loadFutures.toArray(new CompletableFuture[ZERO]))
+          .get(HANG_TIMEOUT, TimeUnit.MINUTES);
+      return loadFutures.stream().allMatch(CompletableFuture::join);
+    } catch (Exception e) {
+      logger.error("Failed to load the warm-up datasets", e);
+      return false;
+    } finally {
+      shutdown(executor);
+    }
+  }
 
-    this.datasetValidatorModels.put(RedactedNameJsonValues.class,
-        new RedactedNameJsonValues(get(RDAPJsonValues.class)));
+  /**
+   * Gets a dataset model. Once the service is prepared, a dataset that is not loaded yet is
+   * loaded by this call.
+   *
+   * @throws IllegalStateException if the dataset is loaded by this call and fails to load
+   */
+  public <T> T get(Class<T> clazz) {
+    Map<Class<?>, Object> models = this.datasetValidatorModels;
+    Object model = models != null ? models.get(clazz) : null;
+    if (model == null && prepared) {
+      RDAPDataset<? extends RDAPDatasetModel> dataset = datasetByModel.get(clazz);
+      if (dataset != null) {
+        if (!loadOnce(dataset, preparedUseLocalDatasets, null)) {
+          throw new IllegalStateException("Failed to load dataset " + dataset.getName());
+        }
+        model = this.datasetValidatorModels.get(clazz);
+      }
+    }
+    return (T) model;
+  }
 
-    this.datasetValidatorModels.put(VariantRelationJsonValues.class,
-        new VariantRelationJsonValues(get(RDAPJsonValues.class)));
+  private boolean loadOnce(RDAPDataset<? extends RDAPDatasetModel> dataset, boolean useLocalDatasets,
+      ProgressCallback progressCallback) {
+    CompletableFuture<Boolean> load = new CompletableFuture<>();
+    CompletableFuture<Boolean> ongoing = loads.putIfAbsent(dataset, load);
+    if (ongoing != null) {
+      return ongoing.join();
+    }
 
-    this.datasetValidatorModels.put(RoleJsonValues.class,
-        new RoleJsonValues(get(RDAPJsonValues.class)));
+    boolean loaded = false;
+    try {
+      loaded = load(dataset, useLocalDatasets, progressCallback);
+      if (loaded) {
+        // Registered before the load completes, so that its waiters find the models
+        register(this.datasetValidatorModels, dataset.getData());
+      }
+    } catch (RuntimeException e) {
+      logger.error("Exception occurred while processing dataset {}: {}",
+          dataset.getName(), e.getMessage(), e);
+      if (progressCallback != null) {
+        progressCallback.onDatasetError(dataset.getName(), "processing", e);
+      }
+    } finally {
+      if (!loaded) {
+        // Tried again on the next access
+        loads.remove(dataset, load);
+      }
+      load.complete(loaded);
+    }
+    return loaded;
+  }
 
+  private boolean load(RDAPDataset<? extends RDAPDatasetModel> dataset, boolean useLocalDatasets,
+      ProgressCallback progressCallback) {
+    if (progressCallback != null) {
+      progressCallback.onDatasetDownloadStarted(dataset.getName());
+    }
+    if (!dataset.download(useLocalDatasets)) {
+      logger.error("Failed to download dataset {}", dataset.getName());
+      if (progressCallback != null) {
+        progressCallback.onDatasetError(dataset.getName(), "download",
+            new RuntimeException("Download failed"));
+      }
+      return false;
+    }
+    if (progressCallback != null) {
+      progressCallback.onDatasetDownloadCompleted(dataset.getName());
+      progressCallback.onDatasetParseStarted(dataset.getName());
+    }
+    if (!dataset.parse()) {
+      logger.error("Failed to parse dataset {}", dataset.getName());
+      if (progressCallback != null) {
+        progressCallback.onDatasetError(dataset.getName(), "parse",
+            new RuntimeException("Parse failed"));
+      }
+      return false;
+    }
+    logger.debug("Dataset {} loaded", dataset.getName());
+    if (progressCallback != null) {
+      progressCallback.onDatasetParseCompleted(dataset.getName());
+    }
     return true;
   }
 
-  public <T> T get(Class<T> clazz) {
-    return (T) this.datasetValidatorModels.get(clazz);
+  private static void register(Map<Class<?>, Object> models, RDAPDatasetModel model) {
+    if (model instanceof RDAPJsonValues rdapJsonValues) {
+      // special case for these compound datasets:
+      models.put(NoticeAndRemarkJsonValues.class, new NoticeAndRemarkJsonValues(rdapJsonValues));
+      models.put(EventActionJsonValues.class, new EventActionJsonValues(rdapJsonValues));
+      models.put(StatusJsonValues.class, new StatusJsonValues(rdapJsonValues));
+      models.put(RedactedExpressionLanguageJsonValues.class,
+          new RedactedExpressionLanguageJsonValues(rdapJsonValues));
+      models.put(RedactedNameJsonValues.class, new RedactedNameJsonValues(rdapJsonValues));
+      models.put(VariantRelationJsonValues.class, new VariantRelationJsonValues(rdapJsonValues));
+      models.put(RoleJsonValues.class, new RoleJsonValues(rdapJsonValues));
+    }
+    models.put(model.getClass(), model);
+  }
+
+  // Use a thread pool size based on available processors but cap it to avoid overwhelming the system
+  private static ExecutorService newExecutor() {
+    int threadPoolSize = Math.min(Runtime.getRuntime().availableProcessors() * THREADS_PER_CORE, MAX_THREAD_POOL_SIZE);
+    return Executors.newFixedThreadPool(threadPoolSize);
+  }
+
+  private static void shutdown(ExecutorService executor) {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(AWAIT_TIMEOUT, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
   }
 }
\ No newline at end of file
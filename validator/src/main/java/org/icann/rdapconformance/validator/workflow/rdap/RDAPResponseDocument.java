@@ -0,0 +1,184 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.DocumentContext;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.icann.rdapconformance.validator.JpathUtil;
+import org.icann.rdapconformance.validator.workflow.JsonCacheUtil;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A parsed RDAP response body shared by the schema, profile and query layers.
+ *
+ * <p>The document wraps the raw response body and exposes it through the three views used
+ * across the validator: an org.json {@link JSONObject}, a Jackson {@link JsonNode} tree and a
+ * JSONPath {@link DocumentContext}, plus a {@link ResponseIndex} of the members the profile
+ * validations look up most. Each view is parsed at most once, on first access, and
+ * then reused by every caller holding the document.</p>
+ *
+ * <p>Documents are interned by content through {@link #of(String)}, so validations that only
+ * receive the response body as a string still share the document held by the
+ * {@link org.icann.rdapconformance.validator.QueryContext}.</p>
+ *
+ * <p>The document is immutable: the views it returns must be treated as read-only.</p>
+ */
+public final class RDAPResponseDocument {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  // Documents keyed by content, mirroring JsonCacheUtil's bounded cache
+  private static final Map<String, RDAPResponseDocument> documentCache = new ConcurrentHashMap<>(16, 0.75f, 1);
+  private static final int MAX_CACHE_SIZE = 100;
+
+  private final String json;
+  private volatile JSONObject jsonObject;
+  private volatile JsonNode jsonTree;
+  private volatile DocumentContext jsonPathContext;
+  private volatile ResponseIndex index;
+
+  private RDAPResponseDocument(String json) {
+    this.json = json;
+  }
+
+  /**
+   * Returns the document for the given response body, creating it if needed.
+   *
+   * @param json the response body
+   * @return the shared document for this content
+   * @throws JSONException if the content is null or empty
+   */
+  public static RDAPResponseDocument of(String json) {
+    if (json == null || json.isEmpty()) {
+      throw new JSONException("Content cannot be null or empty");
+    }
+
+    String key = json.length() + "_" + json.hashCode();
+    RDAPResponseDocument cached = documentCache.get(key);
+    if (cached != null && cached.json.equals(json)) {
+      return cached;
+    }
+
+    if (documentCache.size() >= MAX_CACHE_SIZE) {
+      // Clear 20% of cache when full
+      documentCache.keySet().stream()
+          .limit(MAX_CACHE_SIZE / 5)
+          .forEach(documentCache::remove);
+    }
+    RDAPResponseDocument document = new RDAPResponseDocument(json);
+    documentCache.put(key, document);
+    return document;
+  }
+
+  /**
+   * Returns the Jackson tree of the given body, reusing the shared document's tree when the
+   * body is not empty. Behaves like {@code ObjectMapper.readTree(String)} otherwise.
+   *
+   * @param json the response body
+   * @return the Jackson tree of the body
+   * @throws JsonProcessingException if the body is not valid JSON
+   */
+  public static JsonNode readTree(String json) throws JsonProcessingException {
+    if (json == null || json.isEmpty()) {
+      return mapper.readTree(json);
+    }
+    return of(json).getJsonTree();
+  }
+
+  /**
+   * Clears the document cache. Mainly for testing purposes.
+   */
+  public static void clearCache() {
+    documentCache.clear();
+  }
+
+  /**
+   * @return the raw response body
+   */
+  public String getJson() {
+    return json;
+  }
+
+  /**
+   * @return the org.json view of the response
+   * @throws JSONException if the response is not a JSON object
+   */
+  public JSONObject getJsonObject() {
+    JSONObject result = jsonObject;
+    if (result == null) {
+      synchronized (this) {
+        result = jsonObject;
+        if (result == null) {
+          result = JsonCacheUtil.getCachedJsonObject(json);
+          jsonObject = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return the Jackson tree view of the response
+   * @throws JsonProcessingException if the response is not valid JSON
+   */
+  public JsonNode getJsonTree() throws JsonProcessingException {
+    JsonNode result = jsonTree;
+    if (result == null) {
+      synchronized (this) {
+        result = jsonTree;
+        if (result == null) {
+          result = mapper.readTree(json);
+          jsonTree = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the JSONPath view of the response, configured to return path lists.
+   *
+   * <p>The view reads the org.json tree of {@link #getJsonObject()} in place, so it costs no
+   * additional parsing and is shared by every validation of the response.</p>
+   *
+   * @return the JSONPath view of the response
+   * @throws JSONException if the response is not a JSON object
+   * @see JpathUtil#getPointerFromJPath(RDAPResponseDocument, String)
+   */
+  public DocumentContext getJsonPathContext() {
+    DocumentContext result = jsonPathContext;
+    if (result == null) {
+      synchronized (this) {
+        result = jsonPathContext;
+        if (result == null) {
+          result = JpathUtil.pathListContext(getJsonObject());
+          jsonPathContext = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the index of the response, built from {@link #getJsonObject()} on first access.
+   *
+   * @return the index of the response
+   * @throws JSONException if the response is not a JSON object
+   */
+  public ResponseIndex getIndex() {
+    ResponseIndex result = index;
+    if (result == null) {
+      synchronized (this) {
+        result = index;
+        if (result == null) {
+          result = ResponseIndex.build(getJsonObject());
+          index = result;
+        }
+      }
+    }
+    return result;
+  }
+}
@@ -34,6 +34,7 @@ import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfigurat
 import org.icann.rdapconformance.validator.workflow.DomainCaseFoldingValidation;
 import org.icann.rdapconformance.validator.workflow.ValidatorWorkflow;
 import org.icann.rdapconformance.validator.workflow.profile.ProfileValidation;
+import org.icann.rdapconformance.validator.workflow.profile.NetworkBoundValidation;
 import org.icann.rdapconformance.validator.workflow.profile.RDAPProfile;
 import org.icann.rdapconformance.validator.workflow.profile.rdap_response.miscellaneous.ResponseValidationLastUpdateEvent;
 import org.icann.rdapconformance.validator.workflow.profile.rdap_response.nameserver.ResponseNameserverStatusValidation;
@@ -124,6 +125,18 @@ public class RDAPValidator implements ValidatorWorkflow {
             queryContext.setCurrentHttpResponse(rdapResponse);
         }
 
+        // resolve the other hosts the network validations contact while the response is validated,
+        // once for all the rounds
+        if (queryContext.getConfig().isNetworkEnabled() && queryContext.claimDnsPrefetch()) {
+            List<URI> redirects = (queryContext.getQuery() instanceof RDAPHttpQuery httpQuery) ? httpQuery.getRedirects() : List.of();
+            try {
+                DNSPrefetch.start(queryContext, rdapResponse != null ? rdapResponse.uri() : null, redirects);
+            } catch (RuntimeException e) {
+                // The hosts are resolved when they are contacted
+                logger.debug("Unable to prefetch the addresses of the hosts to contact", e);
+            }
+        }
+
         // otherwise, validate the JSON and get the rdapResponse
         validator.validate(rdapResponseData);
 
@@ -150,13 +163,15 @@ public class RDAPValidator implements ValidatorWorkflow {
         if (queryContext.getConfig().useRdapProfileFeb2024() && !queryContext.getQuery().isErrorContent()) {
             logger.info("Validations for 2024 profile");
             RDAPProfile rdapProfile = new RDAPProfile(
-                get2024ProfileValidations(rdapResponse));
+                get2024ProfileValidations(rdapResponse),
+                queryContext.getConfig().isConcurrentNetworkValidations()
+                    ? RDAPProfile.ExecutionMode.CONCURRENT_NETWORK
+                    : RDAPProfile.ExecutionMode.SEQUENTIAL);
             rdapProfile.validate();
         }
 
         // Log URI, IP address, and redirects
         String ipAddress = queryContext.getNetworkInfo().getServerIpAddressValue();
-        List<URI> redirects = (queryContext.getQuery() instanceof RDAPHttpQuery httpQuery) ? httpQuery.getRedirects() : List.of();
 
 
             // Nice to have info
@@ -294,13 +309,14 @@ public class RDAPValidator implements ValidatorWorkflow {
 
         // Network-dependent validations
         if (config.isNetworkEnabled()) {
-            validations.add(new TigValidation1Dot6(queryContext)); // HTTP head request
+            // Network-bound validations may run concurrently, see RDAPProfile.ExecutionMode
+            validations.add(new NetworkBoundValidation(queryContext, TigValidation1Dot6::new)); // HTTP head request
             validations.add(new TigValidation1Dot13(queryContext)); // reads HTTP headers
-            validations.add(new TigValidation1Dot2(queryContext)); // SSL Network connection
-            validations.add(new TigValidation1Dot8(queryContext)); // DNS queries
+            validations.add(new NetworkBoundValidation(queryContext, TigValidation1Dot2::new)); // SSL Network connection
+            validations.add(new NetworkBoundValidation(queryContext, TigValidation1Dot8::new)); // DNS queries
             validations.add(new TigValidation1Dot11Dot1(queryContext)); // URL-based validation
-            validations.add(new TigValidation1Dot5_2024(queryContext)); // SSL Network connection
-            validations.add(new ResponseValidationTestInvalidRedirect_2024(queryContext)); // Network connection
+            validations.add(new NetworkBoundValidation(queryContext, TigValidation1Dot5_2024::new)); // SSL Network connection
+            validations.add(new NetworkBoundValidation(queryContext, ResponseValidationTestInvalidRedirect_2024::new)); // Network connection
         }
 
         return validations;
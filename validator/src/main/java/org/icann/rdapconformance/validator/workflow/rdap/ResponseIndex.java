@@ -0,0 +1,172 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * A single-pass index of the parts of an RDAP response that the profile validations query over
+ * and over: the top level entities by role and redacted entries, the notices members and the
+ * vcardArray members of entities.
+ *
+ * <p>Pointers use the same format as {@link org.icann.rdapconformance.validator.schema.JsonPointers#fromJpath(String)},
+ * e.g. {@code #/entities/0/vcardArray}, so they can be mixed with pointers obtained through
+ * JSONPath queries.</p>
+ *
+ * <p>The index is built once per {@link RDAPResponseDocument} and is immutable.</p>
+ */
+public final class ResponseIndex {
+
+  public static final String ROOT_POINTER = "#";
+
+  private static final String ENTITIES = "entities";
+  private static final String ROLES = "roles";
+  private static final String REDACTED = "redacted";
+  private static final String VCARD_ARRAY = "vcardArray";
+  private static final String NOTICES = "notices";
+
+  // The JSONPath queries that can be answered from the index, see find(String)
+  private static final Pattern TOP_LEVEL_ENTITY_ROLE_PATH =
+      Pattern.compile("^\\$\\.entities\\[\\?\\(@\\.roles contains '([^']*)'\\)\\]$");
+  private static final String REDACTED_PATH = "$.redacted[*]";
+
+  private final Map<String, Set<String>> topLevelEntitiesByRole = new LinkedHashMap<>();
+  private final Set<String> entityVcardArrayPointers = new LinkedHashSet<>();
+  private final Set<String> redactedPointers = new LinkedHashSet<>();
+  private final Set<String> noticesPointers = new LinkedHashSet<>();
+  // False when the top level entities or redacted members have a shape the JSONPath
+  // filters treat specially, in which case find(String) leaves those queries to JSONPath
+  private boolean topLevelEntitiesIndexed = true;
+  private boolean redactedIndexed = true;
+
+  private ResponseIndex() {
+  }
+
+  /**
+   * Walks the given response once and indexes it.
+   *
+   * @param response the RDAP response
+   * @return the index of the response
+   */
+  public static ResponseIndex build(JSONObject response) {
+    ResponseIndex index = new ResponseIndex();
+    index.walk(ROOT_POINTER, response, false);
+    index.indexTopLevel(response);
+    return index;
+  }
+
+  private void walk(String pointer, Object node, boolean underEntities) {
+    if (node instanceof JSONObject object) {
+      for (String key : object.keySet()) {
+        String childPointer = pointer + "/" + key;
+        switch (key) {
+          case VCARD_ARRAY -> {
+            if (underEntities) {
+              entityVcardArrayPointers.add(childPointer);
+            }
+          }
+          case NOTICES -> noticesPointers.add(childPointer);
+          default -> {
+          }
+        }
+        walk(childPointer, object.opt(key), underEntities || ENTITIES.equals(key));
+      }
+    } else if (node instanceof JSONArray array) {
+      for (int i = 0; i < array.length(); i++) {
+        walk(pointer + "/" + i, array.opt(i), underEntities);
+      }
+    }
+  }
+
+  private void indexTopLevel(JSONObject response) {
+    Object entities = response.opt(ENTITIES);
+    if (entities instanceof JSONArray entityArray) {
+      topLevelEntitiesIndexed = indexEntities(ROOT_POINTER + "/" + ENTITIES, entityArray, topLevelEntitiesByRole);
+    } else {
+      topLevelEntitiesIndexed = entities == null;
+    }
+
+    Object redacted = response.opt(REDACTED);
+    if (redacted instanceof JSONArray redactedArray) {
+      for (int i = 0; i < redactedArray.length(); i++) {
+        redactedPointers.add(ROOT_POINTER + "/" + REDACTED + "/" + i);
+      }
+    } else {
+      redactedIndexed = redacted == null;
+    }
+  }
+
+  /**
+   * Adds the entities of the given array to the role map.
+   *
+   * @return false if an entity has roles that are not an array
+   */
+  private static boolean indexEntities(String pointer, JSONArray entities, Map<String, Set<String>> byRole) {
+    boolean rolesAreArrays = true;
+    for (int i = 0; i < entities.length(); i++) {
+      if (!(entities.opt(i) instanceof JSONObject entity) || !entity.has(ROLES)) {
+        continue;
+      }
+      if (!(entity.opt(ROLES) instanceof JSONArray roles)) {
+        rolesAreArrays = false;
+        continue;
+      }
+      for (int r = 0; r < roles.length(); r++) {
+        if (roles.opt(r) instanceof String role) {
+          byRole.computeIfAbsent(role, k -> new LinkedHashSet<>()).add(pointer + "/" + i);
+        }
+      }
+    }
+    return rolesAreArrays;
+  }
+
+  /**
+   * Answers the given JSONPath query from the index when it is one of the queries the index
+   * covers, i.e. {@code $.entities[?(@.roles contains '<role>')]} and {@code $.redacted[*]}.
+   *
+   * @param jpath the JSONPath query
+   * @return a new set with the matching pointers, or empty if the query must be run through
+   * JSONPath
+   */
+  public Optional<Set<String>> find(String jpath) {
+    if (jpath == null) {
+      return Optional.empty();
+    }
+    if (REDACTED_PATH.equals(jpath)) {
+      return redactedIndexed ? Optional.of(new LinkedHashSet<>(redactedPointers)) : Optional.empty();
+    }
+    Matcher matcher = TOP_LEVEL_ENTITY_ROLE_PATH.matcher(jpath);
+    if (matcher.matches() && topLevelEntitiesIndexed) {
+      return Optional.of(new LinkedHashSet<>(getTopLevelEntityPointers(matcher.group(1))));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return the pointers of the top level entities having the given role
+   */
+  public Set<String> getTopLevelEntityPointers(String role) {
+    return Collections.unmodifiableSet(topLevelEntitiesByRole.getOrDefault(role, Set.of()));
+  }
+
+  /**
+   * @return the pointers of the vcardArray members found under an entities member
+   */
+  public Set<String> getEntityVcardArrayPointers() {
+    return Collections.unmodifiableSet(entityVcardArrayPointers);
+  }
+
+  /**
+   * @return the pointers of every notices member
+   */
+  public Set<String> getNoticesPointers() {
+    return Collections.unmodifiableSet(noticesPointers);
+  }
+}
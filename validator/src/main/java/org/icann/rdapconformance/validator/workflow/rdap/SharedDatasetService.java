@@ -0,0 +1,324 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.icann.rdapconformance.validator.ProgressCallback;
+import org.icann.rdapconformance.validator.workflow.FileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide registry of loaded RDAP datasets, shared by every validator that uses the same
+ * dataset directory.
+ *
+ * <p>The datasets of a directory are downloaded and parsed by the first {@link #acquire} call
+ * and reused by the following ones. Each call returns a {@link Lease}, an
+ * {@link RDAPDatasetService} pinned to the datasets loaded at that time, which must be closed
+ * once the validation is done.</p>
+ *
+ * <p>While leases are open, the datasets are refreshed in the background every refresh interval;
+ * a lease acquired after the interval has elapsed without any open lease triggers a refresh as
+ * well. A refresh loads the datasets into a new {@link RDAPDatasetServiceImpl} and swaps it in
+ * atomically once it is fully parsed: open leases keep the datasets they started with, the next
+ * leases get the new ones. A failed refresh keeps the previous datasets. Each refresh runs on its
+ * own thread, so a slow download of one directory never delays the refresh of another.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * try (SharedDatasetService.Lease datasets = SharedDatasetService.acquire(fileSystem, null, false)) {
+ *     QueryContext queryContext = QueryContext.create(config, datasets, query);
+ *     // validate
+ * }
+ * </pre>
+ */
+public final class SharedDatasetService {
+
+  private static final Logger logger = LoggerFactory.getLogger(SharedDatasetService.class);
+  public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofHours(24);
+
+  private static final Map<Key, SharedDatasetService> registry = new ConcurrentHashMap<>(16, 0.75f, 1);
+  // Each directory keeps all the datasets in memory, e.g. per validator temporary directories
+  private static final int MAX_REGISTRY_SIZE = 8;
+
+  private final String datasetDirectory;
+  private final boolean useLocalDatasets;
+  private final Duration refreshInterval;
+  private final Supplier<RDAPDatasetService> serviceFactory;
+  private final Clock clock;
+  private final AtomicReference<Snapshot> current = new AtomicReference<>();
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private int referenceCount;
+  private ScheduledFuture<?> refreshTask;
+
+  private SharedDatasetService(String datasetDirectory, boolean useLocalDatasets,
+      Duration refreshInterval, Supplier<RDAPDatasetService> serviceFactory, Clock clock) {
+    this.datasetDirectory = datasetDirectory;
+    this.useLocalDatasets = useLocalDatasets;
+    this.refreshInterval = refreshInterval;
+    this.serviceFactory = serviceFactory;
+    this.clock = clock;
+  }
+
+  /**
+   * Acquires the shared datasets of the given directory, refreshed every
+   * {@link #DEFAULT_REFRESH_INTERVAL}.
+   *
+   * @see #acquire(FileSystem, String, boolean, Duration)
+   */
+  public static Lease acquire(FileSystem fileSystem, String datasetDirectory, boolean useLocalDatasets) {
+    return acquire(fileSystem, datasetDirectory, useLocalDatasets, DEFAULT_REFRESH_INTERVAL);
+  }
+
+  /**
+   * Acquires the shared datasets of the given directory, loading them on first use.
+   *
+   * <p>The file system and refresh interval of the first call for a directory are the ones kept
+   * for it.</p>
+   *
+   * @param fileSystem       the file system the datasets are stored on
+   * @param datasetDirectory the dataset directory, or null for the default one
+   * @param useLocalDatasets whether local versions of the datasets are used instead of
+   *                         downloading them again
+   * @param refreshInterval  how often the datasets are refreshed while they are in use
+   * @return a lease on the datasets, to be closed once done with them
+   */
+  public static Lease acquire(FileSystem fileSystem, String datasetDirectory,
+      boolean useLocalDatasets, Duration refreshInterval) {
+    String directory = datasetDirectory != null ? datasetDirectory : RDAPDatasetService.DATASET_PATH;
+    return acquire(directory, useLocalDatasets, refreshInterval,
+        () -> new RDAPDatasetServiceImpl(fileSystem, directory), Clock.systemUTC());
+  }
+
+  static Lease acquire(String datasetDirectory, boolean useLocalDatasets, Duration refreshInterval,
+      Supplier<RDAPDatasetService> serviceFactory, Clock clock) {
+    Objects.requireNonNull(refreshInterval);
+    if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+      throw new IllegalArgumentException("Refresh interval must be positive: " + refreshInterval);
+    }
+    Key key = new Key(datasetDirectory, useLocalDatasets);
+    if (!registry.containsKey(key) && registry.size() >= MAX_REGISTRY_SIZE) {
+      // Forget the datasets no lease uses anymore
+      registry.values().removeIf(SharedDatasetService::evictIfUnused);
+    }
+    SharedDatasetService shared = registry.computeIfAbsent(key,
+        k -> new SharedDatasetService(datasetDirectory, useLocalDatasets, refreshInterval, serviceFactory, clock));
+    return shared.lease();
+  }
+
+  /**
+   * Stops the background refreshes and forgets every loaded dataset. Mainly for testing
+   * purposes.
+   */
+  public static void clear() {
+    registry.values().forEach(SharedDatasetService::cancelRefreshTask);
+    registry.clear();
+  }
+
+  private Lease lease() {
+    Snapshot snapshot = current.get();
+    if (snapshot == null) {
+      snapshot = loadInitial();
+    } else if (isStale(snapshot)) {
+      refreshInBackground();
+    }
+
+    synchronized (this) {
+      referenceCount++;
+      if (referenceCount == 1 && refreshTask == null) {
+        long period = refreshInterval.toMillis();
+        refreshTask = Refresher.EXECUTOR.scheduleWithFixedDelay(this::refreshIfStale,
+            period, period, TimeUnit.MILLISECONDS);
+      }
+    }
+    return new Lease(this, snapshot);
+  }
+
+  private synchronized Snapshot loadInitial() {
+    Snapshot snapshot = current.get();
+    if (snapshot != null) {
+      return snapshot;
+    }
+
+    snapshot = load();
+    if (snapshot.loaded()) {
+      current.set(snapshot);
+    } else {
+      // Not kept: the next lease tries again, as a new service would have
+      logger.error("Failed to load the datasets of {}", datasetDirectory);
+    }
+    return snapshot;
+  }
+
+  private Snapshot load() {
+    RDAPDatasetService datasets = serviceFactory.get();
+    boolean loaded;
+    try {
+      loaded = datasets.download(useLocalDatasets);
+    } catch (Exception e) {
+      logger.error("Exception while loading the datasets of {}", datasetDirectory, e);
+      loaded = false;
+    }
+    return new Snapshot(datasets, loaded, clock.instant());
+  }
+
+  private boolean isStale(Snapshot snapshot) {
+    return !clock.instant().isBefore(snapshot.loadedAt().plus(refreshInterval));
+  }
+
+  private void refreshIfStale() {
+    Snapshot snapshot = current.get();
+    if (snapshot == null || isStale(snapshot)) {
+      refreshInBackground();
+    }
+  }
+
+  private void refreshInBackground() {
+    if (refreshing.compareAndSet(false, true)) {
+      Refresher.LOADER.execute(() -> {
+        try {
+          refresh();
+        } finally {
+          refreshing.set(false);
+        }
+      });
+    }
+  }
+
+  /**
+   * Loads the datasets again and swaps them in if they all loaded.
+   *
+   * @return true if the datasets were swapped
+   */
+  boolean refresh() {
+    Snapshot snapshot = load();
+    if (!snapshot.loaded()) {
+      logger.warn("Failed to refresh the datasets of {}, keeping the previous ones", datasetDirectory);
+      return false;
+    }
+    current.set(snapshot);
+    logger.info("Refreshed the datasets of {}", datasetDirectory);
+    return true;
+  }
+
+  private synchronized void release() {
+    referenceCount--;
+    if (referenceCount == 0) {
+      cancelRefreshTask();
+    }
+  }
+
+  private synchronized void cancelRefreshTask() {
+    if (refreshTask != null) {
+      refreshTask.cancel(false);
+      refreshTask = null;
+    }
+  }
+
+  private synchronized boolean evictIfUnused() {
+    if (referenceCount > 0) {
+      return false;
+    }
+    cancelRefreshTask();
+    return true;
+  }
+
+  synchronized int getReferenceCount() {
+    return referenceCount;
+  }
+
+  static SharedDatasetService get(String datasetDirectory, boolean useLocalDatasets) {
+    return registry.get(new Key(datasetDirectory, useLocalDatasets));
+  }
+
+  /**
+   * The datasets loaded at the time the lease was acquired. Closing the lease releases it, the
+   * datasets stay loaded for the next leases.
+   */
+  public static final class Lease implements RDAPDatasetService, AutoCloseable {
+
+    private final SharedDatasetService shared;
+    private final Snapshot snapshot;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private Lease(SharedDatasetService shared, Snapshot snapshot) {
+      this.shared = shared;
+      this.snapshot = snapshot;
+    }
+
+    /**
+     * The datasets are loaded when the lease is acquired: this only reports whether they were.
+     */
+    @Override
+    public boolean download(boolean useLocalDatasets) {
+      return snapshot.loaded();
+    }
+
+    /**
+     * The datasets are loaded when the lease is acquired: this only reports whether they were.
+     */
+    @Override
+    public boolean download(boolean useLocalDatasets, ProgressCallback progressCallback) {
+      return snapshot.loaded();
+    }
+
+    @Override
+    public <T> T get(Class<T> clazz) {
+      return snapshot.datasets().get(clazz);
+    }
+
+    /**
+     * @return the datasets of this lease, the same instance for all the leases acquired until
+     *     the next refresh
+     */
+    public RDAPDatasetService getDatasets() {
+      return snapshot.datasets();
+    }
+
+    /**
+     * @return the time the datasets of this lease were loaded
+     */
+    public Instant getLoadedAt() {
+      return snapshot.loadedAt();
+    }
+
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        shared.release();
+      }
+    }
+  }
+
+  private record Key(String datasetDirectory, boolean useLocalDatasets) {
+
+  }
+
+  private record Snapshot(RDAPDatasetService datasets, boolean loaded, Instant loadedAt) {
+
+  }
+
+  private static final class Refresher {
+
+    // Only schedules the checks, the refreshes themselves run on LOADER
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "dataset-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    private static final ExecutorService LOADER = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("dataset-refresh-", 1).factory());
+  }
+}
@@ -0,0 +1,42 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import org.icann.rdapconformance.validator.NetworkInfo;
+import org.icann.rdapconformance.validator.NetworkProtocol;
+
+/**
+ * One of the validation rounds run against an RDAP server.
+ *
+ * <p>A full validation queries the server once per combination of network protocol
+ * and Accept header. Each round is identified by the protocol it connects over, the
+ * Accept header it sends, and the progress phase name reported while it runs.</p>
+ *
+ * @see ValidationRoundRunner
+ */
+public enum ValidationRound {
+    IPV6_JSON(NetworkProtocol.IPv6, NetworkInfo.AcceptHeader.APPLICATION_JSON, "IPv6-JSON"),
+    IPV6_RDAP_JSON(NetworkProtocol.IPv6, NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON, "IPv6-RDAP+JSON"),
+    IPV4_JSON(NetworkProtocol.IPv4, NetworkInfo.AcceptHeader.APPLICATION_JSON, "IPv4-JSON"),
+    IPV4_RDAP_JSON(NetworkProtocol.IPv4, NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON, "IPv4-RDAP+JSON");
+
+    private final NetworkProtocol protocol;
+    private final NetworkInfo.AcceptHeader acceptHeader;
+    private final String phaseName;
+
+    ValidationRound(NetworkProtocol protocol, NetworkInfo.AcceptHeader acceptHeader, String phaseName) {
+        this.protocol = protocol;
+        this.acceptHeader = acceptHeader;
+        this.phaseName = phaseName;
+    }
+
+    public NetworkProtocol getProtocol() {
+        return protocol;
+    }
+
+    public NetworkInfo.AcceptHeader getAcceptHeader() {
+        return acceptHeader;
+    }
+
+    public String getPhaseName() {
+        return phaseName;
+    }
+}
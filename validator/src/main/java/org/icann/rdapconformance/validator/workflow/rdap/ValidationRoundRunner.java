@@ -0,0 +1,152 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.icann.rdapconformance.validator.QueryContext;
+import org.icann.rdapconformance.validator.workflow.ValidatorWorkflow;
+import org.icann.rdapconformance.validator.workflow.profile.IPVersionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs validation rounds against a parent {@link QueryContext}, optionally in parallel.
+ *
+ * <p>Every round is executed on its own child context obtained through
+ * {@link QueryContext#forkForRound}, so rounds never share a current response, network
+ * settings or result buffer. The child contexts share the configuration, datasets, DNS
+ * cache and HTTP client pools of the parent.</p>
+ *
+ * <p>Rounds run in parallel each get a virtual thread, so that a round waiting for the network
+ * or for its turn to query a host does not hold a platform thread.</p>
+ *
+ * <p>Once all rounds are done, their results are merged into the parent in the order the
+ * rounds were given, regardless of which round finished first. The output is therefore
+ * the same as when the rounds run one after another.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * ValidationRoundRunner runner = new ValidationRoundRunner(queryContext, 4);
+ * runner.run(List.of(ValidationRound.values()), RDAPHttpValidator::new, (round, status) -&gt; {});
+ * </pre>
+ *
+ * @see ValidationRound
+ * @see QueryContext#mergeRoundResults(QueryContext)
+ */
+public class ValidationRoundRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationRoundRunner.class);
+
+    private final QueryContext parentContext;
+    private final int maxParallelRounds;
+
+    /**
+     * Creates a runner for the given parent context.
+     *
+     * @param parentContext the context the round results are merged into
+     * @param maxParallelRounds the maximum number of rounds to run at the same time;
+     *                          1 or less runs the rounds sequentially
+     */
+    public ValidationRoundRunner(QueryContext parentContext, int maxParallelRounds) {
+        this.parentContext = parentContext;
+        this.maxParallelRounds = maxParallelRounds;
+    }
+
+    /**
+     * Runs the given rounds and merges their results into the parent context.
+     *
+     * @param rounds the rounds to run, in the order their results are merged
+     * @param validatorFactory creates the validator for a round from its child context
+     * @param onRoundMerged called on the calling thread after each round has been merged,
+     *                      with the round and the status returned by its validator
+     * @return the validator status of each round, in round order
+     */
+    public List<Integer> run(List<ValidationRound> rounds,
+                             Function<QueryContext, ValidatorWorkflow> validatorFactory,
+                             BiConsumer<ValidationRound, Integer> onRoundMerged) {
+        // Fork and build validators on the calling thread: configuration checks are not thread-safe
+        List<QueryContext> roundContexts = new ArrayList<>(rounds.size());
+        List<ValidatorWorkflow> validators = new ArrayList<>(rounds.size());
+        for (ValidationRound round : rounds) {
+            QueryContext roundContext = parentContext.forkForRound(round.getProtocol(), round.getAcceptHeader());
+            roundContexts.add(roundContext);
+            validators.add(validatorFactory.apply(roundContext));
+        }
+
+        List<Integer> statuses = new ArrayList<>(rounds.size());
+        if (maxParallelRounds <= 1 || rounds.size() <= 1) {
+            for (int i = 0; i < rounds.size(); i++) {
+                int status = runRound(rounds.get(i), validators.get(i));
+                mergeRound(rounds.get(i), roundContexts.get(i), status, onRoundMerged);
+                statuses.add(status);
+            }
+            return statuses;
+        }
+
+        // Virtual threads, as the rounds mostly wait for the network and the per-host rate limiter
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxParallelRounds, rounds.size()),
+            Thread.ofVirtual().name("validation-round-", 1).factory());
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(rounds.size());
+            for (int i = 0; i < rounds.size(); i++) {
+                ValidationRound round = rounds.get(i);
+                ValidatorWorkflow validator = validators.get(i);
+                futures.add(executor.submit(() -> runRound(round, validator)));
+            }
+
+            for (int i = 0; i < rounds.size(); i++) {
+                int status = awaitRound(rounds.get(i), futures.get(i));
+                mergeRound(rounds.get(i), roundContexts.get(i), status, onRoundMerged);
+                statuses.add(status);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return statuses;
+    }
+
+    private int runRound(ValidationRound round, ValidatorWorkflow validator) {
+        IPVersionContext ipVersionContext = new IPVersionContext(round.getProtocol());
+        ipVersionContext.activate();
+        try {
+            logger.debug("About to run {} validation", round.getPhaseName());
+            int status = validator.validate();
+            logger.debug("{} validation completed with result: {}", round.getPhaseName(), status);
+            return status;
+        } finally {
+            ipVersionContext.deactivate();
+        }
+    }
+
+    private int awaitRound(ValidationRound round, Future<Integer> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + round.getPhaseName() + " validation", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(round.getPhaseName() + " validation failed", cause);
+        }
+    }
+
+    private void mergeRound(ValidationRound round, QueryContext roundContext, int status,
+                            BiConsumer<ValidationRound, Integer> onRoundMerged) {
+        parentContext.mergeRoundResults(roundContext);
+        if (onRoundMerged != null) {
+            onRoundMerged.accept(round, status);
+        }
+    }
+}
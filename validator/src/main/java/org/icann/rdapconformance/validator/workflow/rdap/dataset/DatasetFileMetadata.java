@@ -0,0 +1,73 @@
+package org.icann.rdapconformance.validator.workflow.rdap.dataset;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import org.icann.rdapconformance.validator.workflow.FileSystem;
+
+/**
+ * What is known about the last download of a dataset file, stored next to it: the HTTP
+ * validators used for conditional requests and the time the file was last fetched or confirmed
+ * unchanged.
+ */
+record DatasetFileMetadata(String etag, String lastModified, Instant checkedAt) {
+
+  static final String SUFFIX = ".meta";
+
+  private static final String ETAG = "etag";
+  private static final String LAST_MODIFIED = "lastModified";
+  private static final String CHECKED_AT = "checkedAt";
+
+  /**
+   * @return true if the file was checked less than the given time ago
+   */
+  boolean isFresh(Duration ttl, Instant now) {
+    return checkedAt != null && now.isBefore(checkedAt.plus(ttl));
+  }
+
+  /**
+   * Reads the metadata stored at the given path.
+   *
+   * @return the metadata, or null if there is none or it cannot be read
+   */
+  static DatasetFileMetadata read(FileSystem fileSystem, String path) {
+    if (!fileSystem.exists(path)) {
+      return null;
+    }
+    try {
+      String content = fileSystem.readFile(new File(path).toURI());
+      if (content == null) {
+        return null;
+      }
+      Properties properties = new Properties();
+      properties.load(new StringReader(content));
+      String checkedAt = properties.getProperty(CHECKED_AT);
+      return new DatasetFileMetadata(properties.getProperty(ETAG),
+          properties.getProperty(LAST_MODIFIED),
+          checkedAt != null ? Instant.parse(checkedAt) : null);
+    } catch (IOException | IllegalArgumentException | DateTimeException e) {
+      return null;
+    }
+  }
+
+  void write(FileSystem fileSystem, String path) throws IOException {
+    Properties properties = new Properties();
+    if (etag != null) {
+      properties.setProperty(ETAG, etag);
+    }
+    if (lastModified != null) {
+      properties.setProperty(LAST_MODIFIED, lastModified);
+    }
+    if (checkedAt != null) {
+      properties.setProperty(CHECKED_AT, checkedAt.toString());
+    }
+    StringWriter writer = new StringWriter();
+    properties.store(writer, null);
+    fileSystem.write(path, writer.toString());
+  }
+}
@@ -0,0 +1,109 @@
+package org.icann.rdapconformance.validator.workflow.rdap.dataset;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RDAPDatasetModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A binary snapshot of a parsed dataset model, stored next to the dataset file so that the next
+ * process can load the model without parsing the file again.
+ *
+ * <p>A snapshot starts with a header made of a magic number, the snapshot format version, the
+ * model class name and the SHA-256 of the dataset file it was built from, followed by the
+ * serialized model. A snapshot is only used if its header matches the current dataset file and
+ * model; any other snapshot, or one the current model classes cannot read, is ignored and
+ * replaced after the file is parsed.</p>
+ */
+final class DatasetSnapshot {
+
+  private static final Logger logger = LoggerFactory.getLogger(DatasetSnapshot.class);
+
+  static final String SUFFIX = ".snapshot";
+
+  private static final int MAGIC = 0x52444150; // "RDAP"
+  // To be increased when the layout of the snapshot or the meaning of the models changes
+  private static final int FORMAT_VERSION = 1;
+  // Snapshots only ever contain dataset models and the JDK collections and values they hold
+  private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+      "maxdepth=64;"
+          + "org.icann.rdapconformance.validator.workflow.rdap.dataset.model.**;"
+          + "java.util.*;java.lang.*;!*");
+
+  private DatasetSnapshot() {
+  }
+
+  /**
+   * Reads the snapshot at the given path.
+   *
+   * @param path   the snapshot path
+   * @param model  the expected model class
+   * @param sha256 the SHA-256 of the current dataset file
+   * @return the model, or null if there is no usable snapshot
+   */
+  static <T extends RDAPDatasetModel> T read(Path path, Class<T> model, String sha256) {
+    if (!Files.isRegularFile(path)) {
+      return null;
+    }
+    try (InputStream is = new BufferedInputStream(Files.newInputStream(path));
+        DataInputStream header = new DataInputStream(is)) {
+      if (header.readInt() != MAGIC
+          || header.readInt() != FORMAT_VERSION
+          || !header.readUTF().equals(model.getName())
+          || !header.readUTF().equals(sha256)) {
+        logger.debug("Snapshot {} does not match its dataset file, ignoring it", path);
+        return null;
+      }
+      ObjectInputStream objects = new ObjectInputStream(is);
+      objects.setObjectInputFilter(FILTER);
+      return model.cast(objects.readObject());
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      // Including models whose classes changed since the snapshot was written
+      logger.debug("Cannot read snapshot {}, ignoring it", path, e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes a snapshot of the given model, replacing the previous one at once.
+   *
+   * @throws IOException if the snapshot cannot be written
+   */
+  static void write(Path path, RDAPDatasetModel instance, String sha256) throws IOException {
+    Path target = path.toAbsolutePath();
+    Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+    try {
+      try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temporary));
+          DataOutputStream header = new DataOutputStream(os)) {
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT_VERSION);
+        header.writeUTF(instance.getClass().getName());
+        header.writeUTF(sha256);
+        header.flush();
+        ObjectOutputStream objects = new ObjectOutputStream(os);
+        objects.writeObject(instance);
+        objects.flush();
+      }
+      try {
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+}
@@ -2,17 +2,30 @@ package org.icann.rdapconformance.validator.workflow.rdap.dataset;
 
 import jakarta.xml.bind.JAXBException;
 import org.icann.rdapconformance.validator.workflow.Deserializer;
+import org.icann.rdapconformance.validator.workflow.DownloadResult;
 import org.icann.rdapconformance.validator.workflow.FileSystem;
 import org.icann.rdapconformance.validator.workflow.JsonDeserializer;
+import org.icann.rdapconformance.validator.workflow.StaxDeserializer;
 import org.icann.rdapconformance.validator.workflow.XmlDeserializer;
 import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RDAPDatasetModel;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.StreamingXmlDatasetModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.icann.rdapconformance.validator.workflow.rdap.RDAPDatasetService.DATASET_PATH;
 
@@ -20,12 +33,19 @@ public abstract class RDAPDataset<T extends RDAPDatasetModel> {
 
     private static final Logger logger = LoggerFactory.getLogger(RDAPDataset.class);
 
+    // Models parsed in this process by file path, reused as long as the file content is the same
+    private static final Map<String, ParsedModel> parsedModels = new ConcurrentHashMap<>(16, 0.75f, 1);
+    private static final int MAX_PARSED_MODELS = 100;
+
     private final String name;
     private final URI uri;
     private final FileSystem fileSystem;
     private final String datasetDirectory;
+    private final Class<T> model;
     private final Deserializer<T> deserializer;
     private T modelInstance;
+    private Duration freshnessTtl = Duration.ZERO;
+    private Clock clock = Clock.systemUTC();
 
     public RDAPDataset(String name, URI uri, FileSystem fileSystem, Class<T> model) {
         this(name, uri, fileSystem, DATASET_PATH, model);
@@ -36,6 +56,7 @@ public abstract class RDAPDataset<T extends RDAPDatasetModel> {
         this.fileSystem = fileSystem;
         this.uri = uri;
         this.datasetDirectory = datasetDirectory;
+        this.model = model;
         try {
             this.modelInstance = model.getConstructor().newInstance();
         } catch (Exception e) {
@@ -45,6 +66,8 @@ public abstract class RDAPDataset<T extends RDAPDatasetModel> {
         String fileExtension = uri.getPath().substring(uri.getPath().lastIndexOf(".") + 1);
         if ("json".equals(fileExtension)) {
             this.deserializer = new JsonDeserializer<>(model);
+        } else if ("xml".equals(fileExtension) && StreamingXmlDatasetModel.class.isAssignableFrom(model)) {
+            this.deserializer = new StaxDeserializer<>(model);
         } else if ("xml".equals(fileExtension)) {
             this.deserializer = new XmlDeserializer<>(model);
         } else {
@@ -60,39 +83,179 @@ public abstract class RDAPDataset<T extends RDAPDatasetModel> {
         return Paths.get(datasetDirectory, filename()).toAbsolutePath().toString();
     }
 
+    private String metadataPath() {
+        return filePath() + DatasetFileMetadata.SUFFIX;
+    }
+
+    /**
+     * Makes the dataset file available locally.
+     *
+     * <p>Unless local datasets are used, a file checked less than the freshness TTL ago is kept
+     * as is. Otherwise, a conditional request is sent with the ETag and Last-Modified date of the
+     * previous download, stored next to the file, and the file is only downloaded again if it
+     * changed.</p>
+     *
+     * @param useLocalDatasets whether an existing local file is used without checking it
+     * @return true if the file is available
+     */
     public boolean download(boolean useLocalDatasets) {
         String path = filePath();
         if (useLocalDatasets && this.fileSystem.exists(path)) {
             logger.debug("Dataset {} is already downloaded at: {}", name, path);
             return true;
         }
+
+        DatasetFileMetadata metadata = this.fileSystem.exists(path)
+            ? DatasetFileMetadata.read(fileSystem, metadataPath())
+            : null;
+        if (metadata != null && metadata.isFresh(freshnessTtl, clock.instant())) {
+            logger.debug("Dataset {} at {} is fresh, not checking it", name, path);
+            return true;
+        }
+
         logger.debug("Download dataset {}", name);
+        DownloadResult result;
         try {
-            fileSystem.download(uri, path);
-            logger.debug("Dataset {} downloaded to {}", name, path);
+            result = fileSystem.downloadIfModified(uri, path,
+                metadata != null ? metadata.etag() : null,
+                metadata != null ? metadata.lastModified() : null);
         } catch (IOException e) {
             logger.error("Failed to download dataset {}", name, e);
             return false;
         }
+        if (result != null && !result.modified()) {
+            logger.debug("Dataset {} at {} has not changed", name, path);
+        } else {
+            logger.debug("Dataset {} downloaded to {}", name, path);
+        }
+
+        if (result != null) {
+            try {
+                new DatasetFileMetadata(result.etag(), result.lastModified(), clock.instant())
+                    .write(fileSystem, metadataPath());
+            } catch (IOException e) {
+                // The next download is a plain one
+                logger.warn("Failed to store the metadata of dataset {}", name, e);
+            }
+        }
         return true;
     }
 
+    private String snapshotPath() {
+        return filePath() + DatasetSnapshot.SUFFIX;
+    }
+
+    /**
+     * Parses the dataset file. The model parsed from the same file with the same content, by
+     * this or another dataset instance, is reused. Otherwise, the model is loaded from the binary
+     * snapshot stored next to the file if it was built from the same content, and the file is
+     * only parsed, and a new snapshot stored, if there is none.
+     *
+     * @return true if the dataset was parsed
+     */
     public boolean parse() {
         String path = filePath();
+        String sha256;
+        try {
+            sha256 = sha256(path);
+        } catch (IOException e) {
+            logger.error("Failed to parse dataset {}", name, e);
+            return false;
+        }
+
+        ParsedModel parsed = parsedModels.get(path);
+        if (parsed != null && parsed.model() == model && parsed.sha256().equals(sha256)) {
+            logger.debug("Dataset {} at {} has not changed, not parsing it again", name, path);
+            this.modelInstance = model.cast(parsed.instance());
+            return true;
+        }
+
+        T snapshot = DatasetSnapshot.read(Paths.get(snapshotPath()), model, sha256);
+        if (snapshot != null) {
+            logger.debug("Dataset {} loaded from its snapshot", name);
+            this.modelInstance = snapshot;
+        } else {
             try {
                 this.modelInstance = deserializer.deserialize(new File(path));
             } catch (JAXBException | IOException e) {
                 logger.error("Failed to parse dataset {}", name, e);
                 return false;
             }
+            try {
+                DatasetSnapshot.write(Paths.get(snapshotPath()), modelInstance, sha256);
+            } catch (IOException e) {
+                // The next process parses the file again
+                logger.warn("Failed to store the snapshot of dataset {}", name, e);
+            }
+        }
+
+        if (parsedModels.size() >= MAX_PARSED_MODELS) {
+            // Clear 20% of cache when full
+            parsedModels.keySet().stream()
+                .limit(MAX_PARSED_MODELS / 5)
+                .forEach(parsedModels::remove);
+        }
+        parsedModels.put(path, new ParsedModel(model, sha256, modelInstance));
         return true;
     }
 
+    private static String sha256(String path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream is = Files.newInputStream(Paths.get(path))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Clears the models parsed in this process. Mainly for testing purposes.
+     */
+    public static void clearParsedModels() {
+        parsedModels.clear();
+    }
+
+    /**
+     * @param freshnessTtl how long a downloaded file is used without checking whether it changed,
+     *                     zero to check it on every download
+     */
+    public void setFreshnessTtl(Duration freshnessTtl) {
+        Objects.requireNonNull(freshnessTtl);
+        if (freshnessTtl.isNegative()) {
+            throw new IllegalArgumentException("Freshness TTL cannot be negative: " + freshnessTtl);
+        }
+        this.freshnessTtl = freshnessTtl;
+    }
+
+    public Duration getFreshnessTtl() {
+        return freshnessTtl;
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
     public String getName() {
         return this.name;
     }
 
+    public Class<T> getModelClass() {
+        return this.model;
+    }
+
     public T getData() {
         return this.modelInstance;
     }
+
+    private record ParsedModel(Class<?> model, String sha256, Object instance) {
+
+    }
 }
@@ -3,6 +3,7 @@ package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.annotation.*;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,7 +35,7 @@ public class DNSSecAlgNumbers extends XmlObject {
   }
 
   @XmlAccessorType(XmlAccessType.FIELD)
-  static class Registry {
+  static class Registry implements Serializable {
 
     @XmlAttribute(name = "id", namespace = "http://www.iana.org/assignments")
     private String id;
@@ -46,7 +47,7 @@ public class DNSSecAlgNumbers extends XmlObject {
   }
 
   @XmlAccessorType(XmlAccessType.FIELD)
-  static class DnsSecAlgNumbersRecord {
+  static class DnsSecAlgNumbersRecord implements Serializable {
 
     @XmlElement(name = "number", namespace = "http://www.iana.org/assignments")
     String number = "";  // can be a range "x-y"
@@ -4,6 +4,7 @@ import static org.icann.rdapconformance.validator.CommonUtils.DASH;
 
 import jakarta.xml.bind.annotation.*;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,7 +23,7 @@ public class DsRrTypes extends XmlObject {
   }
 
   @XmlAccessorType(XmlAccessType.FIELD)
-  private static class Record {
+  private static class Record implements Serializable {
 
     @XmlElement(name = "value", namespace = "http://www.iana.org/assignments")
     private String value;
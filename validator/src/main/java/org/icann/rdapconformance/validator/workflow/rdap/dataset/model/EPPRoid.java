@@ -17,6 +17,11 @@ public class EPPRoid extends EnumDatasetModel<EPPRoid.EPPRoidRecord> {
     return this.eppRoidRecords;
   }
 
+  @Override
+  protected String getValueElement() {
+    return "id";
+  }
+
   @Override
   String transform(String value) {
     return value.split(",", 2)[0];
@@ -5,11 +5,14 @@ import jakarta.xml.bind.Unmarshaller;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import static java.util.stream.Collectors.toSet;
 
 
-public abstract class EnumDatasetModel<T extends EnumDatasetModelRecord> extends XmlObject implements DatasetValidatorModel {
+public abstract class EnumDatasetModel<T extends EnumDatasetModelRecord> extends XmlObject implements DatasetValidatorModel,
+    StreamingXmlDatasetModel {
 
   private Set<String> records = new HashSet<>();
 
@@ -17,8 +20,26 @@ public abstract class EnumDatasetModel<T extends EnumDatasetModelRecord> extends
     this.records = getValueRecords().stream().map(r -> transform(r.getValue())).collect(toSet());
   }
 
+  @Override
+  public void read(XMLStreamReader reader) throws XMLStreamException {
+    String valueElement = getValueElement();
+    Set<String> values = new HashSet<>();
+    IanaRecordReader.forEachRecord(reader, Set.of(valueElement), record -> {
+      String value = record.get(valueElement);
+      if (value != null) {
+        values.add(transform(value));
+      }
+    });
+    this.records = values;
+  }
+
   protected abstract List<T> getValueRecords();
 
+  /**
+   * @return the local name of the record element holding the value, when streaming the file
+   */
+  protected abstract String getValueElement();
+
   String transform(String value) {
     return value;
   }
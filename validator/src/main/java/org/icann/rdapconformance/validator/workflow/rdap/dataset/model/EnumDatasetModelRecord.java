@@ -1,6 +1,8 @@
 package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 
-public interface EnumDatasetModelRecord {
+import java.io.Serializable;
+
+public interface EnumDatasetModelRecord extends Serializable {
 
     String getValue();
 }
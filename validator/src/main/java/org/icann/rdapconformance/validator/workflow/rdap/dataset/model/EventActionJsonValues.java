@@ -1,17 +1,18 @@
 package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 
+import java.util.Set;
 import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RDAPJsonValues.JsonValueType;
 
 public class EventActionJsonValues implements DatasetValidatorModel {
 
-  private final RDAPJsonValues rdapJsonValues;
+  private final Set<String> values;
 
   public EventActionJsonValues(RDAPJsonValues rdapJsonValues) {
-    this.rdapJsonValues = rdapJsonValues;
+    this.values = rdapJsonValues.getByType(JsonValueType.EVENT_ACTION);
   }
 
   @Override
   public boolean isInvalid(String subject) {
-    return !rdapJsonValues.getByType(JsonValueType.EVENT_ACTION).contains(subject);
+    return !values.contains(subject);
   }
 }
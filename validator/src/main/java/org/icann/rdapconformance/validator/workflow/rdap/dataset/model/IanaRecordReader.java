@@ -0,0 +1,111 @@
+package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the records of an IANA registry file, whatever registry they are nested in.
+ */
+final class IanaRecordReader {
+
+  static final String IANA_NAMESPACE = "http://www.iana.org/assignments";
+  private static final String RECORD = "record";
+  // Longer values of digits may not fit in an int
+  private static final int MAX_NUMBER_DIGITS = 9;
+
+  private IanaRecordReader() {
+  }
+
+  /**
+   * Calls the consumer with each record of the document, as the text content of its requested
+   * elements by local name. The requested elements can be nested in other elements of the
+   * record, e.g. the server of a registrar RDAP URL; an element found several times keeps its
+   * last value, and an element missing from the record has no entry.
+   *
+   * @param reader   the reader, positioned before the records
+   * @param fields   the local names of the elements to read
+   * @param consumer called with the fields of each record, in document order
+   */
+  static void forEachRecord(XMLStreamReader reader, Set<String> fields,
+      RecordConsumer consumer) throws XMLStreamException {
+    Map<String, String> record = null;
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        String name = reader.getLocalName();
+        if (record == null) {
+          if (RECORD.equals(name) && IANA_NAMESPACE.equals(reader.getNamespaceURI())) {
+            record = new HashMap<>();
+          }
+        } else if (fields.contains(name)) {
+          record.put(name, readText(reader));
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT && record != null
+          && RECORD.equals(reader.getLocalName())) {
+        consumer.accept(record);
+        record = null;
+      }
+    }
+  }
+
+  /**
+   * @return the value of the given field of the record
+   * @throws XMLStreamException if the record does not have this field
+   */
+  static String requireField(Map<String, String> record, String field) throws XMLStreamException {
+    String value = record.get(field);
+    if (value == null) {
+      throw new XMLStreamException("Record without " + field + ": " + record);
+    }
+    return value;
+  }
+
+  /**
+   * @param value the text of a field, surrounding spaces are ignored
+   * @param field the name of the field, for the error message
+   * @return the non-negative number the text holds
+   * @throws XMLStreamException if the text is not a number of at most 9 digits
+   */
+  static int parseNumber(String value, String field) throws XMLStreamException {
+    String digits = value.strip();
+    if (digits.isEmpty() || digits.length() > MAX_NUMBER_DIGITS
+        || !digits.chars().allMatch(c -> c >= '0' && c <= '9')) {
+      throw new XMLStreamException("Invalid " + field + " in record: " + value);
+    }
+    return Integer.parseInt(digits);
+  }
+
+  /**
+   * Receives the fields of each record.
+   */
+  @FunctionalInterface
+  interface RecordConsumer {
+
+    void accept(Map<String, String> record) throws XMLStreamException;
+  }
+
+  /**
+   * Reads the text content of the current element, including the text of its child elements,
+   * and leaves the reader on its end tag.
+   */
+  private static String readText(XMLStreamReader reader) throws XMLStreamException {
+    StringBuilder text = new StringBuilder();
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      switch (event) {
+        case XMLStreamConstants.START_ELEMENT -> depth++;
+        case XMLStreamConstants.END_ELEMENT -> depth--;
+        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+            text.append(reader.getText());
+        default -> {
+        }
+      }
+    }
+    return text.toString();
+  }
+}
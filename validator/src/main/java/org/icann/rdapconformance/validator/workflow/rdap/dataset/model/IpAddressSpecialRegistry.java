@@ -1,28 +1,48 @@
 package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 
-import inet.ipaddr.IPAddressString;
+import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlElementWrapper;
+import jakarta.xml.bind.annotation.XmlTransient;
 import jakarta.xml.bind.annotation.adapters.XmlAdapter;
 import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import org.w3c.dom.Node;
 
 import java.util.List;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 public abstract class IpAddressSpecialRegistry extends EnumDatasetModel<IpAddressSpecialRegistry.IpAddressSpecialRecord> {
   @XmlElementWrapper(name = "registry", namespace = "http://www.iana.org/assignments")
   @XmlElement(name = "record", namespace = "http://www.iana.org/assignments")
   private List<IpAddressSpecialRecord> ipAddressSpecialRecords;
 
+  @XmlTransient
+  private final IpPrefixIndex.Lazy specialIndex = new IpPrefixIndex.Lazy();
+
+  @Override
+  public void afterUnmarshal(Unmarshaller u, Object parent) {
+    super.afterUnmarshal(u, parent);
+    specialIndex.reset();
+  }
+
+  @Override
+  public void read(XMLStreamReader reader) throws XMLStreamException {
+    super.read(reader);
+    specialIndex.reset();
+  }
+
   @Override
   protected List<IpAddressSpecialRecord> getValueRecords() {
     return this.ipAddressSpecialRecords;
   }
+
+  @Override
+  protected String getValueElement() {
+    return "address";
+  }
   public boolean isInvalid(String ip) {
-    return getValues().stream().anyMatch(specialIp -> {
-      IPAddressString net = new IPAddressString(specialIp.trim());
-      return net.contains(new IPAddressString(ip.trim()));
-    });
+    return specialIndex.get(this::getValues).contains(ip.trim());
   }
 
   protected static class IpAddressSpecialRecord implements EnumDatasetModelRecord {
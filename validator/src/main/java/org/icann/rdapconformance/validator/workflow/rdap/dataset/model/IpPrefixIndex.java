@@ -0,0 +1,164 @@
+package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
+
+import inet.ipaddr.IPAddress;
+import inet.ipaddr.IPAddress.IPVersion;
+import inet.ipaddr.IPAddressString;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A binary prefix trie of the networks of an IP dataset, answering whether an IP address belongs
+ * to one of them with a walk of at most the address length instead of comparing the address with
+ * every network.
+ *
+ * <p>The answers are the same as {@link IPAddressString#contains(IPAddressString)} tested against
+ * each network: networks that cannot be parsed never match, IPv4 networks never contain IPv6
+ * addresses and conversely. The few networks or addresses that are ranges rather than CIDR
+ * blocks, e.g. {@code 1.2.3.4-5}, are compared one by one.</p>
+ */
+final class IpPrefixIndex {
+
+  private final Node ipv4Root = new Node();
+  private final Node ipv6Root = new Node();
+  private final List<IPAddress> networks = new ArrayList<>();
+  private final List<IPAddress> rangeNetworks = new ArrayList<>();
+
+  private IpPrefixIndex() {
+  }
+
+  /**
+   * @param networks the networks in CIDR notation, surrounding spaces are ignored
+   * @return the index of the parseable networks
+   */
+  static IpPrefixIndex of(Collection<String> networks) {
+    IpPrefixIndex index = new IpPrefixIndex();
+    for (String network : networks) {
+      if (network != null) {
+        index.add(new IPAddressString(network.trim()).getAddress());
+      }
+    }
+    return index;
+  }
+
+  private void add(IPAddress network) {
+    if (network == null) {
+      return;
+    }
+    networks.add(network);
+    Integer prefixLength = network.getPrefixLengthForSingleBlock();
+    if (prefixLength == null) {
+      rangeNetworks.add(network);
+      return;
+    }
+
+    byte[] bytes = network.getBytes();
+    Node node = root(network);
+    for (int bit = 0; bit < prefixLength; bit++) {
+      if (node.terminal) {
+        // Already covered by a shorter prefix
+        return;
+      }
+      node = node.child(bitAt(bytes, bit), true);
+    }
+    node.terminal = true;
+  }
+
+  /**
+   * @param ip the IP address, or a CIDR block
+   * @return true if one of the networks contains it
+   */
+  boolean contains(String ip) {
+    if (ip == null) {
+      return false;
+    }
+    IPAddress address = new IPAddressString(ip).getAddress();
+    if (address == null) {
+      return false;
+    }
+
+    Integer prefixLength = address.getPrefixLengthForSingleBlock();
+    if (prefixLength == null) {
+      // A range: only the general containment test knows about it
+      return networks.stream().anyMatch(network -> network.contains(address));
+    }
+    return containsBlock(address, prefixLength)
+        || (!rangeNetworks.isEmpty() && rangeNetworks.stream().anyMatch(network -> network.contains(address)));
+  }
+
+  private boolean containsBlock(IPAddress address, int prefixLength) {
+    byte[] bytes = address.getBytes();
+    Node node = root(address);
+    for (int bit = 0; bit < prefixLength; bit++) {
+      if (node.terminal) {
+        return true;
+      }
+      node = node.child(bitAt(bytes, bit), false);
+      if (node == null) {
+        return false;
+      }
+    }
+    return node.terminal;
+  }
+
+  private Node root(IPAddress address) {
+    return address.getIPVersion() == IPVersion.IPV4 ? ipv4Root : ipv6Root;
+  }
+
+  private static int bitAt(byte[] bytes, int bit) {
+    return (bytes[bit >>> 3] >>> (7 - (bit & 7))) & 1;
+  }
+
+  /**
+   * The index of a dataset, built from its networks on the first lookup and built again after
+   * {@link #reset()}, once the dataset has been read again.
+   */
+  static final class Lazy implements Serializable {
+
+    private transient volatile IpPrefixIndex index;
+
+    /**
+     * @param networks the networks to index if the index is not built yet
+     * @return the index
+     */
+    IpPrefixIndex get(Supplier<? extends Collection<String>> networks) {
+      IpPrefixIndex result = index;
+      if (result == null) {
+        synchronized (this) {
+          result = index;
+          if (result == null) {
+            result = IpPrefixIndex.of(networks.get());
+            index = result;
+          }
+        }
+      }
+      return result;
+    }
+
+    void reset() {
+      index = null;
+    }
+  }
+
+  private static final class Node {
+
+    private Node zero;
+    private Node one;
+    private boolean terminal;
+
+    private Node child(int bit, boolean create) {
+      Node child = bit == 0 ? zero : one;
+      if (child == null && create) {
+        child = new Node();
+        if (bit == 0) {
+          zero = child;
+        } else {
+          one = child;
+        }
+      }
+      return child;
+    }
+  }
+}
@@ -1,31 +1,50 @@
 package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 
-import inet.ipaddr.IPAddressString;
 import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlTransient;
 
 import java.io.InputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 
 @XmlAccessorType(XmlAccessType.FIELD)
 @XmlRootElement(name = "registry", namespace = "http://www.iana.org/assignments")
-public class Ipv4AddressSpace extends XmlObject implements DatasetValidatorModel {
+public class Ipv4AddressSpace extends XmlObject implements DatasetValidatorModel,
+    StreamingXmlDatasetModel {
 
     @XmlElement(name = "record", namespace = "http://www.iana.org/assignments")
     private final List<Ipv4AddressSpaceRecord> records = new ArrayList<>();
 
+    @XmlTransient
+    private final IpPrefixIndex.Lazy allocatedIndex = new IpPrefixIndex.Lazy();
+
     public boolean isInvalid(String ipAddress) {
-        return records.stream()
-                      .filter(r -> r.getStatus().equals("ALLOCATED") || r.getStatus().equals("LEGACY"))
-                      .noneMatch(r -> {
-                          IPAddressString net = new IPAddressString(r.getPrefix());
-                          return net.contains(new IPAddressString(ipAddress));
-                      });
+        return !allocatedIndex.get(() -> records.stream()
+                                               .filter(r -> r.getStatus().equals("ALLOCATED") || r.getStatus().equals("LEGACY"))
+                                               .map(Ipv4AddressSpaceRecord::getPrefix)
+                                               .collect(Collectors.toList()))
+                              .contains(ipAddress);
+    }
+
+    @Override
+    public void read(XMLStreamReader reader) throws XMLStreamException {
+        IanaRecordReader.forEachRecord(reader, Set.of("prefix", "status"), record -> {
+            String prefix = IanaRecordReader.requireField(record, "prefix");
+            int firstOctet = IanaRecordReader.parseNumber(prefix.split("/")[0], "prefix");
+            records.add(new Ipv4AddressSpaceRecord(Ipv4AddressSpaceRecord.toNetwork(firstOctet),
+                IanaRecordReader.requireField(record, "status")));
+        });
+        allocatedIndex.reset();
     }
 
     @Override
@@ -34,7 +53,7 @@ public class Ipv4AddressSpace extends XmlObject implements DatasetValidatorModel
     }
 
     @XmlAccessorType(XmlAccessType.FIELD)
-    public static class Ipv4AddressSpaceRecord {
+    public static class Ipv4AddressSpaceRecord implements Serializable {
 
         @XmlElement(name = "prefix", namespace = "http://www.iana.org/assignments")
         private String prefix;
@@ -55,7 +74,21 @@ public class Ipv4AddressSpace extends XmlObject implements DatasetValidatorModel
             this.status = status;
         }
         void afterUnmarshal(Unmarshaller u, Object parent) {
-            this.prefix = String.format("%d.0.0.0/8", Integer.valueOf(this.prefix.split("/")[0]));
+            this.prefix = toNetwork(this.prefix);
+        }
+
+        /**
+         * @return the network of a registry prefix, e.g. 1.0.0.0/8 for 001/8
+         */
+        static String toNetwork(String prefix) {
+            return toNetwork(Integer.parseInt(prefix.split("/")[0]));
+        }
+
+        /**
+         * @return the network of the /8 registry prefix starting with the given octet
+         */
+        static String toNetwork(int firstOctet) {
+            return String.format("%d.0.0.0/8", firstOctet);
         }
 
         public Ipv4AddressSpaceRecord() {
@@ -2,11 +2,12 @@ package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import javax.xml.parsers.ParserConfigurationException;
 
-import inet.ipaddr.IPAddressString;
 import jakarta.xml.bind.annotation.*;
 import org.xml.sax.SAXException;
 
@@ -20,6 +21,9 @@ public class Ipv6AddressSpace extends XmlObject implements DatasetValidatorModel
   @XmlElement(name = "record", namespace = "http://www.iana.org/assignments")
   private final List<Ipv6AddressSpaceRecord> records = new ArrayList<>();
 
+  @XmlTransient
+  private final IpPrefixIndex.Lazy globalUnicastIndex = new IpPrefixIndex.Lazy();
+
   /**
    * Read from an XML file using the DOM.
    *
@@ -38,21 +42,16 @@ public class Ipv6AddressSpace extends XmlObject implements DatasetValidatorModel
   public boolean isInvalid(String ipAddress) {
     // Return true (invalid) if the IPv6 address is NOT in Global Unicast address space
     // According to spec 7.1.2.2, IPv6 address MUST be part of "Global Unicast" allocation
-    return records.stream()
-        .filter(r -> GLOBAL_UNICAST.equals(r.getDescription()))
-        .noneMatch(r -> {
-          try {
-            IPAddressString net = new IPAddressString(r.getPrefix());
-            return net.contains(new IPAddressString(ipAddress));
-          } catch (Exception e) {
-            // If there's an error parsing the address or prefix, treat as invalid
-            return false;
-          }
-        });
+    // Unparseable prefixes are left out of the index, so they never contain the address
+    return !globalUnicastIndex.get(() -> records.stream()
+            .filter(r -> GLOBAL_UNICAST.equals(r.getDescription()))
+            .map(Ipv6AddressSpaceRecord::getPrefix)
+            .collect(Collectors.toList()))
+        .contains(ipAddress);
   }
 
   @XmlAccessorType(XmlAccessType.FIELD)
-  public static class Ipv6AddressSpaceRecord {
+  public static class Ipv6AddressSpaceRecord implements Serializable {
 
     @XmlElement(name = "prefix", namespace = "http://www.iana.org/assignments")
     private String prefix;
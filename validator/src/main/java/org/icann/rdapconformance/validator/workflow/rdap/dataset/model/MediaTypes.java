@@ -7,18 +7,21 @@ import jakarta.xml.bind.annotation.XmlAttribute;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlRootElement;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Stream;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import static java.util.stream.Collectors.toSet;
 
 @XmlAccessorType(XmlAccessType.FIELD)
 @XmlRootElement(name = "registry", namespace = "http://www.iana.org/assignments")
-public class MediaTypes implements RDAPDatasetModel, DatasetValidatorModel {
+public class MediaTypes implements RDAPDatasetModel, DatasetValidatorModel, StreamingXmlDatasetModel {
 
     @XmlElement(name = "registry", namespace = "http://www.iana.org/assignments")
     private List<MediaTypesRegistry> registries;
@@ -32,6 +35,18 @@ public class MediaTypes implements RDAPDatasetModel, DatasetValidatorModel {
                 .collect(toSet());
     }
 
+    @Override
+    public void read(XMLStreamReader reader) throws XMLStreamException {
+        Set<String> templates = new HashSet<>();
+        IanaRecordReader.forEachRecord(reader, Set.of("file"), record -> {
+            String template = record.get("file");
+            if (template != null) {
+                templates.add(template);
+            }
+        });
+        this.records = templates;
+    }
+
     @Override
     public boolean isInvalid(String subject) {
         return !records.contains(subject);
@@ -42,7 +57,7 @@ public class MediaTypes implements RDAPDatasetModel, DatasetValidatorModel {
     }
 
     @XmlAccessorType(XmlAccessType.FIELD)
-    static class MediaTypesRegistry {
+    static class MediaTypesRegistry implements Serializable {
         @XmlAttribute(name = "id")
         private String id;
 
@@ -57,7 +72,7 @@ public class MediaTypes implements RDAPDatasetModel, DatasetValidatorModel {
     }
 
     @XmlAccessorType(XmlAccessType.FIELD)
-    static class MediaTypesRecord {
+    static class MediaTypesRecord implements Serializable {
 
         @XmlElement(name = "file", namespace = "http://www.iana.org/assignments")
         private String template;
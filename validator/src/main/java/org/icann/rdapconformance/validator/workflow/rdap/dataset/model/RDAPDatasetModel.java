@@ -1,5 +1,12 @@
 package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 
-public interface RDAPDatasetModel {
+import java.io.Serializable;
+
+/**
+ * A parsed dataset. Models are serializable so that they can be stored in a dataset snapshot:
+ * their whole object graph, nested record classes included, must be serializable, and derived
+ * data that is cheap to rebuild can be left transient.
+ */
+public interface RDAPDatasetModel extends Serializable {
 
 }
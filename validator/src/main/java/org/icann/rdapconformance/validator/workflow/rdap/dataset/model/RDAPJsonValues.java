@@ -1,11 +1,16 @@
 package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 
+import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.annotation.*;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 
 @XmlAccessorType(XmlAccessType.FIELD)
@@ -16,12 +21,24 @@ public class RDAPJsonValues extends XmlObject {
   @XmlElement(name = "record", namespace = "http://www.iana.org/assignments")
   private final List<RDAPJsonValuesRecord> records = new ArrayList<>();
 
-  public Set<String> getByType(JsonValueType type) {
-    return records.stream()
+  // Computed once after unmarshalling, the sub datasets check every status, role, etc. against it
+  @XmlTransient
+  private Map<JsonValueType, Set<String>> valuesByType = new EnumMap<>(JsonValueType.class);
+
+  void afterUnmarshal(Unmarshaller u, Object parent) {
+    Map<JsonValueType, Set<String>> byType = new EnumMap<>(JsonValueType.class);
+    records.stream()
         .filter(r -> r.type != null)  // this may append when new value types are created
-        .filter(r -> r.type.equals(type))
-        .map(RDAPJsonValuesRecord::getValue)
-        .collect(Collectors.toSet());
+        .forEach(r -> byType.computeIfAbsent(r.type, k -> new HashSet<>()).add(r.getValue()));
+    byType.replaceAll((type, values) -> Collections.unmodifiableSet(values));
+    this.valuesByType = byType;
+  }
+
+  /**
+   * @return the unmodifiable set of the values of the given type
+   */
+  public Set<String> getByType(JsonValueType type) {
+    return valuesByType.getOrDefault(type, Set.of());
   }
 
   @XmlEnum
@@ -37,7 +54,7 @@ public class RDAPJsonValues extends XmlObject {
   }
 
   @XmlAccessorType(XmlAccessType.FIELD)
-  private static class RDAPJsonValuesRecord {
+  private static class RDAPJsonValuesRecord implements Serializable {
 
     @XmlElement(name = "type", namespace = "http://www.iana.org/assignments")
     private JsonValueType type;
@@ -1,19 +1,18 @@
 package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 
+import java.util.Set;
 import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RDAPJsonValues.JsonValueType;
 
 public class RDAPSubJsonValues implements DatasetValidatorModel {
 
-  private final RDAPJsonValues rdapJsonValues;
-  private final JsonValueType jsonValueType;
+  private final Set<String> values;
 
   public RDAPSubJsonValues(RDAPJsonValues rdapJsonValues, JsonValueType jsonValueType) {
-    this.rdapJsonValues = rdapJsonValues;
-    this.jsonValueType = jsonValueType;
+    this.values = rdapJsonValues.getByType(jsonValueType);
   }
 
   @Override
   public boolean isInvalid(String subject) {
-    return !rdapJsonValues.getByType(jsonValueType).contains(subject);
+    return !values.contains(subject);
   }
 }
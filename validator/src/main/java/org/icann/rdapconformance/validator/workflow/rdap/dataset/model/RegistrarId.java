@@ -3,6 +3,7 @@ package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.annotation.*;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -11,10 +12,12 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 @XmlRootElement(name = "registry", namespace = "http://www.iana.org/assignments")
 @XmlAccessorType(XmlAccessType.FIELD)
-public class RegistrarId implements RDAPDatasetModel {
+public class RegistrarId implements RDAPDatasetModel, StreamingXmlDatasetModel {
 
     @XmlElementWrapper(name = "registry", namespace = "http://www.iana.org/assignments")
     @XmlElement(name = "record", namespace = "http://www.iana.org/assignments")
@@ -31,6 +34,23 @@ public class RegistrarId implements RDAPDatasetModel {
         this.names = records.stream().map(Record::getName).collect(Collectors.toSet());
     }
 
+    @Override
+    public void read(XMLStreamReader reader) throws XMLStreamException {
+        Map<Integer, Record> byIdentifier = new HashMap<>();
+        Set<String> recordNames = new HashSet<>();
+        IanaRecordReader.forEachRecord(reader, Set.of("value", "name", "status", "server"), fields -> {
+            int value = IanaRecordReader.parseNumber(IanaRecordReader.requireField(fields, "value"), "value");
+            // Same defaults as when unmarshalled: no RDAP URL is an empty one
+            String server = fields.get("server");
+            Record record = new Record(value, fields.get("name"),
+                    server != null ? server : "", fields.get("status"), null);
+            byIdentifier.put(record.getValue(), record);
+            recordNames.add(record.getName());
+        });
+        this.recordByIdentifier = byIdentifier;
+        this.names = recordNames;
+    }
+
     public boolean containsId(int registrarId) {
         return recordByIdentifier.containsKey(registrarId);
     }
@@ -40,7 +60,7 @@ public class RegistrarId implements RDAPDatasetModel {
     }
 
     @XmlAccessorType(XmlAccessType.FIELD)
-    public static class Record {
+    public static class Record implements Serializable {
 
         public static final String ACCREDITED = "Accredited";
         public static final String RESERVED = "Reserved";
@@ -126,7 +146,7 @@ public class RegistrarId implements RDAPDatasetModel {
     }
 
     @XmlAccessorType(XmlAccessType.FIELD)
-    public static class RdapUrl {
+    public static class RdapUrl implements Serializable {
         @XmlElement(name = "server", namespace = "http://www.iana.org/assignments")
         private String server = "";
 
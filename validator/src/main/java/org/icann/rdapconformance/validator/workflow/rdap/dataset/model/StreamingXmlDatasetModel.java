@@ -0,0 +1,16 @@
+package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A dataset model read from its XML file with a streaming parser instead of being unmarshalled
+ * with JAXB: only the fields the model keeps are read, straight into its final structures.
+ */
+public interface StreamingXmlDatasetModel extends RDAPDatasetModel {
+
+  /**
+   * Reads the model from the given reader, positioned at the start of the document.
+   */
+  void read(XMLStreamReader reader) throws XMLStreamException;
+}
@@ -19,6 +19,11 @@ public class ValueAttributeDatasetModel extends EnumDatasetModel<ValueAttributeD
         return linkRelationRecords;
     }
 
+    @Override
+    protected String getValueElement() {
+        return "value";
+    }
+
     @XmlAccessorType(XmlAccessType.FIELD)
     protected static class ValueAttributeRecord implements EnumDatasetModelRecord {
         @XmlElement(name = "value", namespace = "http://www.iana.org/assignments")
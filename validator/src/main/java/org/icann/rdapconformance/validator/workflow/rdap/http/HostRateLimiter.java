@@ -0,0 +1,214 @@
+package org.icann.rdapconformance.validator.workflow.rdap.http;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the rate of the requests sent to each host by all the validations of this process.
+ *
+ * <p>Each host has a token bucket allowing a burst of requests, refilled at a steady rate. By
+ * default the rate is not limited until a host answers 429. A 429 response stops all requests to
+ * its host for the Retry-After delay and slows the host down to one request per second, or half
+ * its current rate if already slower. The rate then recovers with every successful response. The
+ * requests waiting for their turn are scheduled, rather than each sleeping on its own.</p>
+ */
+public final class HostRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(HostRateLimiter.class);
+
+    // No limit until a host answers 429
+    public static final double DEFAULT_REQUESTS_PER_SECOND = 0;
+    public static final int DEFAULT_BURST = 10;
+    // The rate of a host after its first 429 response
+    private static final long THROTTLED_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // A throttled host recovered to this rate is no longer throttled
+    private static final long RECOVERED_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    // The slowest rate a host is throttled down to after 429 responses
+    private static final long MAX_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    // The longest a host is blocked by a Retry-After delay, same as the retries of a request
+    static final Duration MAX_RETRY_AFTER = Duration.ofSeconds(RDAPHttpRequest.MAX_RETRY_TIME);
+    private static final int MAX_HOSTS = 1000;
+
+    private static final HostRateLimiter shared = new HostRateLimiter(System::nanoTime,
+        (delayNanos, task) -> CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(task));
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>(16, 0.75f, 1);
+    private final LongSupplier nanoTime;
+    private final Scheduler scheduler;
+    private volatile long baseIntervalNanos;
+    private volatile int burst;
+
+    HostRateLimiter(LongSupplier nanoTime, Scheduler scheduler) {
+        this.nanoTime = nanoTime;
+        this.scheduler = scheduler;
+        configure(DEFAULT_REQUESTS_PER_SECOND, DEFAULT_BURST);
+    }
+
+    /**
+     * @return the limiter shared by all the requests of this process
+     */
+    public static HostRateLimiter shared() {
+        return shared;
+    }
+
+    /**
+     * Sets the rate allowed to each host. The hosts throttled by 429 responses keep their lower
+     * rate until they recover.
+     *
+     * @param requestsPerSecond the steady number of requests per second to a host, 0 for no limit
+     *                          until the host answers 429
+     * @param burst             the number of requests sent at once to a host after it was idle
+     */
+    public void configure(double requestsPerSecond, int burst) {
+        if (!(requestsPerSecond >= 0) || Double.isInfinite(requestsPerSecond) || burst < 1) {
+            throw new IllegalArgumentException(
+                "Invalid rate limit: " + requestsPerSecond + " requests per second, burst of " + burst);
+        }
+        this.baseIntervalNanos = requestsPerSecond == 0
+            ? 0
+            : Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+        this.burst = burst;
+    }
+
+    /**
+     * Reserves the turn of a request to the host.
+     *
+     * @param host the host of the request
+     * @return a future completed when the request can be sent
+     */
+    public CompletableFuture<Void> acquire(String host) {
+        long waitNanos = bucket(host).reserve(nanoTime.getAsLong());
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        logger.debug("Waiting {} ms for the turn of a request to {}", TimeUnit.NANOSECONDS.toMillis(waitNanos), host);
+        CompletableFuture<Void> turn = new CompletableFuture<>();
+        scheduler.schedule(waitNanos, () -> turn.complete(null));
+        return turn;
+    }
+
+    /**
+     * Records a 429 response of the host: no request is sent to the host before the given delay
+     * and its rate is lowered.
+     *
+     * @param host       the host of the request
+     * @param retryAfter the delay requested by the host, capped at {@link #MAX_RETRY_AFTER}
+     */
+    public void onTooManyRequests(String host, Duration retryAfter) {
+        Duration delay = retryAfter.compareTo(MAX_RETRY_AFTER) > 0 ? MAX_RETRY_AFTER : retryAfter;
+        bucket(host).throttle(nanoTime.getAsLong(), delay.toNanos());
+    }
+
+    /**
+     * Records a response of the host other than 429, bringing its rate back towards the
+     * configured one.
+     *
+     * @param host the host of the request
+     */
+    public void onSuccess(String host) {
+        Bucket bucket = buckets.get(key(host));
+        if (bucket != null) {
+            bucket.recover();
+        }
+    }
+
+    /**
+     * Forgets the state of all the hosts. Mainly for testing purposes.
+     */
+    public void clear() {
+        buckets.clear();
+    }
+
+    private Bucket bucket(String host) {
+        String key = key(host);
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= MAX_HOSTS) {
+            // Only forget the hosts a new bucket would treat the same, never those backing off
+            long now = nanoTime.getAsLong();
+            buckets.values().removeIf(idle -> idle.isIdle(now));
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(nanoTime.getAsLong()));
+    }
+
+    private static String key(String host) {
+        return host == null ? "" : host.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Runs a task after a delay.
+     */
+    interface Scheduler {
+
+        void schedule(long delayNanos, Runnable task);
+    }
+
+    // Token bucket tracked as the theoretical arrival time of the next request (GCRA)
+    private final class Bucket {
+
+        private long nextArrivalNanos;
+        private long blockedUntilNanos;
+        // Interval between requests once throttled by 429 responses, 0 if the host is not throttled
+        private long throttledIntervalNanos;
+
+        private Bucket(long now) {
+            this.nextArrivalNanos = now;
+            this.blockedUntilNanos = now;
+        }
+
+        private long intervalNanos() {
+            return Math.max(baseIntervalNanos, throttledIntervalNanos);
+        }
+
+        synchronized long reserve(long now) {
+            long intervalNanos = intervalNanos();
+            // No burst while the host is throttled
+            int allowedBurst = throttledIntervalNanos > 0 ? 1 : burst;
+            long start = blockedUntilNanos - now > 0 ? blockedUntilNanos : now;
+            long arrival = nextArrivalNanos - start > 0 ? nextArrivalNanos : start;
+            long allowedAt = arrival - (allowedBurst - 1) * intervalNanos;
+            if (allowedAt - start < 0) {
+                allowedAt = start;
+            }
+            nextArrivalNanos = arrival + intervalNanos;
+            return allowedAt - now;
+        }
+
+        synchronized void throttle(long now, long retryAfterNanos) {
+            long blockedUntil = now + retryAfterNanos;
+            if (blockedUntil - blockedUntilNanos > 0) {
+                blockedUntilNanos = blockedUntil;
+            }
+            throttledIntervalNanos = Math.min(MAX_INTERVAL_NANOS,
+                Math.max(THROTTLED_INTERVAL_NANOS, intervalNanos() * 2));
+            if (blockedUntilNanos - nextArrivalNanos > 0) {
+                nextArrivalNanos = blockedUntilNanos;
+            }
+            logger.debug("Rate of requests throttled to one every {} ms",
+                TimeUnit.NANOSECONDS.toMillis(throttledIntervalNanos));
+        }
+
+        synchronized void recover() {
+            if (throttledIntervalNanos > 0) {
+                throttledIntervalNanos -= throttledIntervalNanos / 10;
+                if (throttledIntervalNanos <= Math.max(baseIntervalNanos, RECOVERED_INTERVAL_NANOS)) {
+                    throttledIntervalNanos = 0;
+                }
+            }
+        }
+
+        // A full bucket of a host that is neither blocked nor throttled
+        synchronized boolean isIdle(long now) {
+            return nextArrivalNanos - now <= 0 && blockedUntilNanos - now <= 0 && throttledIntervalNanos == 0;
+        }
+    }
+}
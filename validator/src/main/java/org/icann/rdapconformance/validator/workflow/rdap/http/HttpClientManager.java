@@ -52,11 +52,13 @@ import java.util.concurrent.TimeUnit;
  * <p>Example usage:</p>
  * <pre>
  * HttpClientManager manager = queryContext.getHttpClientManager();
+ * SSLContext sslContext = manager.getSslContext(TlsContextProvider.TrustPolicy.LEAF_VALIDATING);
  * CloseableHttpClient client = manager.getClient(host, sslContext, localBindIp, timeoutSeconds);
  * // Use client for HTTP requests
  * </pre>
  *
  * @see SSLContext
+ * @see TlsContextProvider
  * @see CloseableHttpClient
  * @see PoolingHttpClientConnectionManager
  * @since 1.0.0
@@ -73,6 +75,9 @@ public class HttpClientManager {
     
     // Cache for clients with different configurations - optimized for low contention
     private final ConcurrentHashMap<ClientConfig, CloseableHttpClient> clientCache;
+    // The SSL contexts of this validation, never shared with another one
+    private final ConcurrentHashMap<TlsContextProvider.TrustPolicy, SSLContext> sslContexts =
+        new ConcurrentHashMap<>(4, 0.75f, 1);
     private final PoolingHttpClientConnectionManager defaultConnectionManager;
 
     /**
@@ -91,6 +96,20 @@ public class HttpClientManager {
 
 
 
+    /**
+     * Returns the SSL context of this manager for the given trust policy, creating it on first use.
+     *
+     * <p>Each manager has its own contexts, so a TLS session is never resumed from another
+     * validation and every validation checks the certificates of the servers it connects to.</p>
+     *
+     * @param trustPolicy the trust policy the context must enforce
+     * @return the SSL context of this manager for this policy
+     * @throws IllegalStateException if the SSL context cannot be initialized
+     */
+    public SSLContext getSslContext(TlsContextProvider.TrustPolicy trustPolicy) {
+        return sslContexts.computeIfAbsent(trustPolicy, TlsContextProvider::createSslContext);
+    }
+
     /**
      * Retrieves or creates an HTTP client configured for the specified requirements.
      *
@@ -294,7 +313,8 @@ public class HttpClientManager {
      * <p>The configuration includes all parameters that affect client behavior:</p>
      * <ul>
      *   <li>Host for SNI and hostname verification</li>
-     *   <li>SSL context for certificate validation</li>
+     *   <li>SSL context for certificate validation, compared by identity; callers obtain
+     *       stable instances from {@link #getSslContext} so that the cache hits</li>
      *   <li>Local bind IP for dual-stack networking</li>
      *   <li>Timeout settings for connections and responses</li>
      * </ul>
@@ -324,7 +344,7 @@ public class HttpClientManager {
         
         private int computeHashCode() {
             int result = host != null ? host.hashCode() : 0;
-            result = 31 * result + (sslContext != null ? sslContext.hashCode() : 0);
+            result = 31 * result + System.identityHashCode(sslContext);
             result = 31 * result + (localBindIp != null ? localBindIp.hashCode() : 0);
             result = 31 * result + timeoutSeconds;
             return result;
@@ -338,7 +358,7 @@ public class HttpClientManager {
             ClientConfig that = (ClientConfig) obj;
             return timeoutSeconds == that.timeoutSeconds &&
                    java.util.Objects.equals(host, that.host) &&
-                   java.util.Objects.equals(sslContext, that.sslContext) &&
+                   sslContext == that.sslContext &&
                    java.util.Objects.equals(localBindIp, that.localBindIp);
         }
         
@@ -116,6 +116,20 @@ public class RDAPHttpQuery implements RDAPQuery {
         this.queryContext = queryContext;
     }
 
+    /**
+     * Creates a fresh query with the same configuration and SSRF setting but no response state.
+     *
+     * <p>Used when a QueryContext is forked into per-round children: each round needs its
+     * own query instance because {@link #run()} stores the response, redirects and status.</p>
+     *
+     * @return a new, not yet run, RDAPHttpQuery
+     */
+    public RDAPHttpQuery copy() {
+        RDAPHttpQuery copy = new RDAPHttpQuery(config);
+        copy.ssrfProtectionEnabled = this.ssrfProtectionEnabled;
+        return copy;
+    }
+
     /**
      * Executes the RDAP HTTP query and performs validation.
      *
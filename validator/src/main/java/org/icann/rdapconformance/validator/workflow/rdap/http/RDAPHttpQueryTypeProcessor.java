@@ -176,7 +176,7 @@ public class RDAPHttpQueryTypeProcessor implements RDAPQueryTypeProcessor {
             return null;
         }
 
-        RDAPQueryType getQueryType() {
+        public RDAPQueryType getQueryType() {
             return this.queryType;
         }
 
@@ -9,7 +9,6 @@ import static org.icann.rdapconformance.validator.CommonUtils.HTTP_TOO_MANY_REQU
 import static org.icann.rdapconformance.validator.CommonUtils.LOCALHOST;
 import static org.icann.rdapconformance.validator.CommonUtils.LOCAL_IPv4;
 import static org.icann.rdapconformance.validator.CommonUtils.ONE;
-import static org.icann.rdapconformance.validator.CommonUtils.PAUSE;
 import static org.icann.rdapconformance.validator.CommonUtils.ZERO;
 
 import java.io.EOFException;
@@ -23,11 +22,11 @@ import java.net.UnknownHostException;
 import java.net.http.HttpTimeoutException;
 
 import java.security.KeyStore;
-import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateExpiredException;
 import java.security.cert.CertificateParsingException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -66,6 +65,7 @@ import javax.net.ssl.SSLSession;
 import javax.net.ssl.SSLContext;
 import java.net.URI;
 import java.net.InetAddress;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.hc.client5.http.classic.methods.HttpGet;
@@ -89,7 +89,8 @@ import org.apache.hc.core5.util.Timeout;
  * <p>Key features include:</p>
  * <ul>
  *   <li>HTTP GET and HEAD request support with configurable timeouts</li>
- *   <li>Automatic retry handling for 429 (Too Many Requests) responses</li>
+ *   <li>Automatic retry handling for 429 (Too Many Requests) responses, paced per host by the
+ *       {@link HostRateLimiter} shared by all requests</li>
  *   <li>IPv4/IPv6 dual-stack networking with proper local address binding</li>
  *   <li>Custom SSL/TLS certificate validation for RDAP requirements</li>
  *   <li>Comprehensive error classification and reporting</li>
@@ -484,6 +485,21 @@ public class RDAPHttpRequest {
      }
  }
 
+    // Parks the caller until its turn: the validation rounds and batch workers run on virtual threads.
+    // Returns false, with the interrupt status kept, if the caller was interrupted while waiting
+    private static boolean awaitTurn(HostRateLimiter rateLimiter, String host) {
+        try {
+            rateLimiter.acquire(host).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            // The turn is only ever completed normally
+            logger.debug("Unable to wait for the turn of a request to {}", host, e);
+        }
+        return true;
+    }
+
     private static long getBackoffTime(org.apache.hc.core5.http.Header[] headers) {
         String retryAfter = headers == null ? null :
             java.util.Arrays.stream(headers)
@@ -929,21 +945,32 @@ public class RDAPHttpRequest {
                                             .build();
         request.setConfig(config);
 
-        X509TrustManager leafCheckingTm = createLeafValidatingTrustManager();
-        SSLContext sslContext = SSLContext.getInstance("TLS");
-        sslContext.init(null, new TrustManager[] { leafCheckingTm }, new SecureRandom());
+        // SSL context of the validation so the HttpClientManager cache hits across requests of the run
+        SSLContext sslContext = qctx.getHttpClientManager().getSslContext(TlsContextProvider.TrustPolicy.LEAF_VALIDATING);
 
         // Use QueryContext's HttpClientManager instead of singleton
         CloseableHttpClient client = qctx.getHttpClientManager().getClient(host, sslContext, localBindIp, timeoutSeconds);
 
         // CRITICAL: 429 retry logic with backoff (restored from master)
         int attempt = ZERO;
+        HostRateLimiter rateLimiter = HostRateLimiter.shared();
 
         while (attempt <= MAX_RETRIES) {
             ClassicHttpResponse response = null;
             int statusCode = ZERO;
             String body = EMPTY_STRING;
 
+            // Wait for the turn of this request to the host, past any backoff requested by the host
+            if (!awaitTurn(rateLimiter, host)) {
+                logger.debug("Interrupted while waiting for the turn of a request to {}", host);
+                tracker.completeTrackingById(trackingId, ZERO, ConnectionStatus.CONNECTION_FAILED);
+                SimpleHttpResponse interruptedResponse = new SimpleHttpResponse(
+                    trackingId, ZERO, EMPTY_STRING, originalUri, new Header[ZERO]
+                );
+                interruptedResponse.setConnectionStatusCode(ConnectionStatus.CONNECTION_FAILED);
+                return interruptedResponse;
+            }
+
             try {
                 response = executeRequest(client, request);
                 statusCode = response.getCode();
@@ -961,6 +988,7 @@ public class RDAPHttpRequest {
             // CRITICAL: Handle HTTP 429 Too Many Requests with backoff (restored from master)
             if (statusCode == HTTP_TOO_MANY_REQUESTS) {
                 long backoffSeconds = getBackoffTime(response.getHeaders());
+                rateLimiter.onTooManyRequests(host, Duration.ofSeconds(backoffSeconds));
 
                 if (attempt >= MAX_RETRIES) {
                     logger.debug("Requeried using retry-after wait time but result was a 429.");
@@ -973,19 +1001,13 @@ public class RDAPHttpRequest {
                     simpleHttpResponse.setConnectionStatusCode(ConnectionStatus.TOO_MANY_REQUESTS);
                     return simpleHttpResponse;
                 }
+                // The backoff is applied by the rate limiter before the next attempt
                 attempt++;
-                // Sleep with backoff (restored from master)
-                if (backoffSeconds > ZERO) {
-                    try {
-                        Thread.sleep(backoffSeconds * PAUSE); // Convert seconds to milliseconds
-                    } catch (InterruptedException ignored) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
                 continue;
             }
 
             // Successful response
+            rateLimiter.onSuccess(host);
             tracker.completeTrackingById(trackingId, statusCode, ConnectionStatus.SUCCESS);
             SimpleHttpResponse simpleHttpResponse = new SimpleHttpResponse(
                 trackingId, statusCode, body, originalUri, convertHeaders(response.getHeaders())
@@ -1061,10 +1083,8 @@ public class RDAPHttpRequest {
             host = LOCAL_IPv4; // only do v4, no dual-stack binding
         }
 
-        // Get SSL context and create HTTP client using QueryContext services
-        X509TrustManager leafCheckingTm = createLeafValidatingTrustManager();
-        SSLContext sslContext = SSLContext.getInstance("TLS");
-        sslContext.init(null, new TrustManager[] { leafCheckingTm }, new SecureRandom());
+        // Get the SSL context of the validation and create HTTP client using QueryContext services
+        SSLContext sslContext = qctx.getHttpClientManager().getSslContext(TlsContextProvider.TrustPolicy.LEAF_VALIDATING);
 
         // Use QueryContext's HttpClientManager
         CloseableHttpClient client = qctx.getHttpClientManager().getClient(host, sslContext, localBindIp, timeoutSeconds);
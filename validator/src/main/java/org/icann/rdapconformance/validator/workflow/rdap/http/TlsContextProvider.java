@@ -0,0 +1,71 @@
+package org.icann.rdapconformance.validator.workflow.rdap.http;
+
+import java.security.SecureRandom;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates initialized {@link SSLContext} instances for a {@link TrustPolicy}.
+ *
+ * <p>Creating a trust manager and an {@code SSLContext} for every request defeats the client
+ * cache in {@link HttpClientManager}, which keys clients on the identity of the SSL context.
+ * Each {@code HttpClientManager}, i.e. each validation, therefore creates one context per policy
+ * with this provider and hands out the same instance afterwards, so the HEAD, HTTP-downgrade,
+ * case-folding, help and invalid-redirect queries of a run all share a pooled client for the
+ * same host.</p>
+ *
+ * <p>A context is never shared between validations: its client session cache would let a later
+ * validation resume a TLS session without receiving the certificate chain again, skipping the
+ * leaf expiration and revocation checks.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * SSLContext sslContext = manager.getSslContext(TrustPolicy.LEAF_VALIDATING);
+ * CloseableHttpClient client = manager.getClient(host, sslContext, localBindIp, timeoutSeconds);
+ * </pre>
+ *
+ * @see HttpClientManager#getSslContext(TrustPolicy)
+ * @see RDAPHttpRequest#createLeafValidatingTrustManager()
+ */
+public final class TlsContextProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(TlsContextProvider.class);
+    private static final String TLS = "TLS";
+
+    /**
+     * Trust policies for which an SSL context can be created.
+     */
+    public enum TrustPolicy {
+        /**
+         * Validates the leaf certificate (expiration, revocation) while tolerating untrusted roots.
+         * This is the policy used for all RDAP queries.
+         */
+        LEAF_VALIDATING
+    }
+
+    private TlsContextProvider() {
+        // Utility class - no instantiation
+    }
+
+    /**
+     * Creates a new SSL context for the given trust policy.
+     *
+     * @param trustPolicy the trust policy the context must enforce
+     * @return a new initialized SSLContext
+     * @throws IllegalStateException if the SSL context cannot be initialized
+     */
+    public static SSLContext createSslContext(TrustPolicy trustPolicy) {
+        try {
+            X509TrustManager leafCheckingTm = RDAPHttpRequest.createLeafValidatingTrustManager();
+            SSLContext sslContext = SSLContext.getInstance(TLS);
+            sslContext.init(null, new TrustManager[] { leafCheckingTm }, new SecureRandom());
+            logger.debug("Created SSL context for trust policy {}", trustPolicy);
+            return sslContext;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to initialize SSL context for trust policy " + trustPolicy, e);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package org.icann.rdapconformance.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.xbill.DNS.AAAARecord;
+import org.xbill.DNS.ARecord;
+import org.xbill.DNS.CNAMERecord;
+import org.xbill.DNS.DClass;
+import org.xbill.DNS.Message;
+import org.xbill.DNS.Name;
+import org.xbill.DNS.Rcode;
+import org.xbill.DNS.Record;
+import org.xbill.DNS.Resolver;
+import org.xbill.DNS.SOARecord;
+import org.xbill.DNS.Section;
+import org.xbill.DNS.Type;
+
+public class DNSCacheResolverTest {
+
+  private static final String HOST = "rdap.example.com.";
+
+  private final Map<String, CompletableFuture<Message>> responses = new ConcurrentHashMap<>();
+  private final Map<String, AtomicInteger> queries = new ConcurrentHashMap<>();
+  private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+  private Resolver resolver;
+  private DNSCacheResolver dnsResolver;
+
+  @BeforeMethod
+  public void setUp() {
+    DNSCacheResolver.clearSharedCache();
+    resolver = mock(Resolver.class);
+    when(resolver.sendAsync(any(Message.class))).thenAnswer(invocation -> {
+      Record question = invocation.<Message>getArgument(0).getQuestion();
+      String key = key(question.getName().toString(), question.getType());
+      queries.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+      return response(key);
+    });
+    dnsResolver = dnsResolver(DNSCacheResolver.DEFAULT_MIN_TTL, DNSCacheResolver.DEFAULT_MAX_TTL);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    DNSCacheResolver.clearSharedCache();
+  }
+
+  @Test
+  public void testResolve_SendsBothFamiliesBeforeAnyAnswer() throws Exception {
+    CompletableFuture<List<InetAddress>> v4 = CompletableFuture.supplyAsync(() -> dnsResolver.getAllV4Addresses(HOST));
+
+    awaitQueries(key(HOST, Type.A), key(HOST, Type.AAAA));
+    assertThat(v4).isNotDone();
+
+    answer(HOST, Type.A, new ARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("192.0.2.1")));
+    answer(HOST, Type.AAAA, new AAAARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("2001:db8::1")));
+
+    assertThat(v4.get(5, TimeUnit.SECONDS)).containsExactly(InetAddress.getByName("192.0.2.1"));
+    assertThat(dnsResolver.getAllV6Addresses(HOST)).containsExactly(InetAddress.getByName("2001:db8::1"));
+  }
+
+  @Test
+  public void testResolve_FollowsTheCnameChain() throws Exception {
+    answer(HOST, Type.A, new CNAMERecord(Name.fromString(HOST), DClass.IN, 300, Name.fromString("cdn.example.net.")));
+    answer("cdn.example.net.", Type.A,
+        new ARecord(Name.fromString("cdn.example.net."), DClass.IN, 300, InetAddress.getByName("192.0.2.2")));
+    answer(HOST, Type.AAAA);
+
+    assertThat(dnsResolver.getAllV4Addresses(HOST)).containsExactly(InetAddress.getByName("192.0.2.2"));
+    assertThat(dnsResolver.getAllV6Addresses(HOST)).isEmpty();
+  }
+
+  @Test
+  public void testResolve_CnameLoop_Stops() throws Exception {
+    answer(HOST, Type.A, new CNAMERecord(Name.fromString(HOST), DClass.IN, 300, Name.fromString("loop.example.net.")));
+    answer("loop.example.net.", Type.A,
+        new CNAMERecord(Name.fromString("loop.example.net."), DClass.IN, 300, Name.fromString(HOST)));
+    answer(HOST, Type.AAAA);
+
+    assertThat(dnsResolver.getAllV4Addresses(HOST)).isEmpty();
+    assertThat(queries.get(key(HOST, Type.A))).hasValue(1);
+  }
+
+  @Test
+  public void testResolve_LameFamily_IsBoundedByTheDeadline() throws Exception {
+    dnsResolver.setLookupDeadline(Duration.ofMillis(200));
+    answer(HOST, Type.A, new ARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("192.0.2.1")));
+
+    long start = System.nanoTime();
+    assertThat(dnsResolver.hasNoAddresses(HOST)).isFalse();
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    assertThat(dnsResolver.getAllV4Addresses(HOST)).containsExactly(InetAddress.getByName("192.0.2.1"));
+    assertThat(dnsResolver.getAllV6Addresses(HOST)).isEmpty();
+  }
+
+  @Test
+  public void testResolve_TimedOutFamily_IsResolvedAgain() throws Exception {
+    dnsResolver.setLookupDeadline(Duration.ofMillis(200));
+    answer(HOST, Type.A, new ARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("192.0.2.1")));
+    assertThat(dnsResolver.getAllV6Addresses(HOST)).isEmpty();
+
+    answer(HOST, Type.AAAA, new AAAARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("2001:db8::1")));
+
+    assertThat(dnsResolver.getAllV6Addresses(HOST)).containsExactly(InetAddress.getByName("2001:db8::1"));
+    assertThat(queries.get(key(HOST, Type.A))).hasValue(1);
+    assertThat(queries.get(key(HOST, Type.AAAA))).hasValue(2);
+  }
+
+  @Test
+  public void testResolve_FailedQuery_HasNoAddresses() throws Exception {
+    response(key(HOST, Type.A)).completeExceptionally(new IOException("network unreachable"));
+    answer(HOST, Type.AAAA);
+
+    assertThat(dnsResolver.getFirstV4Address(HOST)).isNull();
+  }
+
+  @Test
+  public void testResolve_ConcurrentCallers_ShareOneLookup() throws Exception {
+    CountDownLatch ready = new CountDownLatch(4);
+    try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+      List<CompletableFuture<InetAddress>> callers = IntStream.range(0, 4)
+          .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+            ready.countDown();
+            return dnsResolver.getFirstV4Address(HOST);
+          }, executor))
+          .toList();
+      assertThat(ready.await(5, TimeUnit.SECONDS)).isTrue();
+      awaitQueries(key(HOST, Type.A), key(HOST, Type.AAAA));
+
+      answer(HOST, Type.A, new ARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("192.0.2.1")));
+      answer(HOST, Type.AAAA);
+
+      for (CompletableFuture<InetAddress> caller : callers) {
+        assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo(InetAddress.getByName("192.0.2.1"));
+      }
+    }
+    assertThat(queries.get(key(HOST, Type.A))).hasValue(1);
+    assertThat(queries.get(key(HOST, Type.AAAA))).hasValue(1);
+  }
+
+  @Test
+  public void testResolve_Loopback_DoesNotQuery() {
+    assertThat(dnsResolver.getAllV4Addresses("localhost")).hasSize(1);
+    assertThat(dnsResolver.getAllV6Addresses("localhost")).hasSize(1);
+    assertThat(queries).isEmpty();
+  }
+
+  @Test
+  public void testPrefetch_ResolvesAllHostsWithoutWaiting() throws Exception {
+    CompletableFuture<Void> prefetch = dnsResolver.prefetch(List.of("rdap.example.com", "registry.example.net", ""));
+
+    assertThat(queries).containsOnlyKeys(key(HOST, Type.A), key(HOST, Type.AAAA),
+        key("registry.example.net.", Type.A), key("registry.example.net.", Type.AAAA));
+    assertThat(prefetch).isNotDone();
+
+    answer(HOST, Type.A, new ARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("192.0.2.1")));
+    answer(HOST, Type.AAAA);
+    answer("registry.example.net.", Type.A);
+    answer("registry.example.net.", Type.AAAA);
+    prefetch.get(5, TimeUnit.SECONDS);
+
+    assertThat(dnsResolver.getAllV4Addresses(HOST)).containsExactly(InetAddress.getByName("192.0.2.1"));
+    assertThat(dnsResolver.hasNoAddresses("registry.example.net")).isTrue();
+    assertThat(queries.values()).allSatisfy(count -> assertThat(count).hasValue(1));
+  }
+
+  @Test
+  public void testSnapshot_ReusesTheSharedAnswerWithinItsTtl() throws Exception {
+    answer(HOST, Type.A, new ARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("192.0.2.1")));
+    answer(HOST, Type.AAAA);
+    dnsResolver.initFromUrl("https://rdap.example.com/domain/example.com");
+
+    clock.advance(Duration.ofSeconds(299));
+    DNSCacheResolver snapshot = dnsResolver.snapshot();
+
+    assertThat(snapshot.getAllV4Addresses(HOST)).containsExactly(InetAddress.getByName("192.0.2.1"));
+    assertThat(queries.get(key(HOST, Type.A))).hasValue(1);
+  }
+
+  @Test
+  public void testSnapshot_ResolvesAgainOnceTheTtlExpired() throws Exception {
+    answer(HOST, Type.A, new ARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("192.0.2.1")));
+    answer(HOST, Type.AAAA);
+    dnsResolver.initFromUrl("https://rdap.example.com/domain/example.com");
+
+    clock.advance(Duration.ofSeconds(300));
+    responses.clear();
+    answer(HOST, Type.A, new ARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("192.0.2.9")));
+    answer(HOST, Type.AAAA);
+    DNSCacheResolver snapshot = dnsResolver.snapshot();
+
+    assertThat(snapshot.getAllV4Addresses(HOST)).containsExactly(InetAddress.getByName("192.0.2.9"));
+    // The first view keeps the answer it has seen
+    assertThat(dnsResolver.getAllV4Addresses(HOST)).containsExactly(InetAddress.getByName("192.0.2.1"));
+    assertThat(queries.get(key(HOST, Type.A))).hasValue(2);
+  }
+
+  @Test
+  public void testSnapshot_TtlIsClamped() throws Exception {
+    dnsResolver = dnsResolver(Duration.ofSeconds(60), Duration.ofSeconds(120));
+    answer(HOST, Type.A, new ARecord(Name.fromString(HOST), DClass.IN, 5, InetAddress.getByName("192.0.2.1")));
+    answer(HOST, Type.AAAA, new AAAARecord(Name.fromString(HOST), DClass.IN, 86400, InetAddress.getByName("2001:db8::1")));
+    dnsResolver.initFromUrl("https://rdap.example.com/domain/example.com");
+
+    clock.advance(Duration.ofSeconds(59));
+    DNSCacheResolver beforeMin = dnsResolver.snapshot();
+    beforeMin.initFromUrl("https://rdap.example.com/domain/example.com");
+    assertThat(queries.get(key(HOST, Type.A))).hasValue(1);
+
+    clock.advance(Duration.ofSeconds(62));
+    DNSCacheResolver afterMax = dnsResolver.snapshot();
+    afterMax.initFromUrl("https://rdap.example.com/domain/example.com");
+    assertThat(queries.get(key(HOST, Type.A))).hasValue(2);
+    assertThat(queries.get(key(HOST, Type.AAAA))).hasValue(2);
+  }
+
+  @Test
+  public void testSnapshot_NxdomainIsCachedForTheSoaMinimum() throws Exception {
+    Message nxdomain = Message.newQuery(Record.newRecord(Name.fromString(HOST), Type.A, DClass.IN));
+    nxdomain.getHeader().setRcode(Rcode.NXDOMAIN);
+    nxdomain.addRecord(new SOARecord(Name.fromString("example.com."), DClass.IN, 3600,
+        Name.fromString("ns.example.com."), Name.fromString("admin.example.com."), 1, 3600, 600, 86400, 90),
+        Section.AUTHORITY);
+    response(key(HOST, Type.A)).complete(nxdomain);
+    answer(HOST, Type.AAAA);
+    assertThat(dnsResolver.hasNoAddresses(HOST)).isTrue();
+
+    clock.advance(Duration.ofSeconds(89));
+    assertThat(dnsResolver.snapshot().hasNoAddresses(HOST)).isTrue();
+    assertThat(queries.get(key(HOST, Type.A))).hasValue(1);
+
+    clock.advance(Duration.ofSeconds(1));
+    assertThat(dnsResolver.snapshot().hasNoAddresses(HOST)).isTrue();
+    assertThat(queries.get(key(HOST, Type.A))).hasValue(2);
+  }
+
+  @Test
+  public void testSnapshot_ServerFailureIsNotShared() throws Exception {
+    Message servfail = Message.newQuery(Record.newRecord(Name.fromString(HOST), Type.A, DClass.IN));
+    servfail.getHeader().setRcode(Rcode.SERVFAIL);
+    response(key(HOST, Type.A)).complete(servfail);
+    answer(HOST, Type.AAAA);
+    assertThat(dnsResolver.getAllV4Addresses(HOST)).isEmpty();
+
+    dnsResolver.snapshot().getAllV4Addresses(HOST);
+
+    assertThat(queries.get(key(HOST, Type.A))).hasValue(2);
+    assertThat(queries.get(key(HOST, Type.AAAA))).hasValue(1);
+  }
+
+  @Test
+  public void testSnapshot_OtherResolverDoesNotShareTheAnswers() throws Exception {
+    answer(HOST, Type.A, new ARecord(Name.fromString(HOST), DClass.IN, 300, InetAddress.getByName("192.0.2.1")));
+    answer(HOST, Type.AAAA);
+    dnsResolver.initFromUrl("https://rdap.example.com/domain/example.com");
+
+    Resolver other = mock(Resolver.class);
+    when(other.sendAsync(any(Message.class))).thenAnswer(invocation -> response("other"));
+    response("other").complete(new Message());
+    new DNSCacheResolver(other, "other").getAllV4Addresses(HOST);
+
+    verify(other, times(2)).sendAsync(any(Message.class));
+  }
+
+  @Test
+  public void testConstructor_InvalidTtlBounds_Throws() {
+    assertThatThrownBy(() -> dnsResolver(Duration.ofSeconds(-1), Duration.ofSeconds(10)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> dnsResolver(Duration.ofSeconds(10), Duration.ofSeconds(5)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private DNSCacheResolver dnsResolver(Duration minTtl, Duration maxTtl) {
+    DNSCacheResolver dnsResolver = new DNSCacheResolver(resolver, "test", minTtl, maxTtl);
+    dnsResolver.setClock(clock);
+    return dnsResolver;
+  }
+
+  private CompletableFuture<Message> response(String key) {
+    return responses.computeIfAbsent(key, k -> new CompletableFuture<>());
+  }
+
+  private void answer(String name, int type, Record... answers) throws Exception {
+    Message message = Message.newQuery(Record.newRecord(Name.fromString(name), type, DClass.IN));
+    for (Record answer : answers) {
+      message.addRecord(answer, Section.ANSWER);
+    }
+    response(key(name, type)).complete(message);
+  }
+
+  private void awaitQueries(String... keys) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    for (String key : keys) {
+      while (!queries.containsKey(key)) {
+        assertThat(System.nanoTime()).isLessThan(deadline);
+        Thread.sleep(10);
+      }
+    }
+  }
+
+  private static String key(String name, int type) {
+    return name + "/" + Type.string(type);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private volatile Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
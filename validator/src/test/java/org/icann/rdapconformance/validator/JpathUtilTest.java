@@ -1,9 +1,12 @@
 package org.icann.rdapconformance.validator;
 
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPResponseDocument;
 import org.json.JSONObject;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,6 +30,12 @@ public class JpathUtilTest {
         testJsonObject.put("contact", contact);
         
         testJsonString = testJsonObject.toString();
+        JpathUtil.clearCompiledPathCache();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        JpathUtil.clearCompiledPathCache();
     }
     
     @Test
@@ -181,4 +190,108 @@ public class JpathUtilTest {
         
         assertThat(exists).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetPointerFromJPath_Document_MatchesStringResult() {
+        RDAPResponseDocument document = RDAPResponseDocument.of(testJsonString);
+
+        Set<String> pointers = jpathUtil.getPointerFromJPath(document, "$.contact.email");
+
+        assertThat(pointers).isEqualTo(jpathUtil.getPointerFromJPath(testJsonString, "$.contact.email"));
+        assertThat(pointers).containsExactly("#/contact/email");
+        assertThat(jpathUtil.exists(document, "$.nonexistent")).isFalse();
+    }
+
+    @Test
+    public void testGetPointerFromJPath_JSONObject_FiltersAndDeepScanMatchStringResult() {
+        JSONObject response = new JSONObject("{\"entities\":["
+            + "{\"roles\":[\"registrar\"],\"vcardArray\":[\"vcard\",[]],\"handle\":null},"
+            + "{\"roles\":[\"technical\"],\"entities\":[{\"roles\":[\"abuse\"],\"vcardArray\":[\"vcard\",[]]}]}]}");
+        String responseString = response.toString();
+
+        for (String jpath : new String[] {
+            "$.entities[?(@.roles contains 'registrar')]",
+            "$..entities..vcardArray",
+            "$.entities[0].handle",
+            "$.entities[*].roles[?(@ == 'technical')]"}) {
+            assertThat(jpathUtil.getPointerFromJPath(response, jpath))
+                .as(jpath)
+                .isEqualTo(jpathUtil.getPointerFromJPath(responseString, jpath));
+        }
+        assertThat(jpathUtil.getPointerFromJPath(response, "$.entities[?(@.roles contains 'registrar')]"))
+            .containsExactly("#/entities/0");
+    }
+
+    @Test
+    public void testPathListContext_CanBeQueriedRepeatedly() {
+        var context = JpathUtil.pathListContext(testJsonObject);
+
+        List<String> first = context.read("$.contact.email");
+        List<String> second = context.read("$.name");
+
+        assertThat(first).containsExactly("$['contact']['email']");
+        assertThat(second).containsExactly("$['name']");
+    }
+
+    @Test
+    public void testCompiledPathCache_ReusesCompiledPathAcrossCallsAndDocuments() {
+        String jpath = "$.contact.email";
+
+        jpathUtil.getPointerFromJPath(testJsonObject, jpath);
+        jpathUtil.getPointerFromJPath(testJsonString, jpath);
+        assertThat(jpathUtil.exists(new JSONObject("{\"contact\":{\"email\":\"a@b.c\"}}"), jpath)).isTrue();
+
+        assertThat(JpathUtil.getCompiledPathCacheMisses()).isEqualTo(1);
+        assertThat(JpathUtil.getCompiledPathCacheHits()).isEqualTo(2);
+        assertThat(JpathUtil.getCompiledPathCacheSize()).isEqualTo(1);
+        assertThat(JpathUtil.compile(jpath)).isSameAs(JpathUtil.compile(jpath));
+    }
+
+    @Test
+    public void testIsValidJsonPath_SharesCacheWithQueries() {
+        String jpath = "$.status[*]";
+
+        assertThat(jpathUtil.isValidJsonPath(jpath)).isTrue();
+        assertThat(jpathUtil.getPointerFromJPath(testJsonObject, jpath)).hasSize(2);
+
+        assertThat(JpathUtil.getCompiledPathCacheMisses()).isEqualTo(1);
+        assertThat(JpathUtil.getCompiledPathCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void testIsValidJsonPath_InvalidPathIsNotCached() {
+        assertThat(jpathUtil.isValidJsonPath("$[")).isFalse();
+        assertThat(jpathUtil.isValidJsonPath("$[")).isFalse();
+
+        assertThat(JpathUtil.getCompiledPathCacheSize()).isZero();
+        assertThat(JpathUtil.getCompiledPathCacheMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCompiledPathCache_IsBounded() {
+        for (int i = 0; i < 1500; i++) {
+            jpathUtil.isValidJsonPath("$.entities[" + i + "].handle");
+        }
+
+        assertThat(JpathUtil.getCompiledPathCacheSize()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testCompiledPathCache_EvictsLeastRecentlyUsed() {
+        String hotPath = "$.name";
+        jpathUtil.isValidJsonPath(hotPath);
+        for (int i = 0; i < 1500; i++) {
+            jpathUtil.isValidJsonPath("$.entities[" + i + "].handle");
+            // Keep the hot path recently used so it survives eviction
+            jpathUtil.isValidJsonPath(hotPath);
+        }
+        long missesBefore = JpathUtil.getCompiledPathCacheMisses();
+
+        jpathUtil.isValidJsonPath(hotPath);
+        jpathUtil.isValidJsonPath("$.entities[1499].handle");
+        jpathUtil.isValidJsonPath("$.entities[0].handle");
+
+        // Only the oldest dynamic path was evicted and had to be compiled again
+        assertThat(JpathUtil.getCompiledPathCacheMisses()).isEqualTo(missesBefore + 1);
+    }
+}
@@ -0,0 +1,104 @@
+package org.icann.rdapconformance.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+
+import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResult;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class QueryContextForkTest {
+
+    private QueryContext parent;
+
+    @BeforeMethod
+    public void setUp() {
+        RDAPValidatorConfiguration config = mock(RDAPValidatorConfiguration.class);
+        when(config.getUri()).thenReturn(URI.create("https://example.com/rdap/domain/test.example"));
+        parent = QueryContext.forTesting(config);
+    }
+
+    @Test
+    public void testForkForRound_SharesServicesAndIsolatesState() {
+        QueryContext child = parent.forkForRound(NetworkProtocol.IPv6, NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON);
+
+        assertThat(child.getConfig()).isSameAs(parent.getConfig());
+        assertThat(child.getDnsResolver()).isSameAs(parent.getDnsResolver());
+        assertThat(child.getHttpClientManager()).isSameAs(parent.getHttpClientManager());
+        assertThat(child.getTlsProbeService()).isSameAs(parent.getTlsProbeService());
+        assertThat(child.getQueryType()).isEqualTo(parent.getQueryType());
+
+        assertThat(child.getResults()).isNotSameAs(parent.getResults());
+        assertThat(child.getConnectionTracker()).isNotSameAs(parent.getConnectionTracker());
+        assertThat(child.getNetworkInfo()).isNotSameAs(parent.getNetworkInfo());
+        assertThat(child.getNetworkProtocol()).isEqualTo(NetworkProtocol.IPv6);
+        assertThat(child.getAcceptHeader()).isEqualTo(NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON.getValue());
+
+        // Parent network settings are untouched
+        assertThat(parent.getNetworkProtocol()).isEqualTo(NetworkProtocol.IPv4);
+        assertThat(parent.getAcceptHeader()).isEqualTo(NetworkInfo.AcceptHeader.APPLICATION_JSON.getValue());
+    }
+
+    @Test
+    public void testMergeRoundResults_AppendsResultsGroupsAndConnections() {
+        QueryContext first = parent.forkForRound(NetworkProtocol.IPv6, NetworkInfo.AcceptHeader.APPLICATION_JSON);
+        QueryContext second = parent.forkForRound(NetworkProtocol.IPv4, NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON);
+
+        first.getResults().add(RDAPValidationResult.builder().code(-1).value("first").message("first").build());
+        first.getResults().addGroup("groupA");
+        first.getConnectionTracker().startTrackingNewConnection(URI.create("https://example.com/a"), "GET", true, NetworkProtocol.IPv6);
+        second.getResults().add(RDAPValidationResult.builder().code(-2).value("second").message("second").build());
+        second.getResults().addGroupErrorWarning("groupB");
+        second.setRdapResponseData("{\"objectClassName\":\"domain\"}");
+
+        parent.mergeRoundResults(first);
+        parent.mergeRoundResults(second);
+
+        assertThat(parent.getResults().getAllAsList())
+            .extracting(RDAPValidationResult::getCode)
+            .containsExactly(-1, -2);
+        assertThat(parent.getResults().getGroups()).contains("groupA");
+        assertThat(parent.getResults().getGroupErrorWarning()).contains("groupB");
+        assertThat(parent.getConnectionTracker().getConnections()).hasSize(1);
+        assertThat(parent.getConnectionTracker().getLastMainConnection().getUri())
+            .isEqualTo(URI.create("https://example.com/a"));
+
+        // The parent reflects the last merged round, as after sequential execution
+        assertThat(parent.getRdapResponseData()).isEqualTo("{\"objectClassName\":\"domain\"}");
+        assertThat(parent.getNetworkProtocol()).isEqualTo(NetworkProtocol.IPv4);
+        assertThat(parent.getAcceptHeader()).isEqualTo(NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON.getValue());
+    }
+
+    @Test
+    public void testClaimDnsPrefetch_OnceForAllTheRounds() {
+        QueryContext first = parent.forkForRound(NetworkProtocol.IPv6, NetworkInfo.AcceptHeader.APPLICATION_JSON);
+        QueryContext second = parent.forkForRound(NetworkProtocol.IPv4, NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON);
+
+        assertThat(first.claimDnsPrefetch()).isTrue();
+        assertThat(second.claimDnsPrefetch()).isFalse();
+        assertThat(second.forkForValidation().claimDnsPrefetch()).isFalse();
+        assertThat(parent.claimDnsPrefetch()).isFalse();
+    }
+
+    @Test
+    public void testForkForValidation_KeepsCurrentResponseAndNetworkSettings() {
+        parent.setStackToV6();
+        parent.setAcceptHeaderToApplicationRdapJson();
+        parent.setRdapResponseData("{\"objectClassName\":\"domain\"}");
+        parent.setServerIpAddress("2001:db8::1");
+
+        QueryContext child = parent.forkForValidation();
+
+        assertThat(child.getQuery()).isSameAs(parent.getQuery());
+        assertThat(child.getRdapResponseData()).isEqualTo(parent.getRdapResponseData());
+        assertThat(child.getNetworkProtocol()).isEqualTo(NetworkProtocol.IPv6);
+        assertThat(child.getAcceptHeader()).isEqualTo(NetworkInfo.AcceptHeader.APPLICATION_RDAP_JSON.getValue());
+        assertThat(child.getServerIpAddress()).isEqualTo("2001:db8::1");
+        assertThat(child.getResults()).isNotSameAs(parent.getResults());
+        assertThat(child.getConnectionTracker()).isNotSameAs(parent.getConnectionTracker());
+    }
+}
@@ -10,7 +10,7 @@ public class ToolResultTest {
     public void testEnumValues() {
         ToolResult[] values = ToolResult.values();
         
-        assertThat(values).hasSize(10);
+        assertThat(values).hasSize(11);
         assertThat(values).contains(
             ToolResult.SUCCESS,
             ToolResult.CONFIG_INVALID,
@@ -21,7 +21,8 @@ public class ToolResultTest {
             ToolResult.FILE_WRITE_ERROR,
             ToolResult.FILE_READ_ERROR,
             ToolResult.BAD_USER_INPUT,
-            ToolResult.CONFIG_DOES_NOT_EXIST
+            ToolResult.CONFIG_DOES_NOT_EXIST,
+            ToolResult.BATCH_VALIDATION_FAILED
         );
     }
     
@@ -106,6 +107,14 @@ public class ToolResultTest {
         assertThat(result.getDescription()).isEqualTo("The config file does not exist");
     }
     
+    @Test
+    public void testBatchValidationFailed() {
+        ToolResult result = ToolResult.BATCH_VALIDATION_FAILED;
+        
+        assertThat(result.getCode()).isEqualTo(27);
+        assertThat(result.getDescription()).contains("at least one URI of the batch");
+    }
+    
     @Test
     public void testConformanceErrorInterface() {
         ToolResult result = ToolResult.SUCCESS;
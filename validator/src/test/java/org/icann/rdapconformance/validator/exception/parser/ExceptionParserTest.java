@@ -1,14 +1,115 @@
 package org.icann.rdapconformance.validator.exception.parser;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import java.net.URISyntaxException;
+import java.util.List;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.icann.rdapconformance.validator.exception.ValidationExceptionNode;
+import org.icann.rdapconformance.validator.schema.SchemaMetadata;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResult;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResults;
+import org.json.JSONObject;
 import org.testng.annotations.Test;
 
 public class ExceptionParserTest {
+
+  private static final Schema SCHEMA = SchemaLoader.load(new JSONObject("{"
+      + "\"type\":\"object\","
+      + "\"properties\":{"
+      + "  \"name\":{\"type\":\"string\",\"pattern\":\"^a+$\",\"errorCode\":-12},"
+      + "  \"label\":{\"type\":\"string\",\"minLength\":5,\"errorCode\":-13}"
+      + "},"
+      + "\"required\":[\"handle\"],"
+      + "\"errorCode\":-14}"));
+
   @Test
   public void testGetParentSchema() throws URISyntaxException {
     String parentSchemaName = ExceptionParser.getParentSchemaName("#/notices/0/links");
     assertThat(parentSchemaName).isEqualTo("notices");
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testParsersFor_NullKeyword_ReturnsEveryParser() {
+    assertThat(ExceptionParser.parsersFor(null))
+        .hasSize(20)
+        .containsAll(ExceptionParser.parsersFor("pattern"))
+        .containsAll(ExceptionParser.parsersFor("required"));
+  }
+
+  @Test
+  public void testParsersFor_IsCachedPerKeyword() {
+    assertThat(ExceptionParser.parsersFor("type")).isSameAs(ExceptionParser.parsersFor("type"));
+  }
+
+  @Test
+  public void testCreateParsers_PatternViolation_KeepsIpv4ParsersBeforeRegexParser() {
+    JSONObject jsonObject = new JSONObject("{\"name\":\"b\",\"label\":\"abcde\",\"handle\":\"h\"}");
+    List<ExceptionParser> parsers = ExceptionParser.createParsers(validate(jsonObject), SCHEMA,
+        jsonObject, mock(RDAPValidatorResults.class), null);
+
+    List<Class<?>> parserClasses = parsers.stream().<Class<?>>map(Object::getClass).toList();
+    assertThat(parserClasses)
+        .contains(Ipv4PatternExceptionParser.class, Ipv4ValidationExceptionParser.class,
+            RegexExceptionParser.class, VcardExceptionParser.class)
+        .doesNotContain(UnknowKeyExceptionParser.class, MissingKeyExceptionParser.class,
+            EnumExceptionParser.class);
+    assertThat(parserClasses.indexOf(Ipv4PatternExceptionParser.class))
+        .isLessThan(parserClasses.indexOf(RegexExceptionParser.class));
+    assertThat(parserClasses.indexOf(Ipv4ValidationExceptionParser.class))
+        .isLessThan(parserClasses.indexOf(RegexExceptionParser.class));
+  }
+
+  @Test
+  public void testCreateParsers_ShareTheMetadataOfTheSchema() {
+    JSONObject jsonObject = new JSONObject("{\"name\":\"b\",\"label\":\"abc\"}");
+    List<ExceptionParser> parsers = ExceptionParser.createParsers(validate(jsonObject), SCHEMA,
+        jsonObject, mock(RDAPValidatorResults.class), null);
+
+    assertThat(parsers).isNotEmpty()
+        .allSatisfy(parser -> assertThat(parser.schemaMetadata).isSameAs(SchemaMetadata.of(SCHEMA)));
+  }
+
+  @Test
+  public void testParseAll_ParsesMatchedExceptions() {
+    JSONObject jsonObject = new JSONObject("{\"name\":\"b\",\"label\":\"abcde\"}");
+    RDAPValidatorResults results = mock(RDAPValidatorResults.class);
+
+    List<ValidationExceptionNode> unmatched = ExceptionParser.parseAll(validate(jsonObject), SCHEMA,
+        jsonObject, results, null);
+
+    assertThat(unmatched).isEmpty();
+    verify(results, atLeast(2)).add(any(RDAPValidationResult.class));
+  }
+
+  @Test
+  public void testParseAll_ReturnsUnmatchedExceptions() {
+    JSONObject jsonObject = new JSONObject("{\"label\":\"abc\",\"handle\":\"h\"}");
+    RDAPValidatorResults results = mock(RDAPValidatorResults.class);
+
+    List<ValidationExceptionNode> unmatched = ExceptionParser.parseAll(validate(jsonObject), SCHEMA,
+        jsonObject, results, null);
+
+    assertThat(unmatched)
+        .extracting(ValidationExceptionNode::getKeyword)
+        .containsExactly("minLength");
+    verify(results, never()).add(any(RDAPValidationResult.class));
+  }
+
+  private static ValidationException validate(JSONObject jsonObject) {
+    try {
+      SCHEMA.validate(jsonObject);
+    } catch (ValidationException e) {
+      return e;
+    }
+    return fail("The JSON object should not be valid");
+  }
+}
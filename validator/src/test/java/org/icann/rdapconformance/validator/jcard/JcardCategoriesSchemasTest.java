@@ -1,6 +1,7 @@
 package org.icann.rdapconformance.validator.jcard;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.File;
 import java.io.IOException;
@@ -287,6 +288,31 @@ public class JcardCategoriesSchemasTest {
         .contains("\"pattern\":\"x-[a-z0-9-]*\"");
   }
 
+  @Test
+  public void getCategory_ReturnsTheSameCompiledSchema() {
+    assertThat(jcardSchemas.getCategory("fn")).isSameAs(jcardSchemas.getCategory("fn"));
+    assertThat(new JcardCategoriesSchemas().getCategory("fn")).isSameAs(jcardSchemas.getCategory("fn"));
+  }
+
+  @Test
+  public void getInstance_ReturnsTheSameInstance() {
+    assertThat(JcardCategoriesSchemas.getInstance()).isSameAs(JcardCategoriesSchemas.getInstance());
+  }
+
+  @Test
+  public void getCategory_ExtensionSharesThePatternSchema() {
+    assertThat(jcardSchemas.getCategory("x-foo")).isSameAs(jcardSchemas.getCategory("x-bar"));
+    assertThat(jcardSchemas.getCategory("x-foo")).isSameAs(jcardSchemas.getCategory("x-[a-z0-9-]*"));
+  }
+
+  @Test
+  public void getCategory_UnknownCategory_ThrowsIllegalArgumentException() {
+    assertThat(jcardSchemas.hasCategory("unknown")).isFalse();
+    assertThatThrownBy(() -> jcardSchemas.getCategory("unknown"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("unknown");
+  }
+
   private void testLoadingCategory(String category) {
     assertThat(jcardSchemas.getCategory(category).toString())
         .contains("\"const\":\"" + category + "\"");
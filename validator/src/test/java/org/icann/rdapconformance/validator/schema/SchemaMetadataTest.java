@@ -0,0 +1,125 @@
+package org.icann.rdapconformance.validator.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
+import org.everit.json.schema.Schema;
+import org.icann.rdapconformance.validator.SchemaValidator;
+import org.icann.rdapconformance.validator.schemavalidator.RDAPDatasetServiceMock;
+import org.json.JSONException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SchemaMetadataTest {
+
+  private Schema schema;
+
+  @BeforeMethod
+  public void setUp() {
+    SchemaMetadata.clearCache();
+    schema = SchemaValidator.getSchema("simple.json", "schema/", getClass().getClassLoader(),
+        new RDAPDatasetServiceMock());
+  }
+
+  @Test
+  public void testOf_SameSchema_ReturnsSameMetadata() {
+    SchemaMetadata metadata = SchemaMetadata.of(schema);
+
+    assertThat(SchemaMetadata.of(schema)).isSameAs(metadata);
+    assertThat(metadata.getSchema()).isSameAs(schema);
+  }
+
+  @Test
+  public void testOf_EqualButDistinctSchemas_ReturnDifferentMetadata() {
+    Schema otherSchema = SchemaValidator.getSchema("simple.json", "schema/",
+        getClass().getClassLoader(), new RDAPDatasetServiceMock());
+
+    assertThat(SchemaMetadata.of(otherSchema)).isNotSameAs(SchemaMetadata.of(schema));
+  }
+
+  @Test
+  public void testGetSchemaObject_IsParsedOnce() {
+    SchemaMetadata metadata = SchemaMetadata.of(schema);
+
+    assertThat(metadata.getSchemaObject()).isSameAs(metadata.getSchemaObject());
+    assertThat(metadata.getSchemaObject().getString("title")).isEqualTo("simple");
+  }
+
+  @Test
+  public void testGetRootNode() {
+    SchemaNode rootNode = SchemaMetadata.of(schema).getRootNode();
+
+    assertThat(rootNode.getSchema()).isSameAs(schema);
+    assertThat(rootNode.getChildren()).hasSize(3);
+  }
+
+  @Test
+  public void testGetValidationNames() {
+    SchemaMetadata metadata = SchemaMetadata.of(schema);
+
+    assertThat(metadata.getValidationNames())
+        .isEqualTo(SchemaNode.create(null, schema).findAllValuesOf("validationName"))
+        .contains("aCustomValidation");
+    assertThat(metadata.getValidationNames()).isSameAs(metadata.getValidationNames());
+  }
+
+  @Test
+  public void testGetErrorCode() {
+    SchemaMetadata metadata = SchemaMetadata.of(schema);
+
+    assertThat(metadata.getErrorCode("someCustomErrorKey")).isEqualTo(-999);
+    assertThat(metadata.getErrorCode("aCustomValidation")).isEqualTo(-444);
+    assertThatThrownBy(() -> metadata.getErrorCode("unknownKey"))
+        .isInstanceOf(JSONException.class);
+  }
+
+  @Test
+  public void testToPointerShape() {
+    assertThat(SchemaMetadata.toPointerShape("#/anArray/0/aSubField")).isEqualTo("#/anArray/*/aSubField");
+    assertThat(SchemaMetadata.toPointerShape("#/entities/12/entities/3")).isEqualTo("#/entities/*/entities/*");
+    assertThat(SchemaMetadata.toPointerShape("#/ldhName")).isEqualTo("#/ldhName");
+  }
+
+  @Test
+  public void testFindValidationNodes_SameShape_ReturnsSameNodes() {
+    SchemaMetadata metadata = SchemaMetadata.of(schema);
+
+    Set<ValidationNode> first = metadata.findValidationNodes("#/anArray/0/aSubField", "validationName");
+    Set<ValidationNode> second = metadata.findValidationNodes("#/anArray/7/aSubField", "validationName");
+
+    assertThat(second).isSameAs(first);
+    assertThat(first).extracting(ValidationNode::getValidationKey).containsExactly("aCustomValidation");
+  }
+
+  @Test
+  public void testFindValidationNodes_MatchesSchemaNode() {
+    SchemaMetadata metadata = SchemaMetadata.of(schema);
+    SchemaNode rootNode = SchemaNode.create(null, schema);
+
+    for (String jsonPointer : new String[] {"#/anArray/0/aSubField", "#/id", "#/unknown/0", "#"}) {
+      assertThat(metadata.findValidationNodes(jsonPointer, "validationName"))
+          .as(jsonPointer)
+          .extracting(ValidationNode::getValidationKey)
+          .containsExactlyInAnyOrderElementsOf(rootNode.findValidationNodes(jsonPointer, "validationName")
+              .stream().map(ValidationNode::getValidationKey).toList());
+    }
+  }
+
+  @Test
+  public void testSearchBottomMostErrorCode() {
+    SchemaMetadata metadata = SchemaMetadata.of(schema);
+
+    assertThat(metadata.searchBottomMostErrorCode("test", "aboveRefErrorKey")).isEqualTo(-555);
+    assertThat(metadata.searchBottomMostErrorCode("test", "aboveRefErrorKey")).isEqualTo(-555);
+    assertThatThrownBy(() -> metadata.searchBottomMostErrorCode("unknownKey", "aboveRefErrorKey"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void testFindAllValuesOf_IsComputedOncePerKey() {
+    SchemaMetadata metadata = SchemaMetadata.of(schema);
+
+    assertThat(metadata.findAllValuesOf("validationName")).isSameAs(metadata.getValidationNames());
+  }
+}
@@ -1,5 +1,6 @@
 package org.icann.rdapconformance.validator.workflow;
 
+import com.github.tomakehurst.wiremock.WireMockServer;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -16,6 +17,12 @@ import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Set;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -375,4 +382,64 @@ public class LocalFileSystemTest {
         assertThat(Files.exists(testFile)).isTrue();
         assertThat(Files.size(testFile)).isEqualTo(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDownloadIfModified_LocalFileURI_AlwaysDownloads() throws IOException {
+        Path sourceFile = tempDir.resolve("source.txt");
+        Files.writeString(sourceFile, "content");
+
+        DownloadResult result = fileSystem.downloadIfModified(sourceFile.toUri(), testFile.toString(), "\"v1\"", null);
+
+        assertThat(result.modified()).isTrue();
+        assertThat(Files.readString(testFile)).isEqualTo("content");
+    }
+
+    @Test
+    public void testDownloadIfModified_Http() throws IOException {
+        WireMockServer server = new WireMockServer(wireMockConfig().dynamicPort().bindAddress("127.0.0.1"));
+        server.start();
+        try {
+            server.stubFor(get(urlEqualTo("/dataset.xml"))
+                .withHeader("If-None-Match", absent())
+                .willReturn(aResponse().withStatus(200)
+                    .withHeader("ETag", "\"v1\"")
+                    .withHeader("Last-Modified", "Mon, 01 Jan 2024 00:00:00 GMT")
+                    .withBody("first")));
+            server.stubFor(get(urlEqualTo("/dataset.xml"))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+            URI uri = URI.create("http://127.0.0.1:" + server.port() + "/dataset.xml");
+
+            DownloadResult first = fileSystem.downloadIfModified(uri, testFile.toString(), null, null);
+            assertThat(first).isEqualTo(new DownloadResult(true, "\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT"));
+            assertThat(Files.readString(testFile)).isEqualTo("first");
+
+            DownloadResult second = fileSystem.downloadIfModified(uri, testFile.toString(), first.etag(), first.lastModified());
+            assertThat(second).isEqualTo(new DownloadResult(false, "\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT"));
+            assertThat(Files.readString(testFile)).isEqualTo("first");
+            // No temporary file left behind
+            try (var files = Files.list(tempDir)) {
+                assertThat(files).containsExactly(testFile);
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testDownloadIfModified_HttpError_ThrowsIOException() throws IOException {
+        WireMockServer server = new WireMockServer(wireMockConfig().dynamicPort().bindAddress("127.0.0.1"));
+        server.start();
+        try {
+            server.stubFor(get(urlEqualTo("/dataset.xml")).willReturn(aResponse().withStatus(500)));
+            Files.writeString(testFile, "previous");
+            URI uri = URI.create("http://127.0.0.1:" + server.port() + "/dataset.xml");
+
+            assertThatThrownBy(() -> fileSystem.downloadIfModified(uri, testFile.toString(), null, null))
+                .isInstanceOf(IOException.class);
+            assertThat(Files.readString(testFile)).isEqualTo("previous");
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.icann.rdapconformance.validator.SchemaValidator;
+import org.icann.rdapconformance.validator.schema.SchemaMetadata;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPDatasetService;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResults;
 import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidatorResultsImpl;
@@ -292,4 +293,16 @@ public class SchemaValidatorCacheTest {
     // Should have exactly 3 more cache entries (one per unique schema)
     assertThat(SchemaValidatorCache.getCacheSize()).isEqualTo(initialSize + 3);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testCachedValidatorsShareSchemaMetadata() {
+    SchemaValidator validator1 = SchemaValidatorCache.getCachedValidator(
+        "rdap_domain.json", mockResults, mockDatasetService);
+    SchemaValidator validator2 = SchemaValidatorCache.getCachedValidator(
+        "rdap_domain.json", new RDAPValidatorResultsImpl(), mockDatasetService);
+
+    assertThat(validator2.getSchemaRootNode()).isSameAs(validator1.getSchemaRootNode());
+    assertThat(SchemaMetadata.of(validator1.getSchema()).getRootNode())
+        .isSameAs(validator1.getSchemaRootNode());
+  }
+}
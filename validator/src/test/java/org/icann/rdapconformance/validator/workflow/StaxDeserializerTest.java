@@ -0,0 +1,139 @@
+package org.icann.rdapconformance.validator.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.DsRrTypes;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.Ipv4AddressSpace;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.LinkRelations;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RegistrarId;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class StaxDeserializerTest {
+
+    private Path tempDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("stax-deserializer-test");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (var files = Files.list(tempDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(tempDir);
+    }
+
+    @Test
+    public void testConstructor_NonStreamingModel_Throws() {
+        assertThatThrownBy(() -> new StaxDeserializer<>(DsRrTypes.class))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testDeserialize_ReadsRecordsOfAllRegistries() throws IOException {
+        File file = write("""
+            <?xml version='1.0' encoding='UTF-8'?>
+            <registry xmlns="http://www.iana.org/assignments" id="link-relations">
+              <title>Link Relations</title>
+              <registry id="link-relations-1">
+                <record><value>about</value></record>
+                <record><description>No value</description></record>
+              </registry>
+              <registry id="link-relations-2">
+                <record><value><![CDATA[alternate]]></value></record>
+              </registry>
+            </registry>
+            """);
+
+        LinkRelations linkRelations = new StaxDeserializer<>(LinkRelations.class).deserialize(file);
+
+        assertThat(linkRelations.getValues()).containsExactlyInAnyOrder("about", "alternate");
+    }
+
+    @Test
+    public void testDeserialize_ReadsNestedElements() throws IOException {
+        File file = write("""
+            <?xml version='1.0' encoding='UTF-8'?>
+            <registry xmlns="http://www.iana.org/assignments" id="registrar-ids">
+              <registry id="registrar-ids-1">
+                <record>
+                  <value> 1 </value>
+                  <name>With <xref type="note" data="1"/>URL</name>
+                  <status>Accredited</status>
+                  <rdapurl><server>https://example.com/rdap/</server></rdapurl>
+                </record>
+                <record>
+                  <value>2</value>
+                  <name>Without URL</name>
+                  <status>Reserved</status>
+                </record>
+              </registry>
+            </registry>
+            """);
+
+        RegistrarId registrarId = new StaxDeserializer<>(RegistrarId.class).deserialize(file);
+
+        assertThat(registrarId.getById(1).getName()).isEqualTo("With URL");
+        assertThat(registrarId.getById(1).getRdapUrl()).isEqualTo("https://example.com/rdap/");
+        assertThat(registrarId.getById(1).isAccredited()).isTrue();
+        assertThat(registrarId.getById(2).getRdapUrl()).isEmpty();
+        assertThat(registrarId.getById(2).isReserved()).isTrue();
+    }
+
+    @Test
+    public void testDeserialize_InvalidRecord_ThrowsIOException() throws IOException {
+        File file = write("""
+            <registry xmlns="http://www.iana.org/assignments">
+              <record><value>not a number</value><name>Test</name></record>
+            </registry>
+            """);
+
+        assertThatThrownBy(() -> new StaxDeserializer<>(RegistrarId.class).deserialize(file))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void testDeserialize_RecordWithoutRequiredElement_ThrowsIOException() throws IOException {
+        File file = write("""
+            <registry xmlns="http://www.iana.org/assignments">
+              <record><status>ALLOCATED</status></record>
+            </registry>
+            """);
+
+        assertThatThrownBy(() -> new StaxDeserializer<>(Ipv4AddressSpace.class).deserialize(file))
+            .isInstanceOf(IOException.class)
+            .hasStackTraceContaining("Record without prefix");
+    }
+
+    @Test
+    public void testDeserialize_MalformedXml_ThrowsIOException() throws IOException {
+        File file = write("<registry xmlns=\"http://www.iana.org/assignments\"><record><value>about</value>");
+
+        assertThatThrownBy(() -> new StaxDeserializer<>(LinkRelations.class).deserialize(file))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void testDeserialize_NonExistentFile_ThrowsIOException() {
+        assertThatThrownBy(() -> new StaxDeserializer<>(LinkRelations.class)
+            .deserialize(tempDir.resolve("missing.xml").toFile()))
+            .isInstanceOf(IOException.class);
+    }
+
+    private File write(String content) throws IOException {
+        Path file = tempDir.resolve("dataset.xml");
+        Files.writeString(file, content);
+        return file.toFile();
+    }
+}
@@ -242,6 +242,25 @@ public class ProfileJsonValidationTest {
         assertThat(validation.jsonObject.getString("objectClassName")).isEqualTo("domain");
     }
 
+    @Test
+    public void testGetPointerFromJPath_EntityRoleFilter_ServedByIndex() {
+        TestProfileJsonValidation validation = new TestProfileJsonValidation(validJsonResponse, mockResults);
+
+        Set<String> pointers = validation.getPointerFromJPath("$.entities[?(@.roles contains 'registrant')]");
+
+        assertThat(pointers).containsExactly("#/entities/0");
+        assertThat(validation.exists("$.entities[?(@.roles contains 'technical')]")).isFalse();
+    }
+
+    @Test
+    public void testGetPointerFromJPath_IndexedResultIsMutable() {
+        TestProfileJsonValidation validation = new TestProfileJsonValidation(validJsonResponse, mockResults);
+
+        validation.getPointerFromJPath("$.entities[?(@.roles contains 'registrant')]").clear();
+
+        assertThat(validation.getPointerFromJPath("$.entities[?(@.roles contains 'registrant')]")).hasSize(1);
+    }
+
     // Test implementation of ProfileJsonValidation for testing purposes
     private static class TestProfileJsonValidation extends ProfileJsonValidation {
 
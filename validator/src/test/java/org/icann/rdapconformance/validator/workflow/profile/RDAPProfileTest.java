@@ -1,8 +1,14 @@
 package org.icann.rdapconformance.validator.workflow.profile;
 
+import org.icann.rdapconformance.validator.QueryContext;
+import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
+import org.icann.rdapconformance.validator.workflow.rdap.RDAPValidationResult;
 import org.testng.annotations.Test;
 
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -104,4 +110,78 @@ public class RDAPProfileTest {
         verify(validation1, times(1)).validate();
         verify(validation2, times(1)).validate();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testValidate_ConcurrentNetwork_RunsNetworkValidationsTogetherAndKeepsOrder() {
+        RDAPValidatorConfiguration config = mock(RDAPValidatorConfiguration.class);
+        when(config.getUri()).thenReturn(URI.create("https://example.com/rdap/domain/test.example"));
+        QueryContext queryContext = QueryContext.forTesting(config);
+        // Both network validations wait for each other: this only completes if they overlap
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        List<ProfileValidation> validations = List.of(
+            new RecordingValidation(queryContext, -1, null),
+            new NetworkBoundValidation(queryContext, ctx -> new RecordingValidation(ctx, -2, bothStarted)),
+            new RecordingValidation(queryContext, -3, null),
+            new NetworkBoundValidation(queryContext, ctx -> new RecordingValidation(ctx, -4, bothStarted)));
+
+        boolean result = new RDAPProfile(validations, RDAPProfile.ExecutionMode.CONCURRENT_NETWORK).validate();
+
+        assertThat(result).isTrue();
+        assertThat(queryContext.getResults().getAllAsList())
+            .extracting(RDAPValidationResult::getCode)
+            .containsExactly(-1, -2, -3, -4);
+        assertThat(queryContext.getResults().getGroups()).contains("group-1", "group-2", "group-3", "group-4");
+    }
+
+    @Test
+    public void testValidate_SequentialMode_RunsNetworkValidationsInline() {
+        RDAPValidatorConfiguration config = mock(RDAPValidatorConfiguration.class);
+        when(config.getUri()).thenReturn(URI.create("https://example.com/rdap/domain/test.example"));
+        QueryContext queryContext = QueryContext.forTesting(config);
+
+        List<ProfileValidation> validations = List.of(
+            new NetworkBoundValidation(queryContext, ctx -> new RecordingValidation(ctx, -1, null)),
+            new RecordingValidation(queryContext, -2, null));
+
+        boolean result = new RDAPProfile(validations).validate();
+
+        assertThat(result).isTrue();
+        assertThat(queryContext.getResults().getAllAsList())
+            .extracting(RDAPValidationResult::getCode)
+            .containsExactly(-1, -2);
+    }
+
+    /**
+     * Adds a single result with the given code, optionally waiting on a latch first.
+     */
+    private static class RecordingValidation extends ProfileValidation {
+        private final QueryContext queryContext;
+        private final int code;
+        private final CountDownLatch latch;
+
+        RecordingValidation(QueryContext queryContext, int code, CountDownLatch latch) {
+            super(queryContext.getResults());
+            this.queryContext = queryContext;
+            this.code = code;
+            this.latch = latch;
+        }
+
+        @Override
+        public String getGroupName() {
+            return "group" + code;
+        }
+
+        @Override
+        protected boolean doValidate() throws Exception {
+            if (latch != null) {
+                latch.countDown();
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    return false;
+                }
+            }
+            results.add(RDAPValidationResult.builder().code(code).value("v").message("m").build(queryContext));
+            return true;
+        }
+    }
+}
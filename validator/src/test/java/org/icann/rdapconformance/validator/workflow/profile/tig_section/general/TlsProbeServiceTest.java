@@ -0,0 +1,144 @@
+package org.icann.rdapconformance.validator.workflow.profile.tig_section.general;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.icann.rdapconformance.validator.DNSCacheResolver;
+import org.icann.rdapconformance.validator.NetworkProtocol;
+import org.icann.rdapconformance.validator.workflow.profile.tig_section.general.SSLValidator.CipherValidationResult;
+import org.icann.rdapconformance.validator.workflow.profile.tig_section.general.SSLValidator.SSLValidationResult;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TlsProbeServiceTest {
+
+    private static final String HOST = "rdap.example.com";
+
+    private final AtomicInteger protocolProbes = new AtomicInteger();
+    private final AtomicInteger cipherProbes = new AtomicInteger();
+    private InetAddress v4Address;
+    private InetAddress v6Address;
+    private TlsProbeService service;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        v4Address = InetAddress.getByName("192.0.2.1");
+        v6Address = InetAddress.getByName("2001:db8::1");
+        service = new TlsProbeService(dnsResolver(), new CountingProber());
+    }
+
+    @Test
+    public void testForProtocol_RoundsOfTheSameAddress_ProbeOnce() {
+        SSLValidator firstRound = service.forProtocol(NetworkProtocol.IPv4);
+        SSLValidator secondRound = service.forProtocol(NetworkProtocol.IPv4);
+
+        SSLValidationResult protocols = firstRound.validateSSL(HOST, 443);
+        CipherValidationResult cipher = firstRound.validateTLS12CipherSuites(HOST, 443);
+
+        assertThat(secondRound.validateSSL(HOST, 443)).isSameAs(protocols);
+        assertThat(secondRound.validateTLS12CipherSuites(HOST, 443)).isSameAs(cipher);
+        assertThat(protocols.getEnabledProtocols()).containsExactly("TLSv1.2", "TLSv1.3");
+        assertThat(cipher.getCipherSuite()).isEqualTo("TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256");
+        assertThat(protocolProbes).hasValue(1);
+        assertThat(cipherProbes).hasValue(1);
+    }
+
+    @Test
+    public void testForProtocol_EachAddressIsProbed() {
+        service.forProtocol(NetworkProtocol.IPv4).validateSSL(HOST, 443);
+        service.forProtocol(NetworkProtocol.IPv6).validateSSL(HOST, 443);
+        service.forProtocol(NetworkProtocol.IPv6).validateSSL(HOST, 8443);
+
+        assertThat(protocolProbes).hasValue(3);
+    }
+
+    @Test
+    public void testForProtocol_ProtocolAndCipherProbesRunConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        service = new TlsProbeService(dnsResolver(), new TlsProbeService.Prober() {
+            @Override
+            public SSLValidationResult probeProtocols(String hostname, InetAddress ipAddress, int port) {
+                await(bothStarted);
+                return SSLValidationResult.success(List.of("TLSv1.3"));
+            }
+
+            @Override
+            public CipherValidationResult probeTLS12Cipher(String hostname, InetAddress ipAddress, int port) {
+                await(bothStarted);
+                return CipherValidationResult.success("TLSv1.2", "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256");
+            }
+        });
+
+        assertThat(service.forProtocol(NetworkProtocol.IPv4).validateSSL(HOST, 443).isSuccessful()).isTrue();
+        assertThat(bothStarted.getCount()).isZero();
+    }
+
+    @Test
+    public void testForProtocol_ConcurrentRounds_ShareOneProbe() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<CompletableFuture<SSLValidationResult>> rounds = List.of(
+                CompletableFuture.supplyAsync(() -> service.forProtocol(NetworkProtocol.IPv4).validateSSL(HOST, 443), executor),
+                CompletableFuture.supplyAsync(() -> service.forProtocol(NetworkProtocol.IPv4).validateSSL(HOST, 443), executor),
+                CompletableFuture.supplyAsync(() -> service.forProtocol(NetworkProtocol.IPv4).validateSSL(HOST, 443), executor),
+                CompletableFuture.supplyAsync(() -> service.forProtocol(NetworkProtocol.IPv4).validateSSL(HOST, 443), executor));
+            for (CompletableFuture<SSLValidationResult> round : rounds) {
+                assertThat(round.get(5, TimeUnit.SECONDS).isSuccessful()).isTrue();
+            }
+        }
+
+        assertThat(protocolProbes).hasValue(1);
+        assertThat(cipherProbes).hasValue(1);
+    }
+
+    @Test
+    public void testForProtocol_UnresolvedHost_FailsWithoutProbing() {
+        SSLValidator validator = service.forProtocol(NetworkProtocol.IPv4);
+
+        assertThat(validator.validateSSL("unknown.example.com", 443).isSuccessful()).isFalse();
+        assertThat(validator.validateTLS12CipherSuites("unknown.example.com", 443).isSuccessful()).isFalse();
+        assertThat(protocolProbes).hasValue(0);
+        assertThat(cipherProbes).hasValue(0);
+    }
+
+    private DNSCacheResolver dnsResolver() {
+        return new DNSCacheResolver() {
+            {
+                getCacheV4().put(HOST + ".", List.of(v4Address));
+                getCacheV6().put(HOST + ".", List.of(v6Address));
+                getCacheV4().put("unknown.example.com.", List.of());
+                getCacheV6().put("unknown.example.com.", List.of());
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class CountingProber implements TlsProbeService.Prober {
+
+        @Override
+        public SSLValidationResult probeProtocols(String hostname, InetAddress ipAddress, int port) {
+            protocolProbes.incrementAndGet();
+            return SSLValidationResult.success(List.of("TLSv1.2", "TLSv1.3"));
+        }
+
+        @Override
+        public CipherValidationResult probeTLS12Cipher(String hostname, InetAddress ipAddress, int port) {
+            cipherProbes.incrementAndGet();
+            return CipherValidationResult.success("TLSv1.2", "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256");
+        }
+    }
+}
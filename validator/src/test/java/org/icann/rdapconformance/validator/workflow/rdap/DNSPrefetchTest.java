@@ -0,0 +1,67 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.BootstrapDomainNameSpace;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DNSPrefetchTest {
+
+  private static final String DOMAIN = "{\"objectClassName\": \"domain\", \"ldhName\": \"Example.COM.\"}";
+
+  private RDAPValidatorConfiguration config;
+  private RDAPDatasetService datasetService;
+  private BootstrapDomainNameSpace bootstrap;
+
+  @BeforeMethod
+  public void setUp() {
+    config = mock(RDAPValidatorConfiguration.class);
+    datasetService = mock(RDAPDatasetService.class);
+    bootstrap = mock(BootstrapDomainNameSpace.class);
+    doReturn(URI.create("https://rdap.example.net/domain/example.com")).when(config).getUri();
+    doReturn(bootstrap).when(datasetService).get(BootstrapDomainNameSpace.class);
+    doReturn(Set.of("https://rdap.registry.example/com/v1/")).when(bootstrap).getUrlsForTld("com");
+  }
+
+  @Test
+  public void testHostsFor_TargetRedirectsAndResponse() {
+    Set<String> hosts = DNSPrefetch.hostsFor(config,
+        URI.create("https://RDAP2.example.net/v1/domain/example.com"),
+        List.of(URI.create("https://rdap1.example.net/domain/example.com"),
+            URI.create("https://rdap2.example.net/v1/domain/example.com")));
+
+    assertThat(hosts).containsExactly("rdap.example.net", "rdap1.example.net", "rdap2.example.net");
+  }
+
+  @Test
+  public void testRegistryHostsFor_Domain_TheRegistriesOfTheTld() {
+    Set<String> hosts = DNSPrefetch.registryHostsFor(RDAPResponseDocument.of(DOMAIN), datasetService);
+
+    assertThat(hosts).containsExactly("rdap.registry.example");
+  }
+
+  @Test
+  public void testRegistryHostsFor_NoDomainName_DoesNotLookUpTheRegistries() {
+    Set<String> hosts = DNSPrefetch.registryHostsFor(RDAPResponseDocument.of("{\"handle\": \"123\"}"),
+        datasetService);
+
+    assertThat(hosts).isEmpty();
+    verifyNoInteractions(datasetService);
+  }
+
+  @Test
+  public void testRegistryHostsFor_InvalidResponse_IsEmpty() {
+    Set<String> hosts = DNSPrefetch.registryHostsFor(RDAPResponseDocument.of("not json"), datasetService);
+
+    assertThat(hosts).isEmpty();
+    verifyNoInteractions(datasetService);
+  }
+}
@@ -0,0 +1,68 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.BootstrapDomainNameSpace;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.DNSSecAlgNumbers;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.DsRrTypes;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.EPPRoid;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.MediaTypes;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RDAPJsonValues;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RegistrarId;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DatasetWarmUpTest {
+
+  private RDAPValidatorConfiguration config;
+
+  @BeforeMethod
+  public void setUp() {
+    config = mock(RDAPValidatorConfiguration.class);
+  }
+
+  @Test
+  public void testForQuery_NoProfile_OnlySchemaDatasets() {
+    assertThat(DatasetWarmUp.forQuery(RDAPQueryType.DOMAIN, config))
+        .contains(MediaTypes.class, RDAPJsonValues.class)
+        .doesNotContain(EPPRoid.class, RegistrarId.class, BootstrapDomainNameSpace.class,
+            DsRrTypes.class, DNSSecAlgNumbers.class);
+  }
+
+  @Test
+  public void testForQuery_RegistrarDomain_IncludesProfileDatasets() {
+    doReturn(true).when(config).isGtldRegistrar();
+
+    assertThat(DatasetWarmUp.forQuery(RDAPQueryType.DOMAIN, config))
+        .contains(MediaTypes.class, EPPRoid.class, RegistrarId.class, BootstrapDomainNameSpace.class);
+  }
+
+  @Test
+  public void testForQuery_RegistryNameserver_OnlyHandleDatasets() {
+    doReturn(true).when(config).isGtldRegistry();
+
+    assertThat(DatasetWarmUp.forQuery(RDAPQueryType.NAMESERVER, config))
+        .contains(EPPRoid.class)
+        .doesNotContain(RegistrarId.class, BootstrapDomainNameSpace.class);
+  }
+
+  @Test
+  public void testForQuery_Help_OnlySchemaDatasets() {
+    doReturn(true).when(config).isGtldRegistry();
+
+    assertThat(DatasetWarmUp.forQuery(RDAPQueryType.HELP, config))
+        .contains(MediaTypes.class)
+        .doesNotContain(EPPRoid.class, RegistrarId.class, BootstrapDomainNameSpace.class);
+  }
+
+  @Test
+  public void testForQuery_UnknownQueryType_IncludesEveryProfileDataset() {
+    doReturn(true).when(config).isGtldRegistry();
+
+    assertThat(DatasetWarmUp.forQuery(null, config))
+        .contains(EPPRoid.class, RegistrarId.class, BootstrapDomainNameSpace.class);
+  }
+}
@@ -16,6 +16,7 @@ import java.util.Set;
 
 import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
 import org.icann.rdapconformance.validator.QueryContext;
+import org.icann.rdapconformance.validator.workflow.rdap.http.HostRateLimiter;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 
@@ -58,6 +59,8 @@ public abstract class HttpTestingUtils {
   public void setUp() {
     doReturn(10).when(config).getTimeout();
     doReturn(3).when(config).getMaxRedirects();
+    // Do not carry the pace of the test server over from other tests
+    HostRateLimiter.shared().clear();
 
     // Initialize QueryContext for modern test patterns
     initializeQueryContext();
@@ -0,0 +1,156 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.icann.rdapconformance.validator.workflow.DownloadResult;
+import org.icann.rdapconformance.validator.workflow.LocalFileSystem;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.RDAPDataset;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.MediaTypes;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RDAPExtensions;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RDAPJsonValues;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RegistrarId;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RoleJsonValues;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.StatusJsonValues;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RDAPDatasetServiceImplTest {
+
+  private Path datasetDirectory;
+  private RecordingFileSystem fileSystem;
+  private RDAPDatasetServiceImpl service;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    RDAPDataset.clearParsedModels();
+    datasetDirectory = Files.createTempDirectory("rdap-dataset-service-test");
+    fileSystem = new RecordingFileSystem();
+    service = new RDAPDatasetServiceImpl(fileSystem, datasetDirectory.toString());
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    RDAPDataset.clearParsedModels();
+    try (var files = Files.list(datasetDirectory)) {
+      for (Path file : files.toList()) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(datasetDirectory);
+  }
+
+  @Test
+  public void testPrepare_LoadsOnlyTheWarmUpDatasets() {
+    assertThat(service.prepare(false, Set.of(MediaTypes.class), null)).isTrue();
+
+    assertThat(fileSystem.downloads).containsExactly("media-types.xml");
+    assertThat(service.get(MediaTypes.class).getRecords()).isNotEmpty();
+    assertThat(fileSystem.downloads).hasSize(1);
+  }
+
+  @Test
+  public void testGet_LoadsTheDatasetOnFirstAccess() {
+    service.prepare(false, Set.of(), null);
+
+    RDAPExtensions rdapExtensions = service.get(RDAPExtensions.class);
+
+    assertThat(rdapExtensions.isInvalid("cidr0")).isFalse();
+    assertThat(service.get(RDAPExtensions.class)).isSameAs(rdapExtensions);
+    assertThat(fileSystem.downloads).containsExactly("rdap-extensions.xml");
+  }
+
+  @Test
+  public void testGet_JsonValuesViewsShareTheirDataset() {
+    service.prepare(false, Set.of(), null);
+
+    assertThat(service.get(StatusJsonValues.class)).isNotNull();
+    assertThat(service.get(RoleJsonValues.class)).isNotNull();
+    assertThat(service.get(RDAPJsonValues.class)).isNotNull();
+    assertThat(fileSystem.downloads).containsExactly("rdap-json-values.xml");
+  }
+
+  @Test
+  public void testGet_ConcurrentFirstAccessesLoadOnce() throws Exception {
+    service.prepare(false, Set.of(), null);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<RegistrarId>> calls = Collections.nCopies(8, () -> service.get(RegistrarId.class));
+      List<RegistrarId> models = new ArrayList<>();
+      for (Future<RegistrarId> future : executor.invokeAll(calls)) {
+        models.add(future.get());
+      }
+
+      assertThat(models).allSatisfy(model -> assertThat(model).isSameAs(models.get(0)));
+      assertThat(fileSystem.downloads).containsExactly("registrar-ids.xml");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testGet_FailedLoadIsRetried() {
+    service.prepare(false, Set.of(), null);
+    fileSystem.failure = new IOException("unreachable");
+
+    assertThatThrownBy(() -> service.get(RegistrarId.class)).isInstanceOf(IllegalStateException.class);
+
+    fileSystem.failure = null;
+    assertThat(service.get(RegistrarId.class).containsId(3878)).isTrue();
+  }
+
+  @Test
+  public void testGet_NotPrepared_ReturnsNull() {
+    assertThat(service.get(MediaTypes.class)).isNull();
+    assertThat(fileSystem.downloads).isEmpty();
+  }
+
+  @Test
+  public void testDownload_LoadsEveryDataset() {
+    assertThat(service.download(false)).isTrue();
+
+    assertThat(fileSystem.downloads).hasSize(13);
+    assertThat(service.get(StatusJsonValues.class)).isNotNull();
+    assertThat(service.get(RegistrarId.class)).isNotNull();
+  }
+
+  /**
+   * Serves the test dataset files and records which ones are downloaded.
+   */
+  private static class RecordingFileSystem extends LocalFileSystem {
+
+    private final List<String> downloads = Collections.synchronizedList(new ArrayList<>());
+    private volatile IOException failure;
+
+    @Override
+    public DownloadResult downloadIfModified(URI uri, String filePath, String etag, String lastModified)
+        throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+      String filename = Path.of(filePath).getFileName().toString();
+      downloads.add(filename);
+      try (InputStream is = Objects.requireNonNull(getClass().getResourceAsStream("/dataset/" + filename))) {
+        Files.copy(is, Path.of(filePath), StandardCopyOption.REPLACE_EXISTING);
+      }
+      return new DownloadResult(true, null, null);
+    }
+  }
+}
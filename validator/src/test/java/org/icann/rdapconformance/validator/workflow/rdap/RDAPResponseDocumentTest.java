@@ -0,0 +1,66 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import org.json.JSONException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RDAPResponseDocumentTest {
+
+  private static final String JSON = "{\"objectClassName\":\"domain\",\"ldhName\":\"example.com\","
+      + "\"entities\":[{\"objectClassName\":\"entity\",\"roles\":[\"registrar\"]}]}";
+
+  @BeforeMethod
+  public void setUp() {
+    RDAPResponseDocument.clearCache();
+  }
+
+  @Test
+  public void testOf_SameContent_ReturnsSameDocument() {
+    RDAPResponseDocument first = RDAPResponseDocument.of(JSON);
+    RDAPResponseDocument second = RDAPResponseDocument.of(new String(JSON));
+
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  public void testOf_DifferentContent_ReturnsDifferentDocument() {
+    RDAPResponseDocument first = RDAPResponseDocument.of(JSON);
+    RDAPResponseDocument second = RDAPResponseDocument.of("{\"objectClassName\":\"entity\"}");
+
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  public void testOf_EmptyContent_Throws() {
+    assertThatThrownBy(() -> RDAPResponseDocument.of(""))
+        .isInstanceOf(JSONException.class);
+  }
+
+  @Test
+  public void testViews_AreParsedOnceAndConsistent() throws Exception {
+    RDAPResponseDocument document = RDAPResponseDocument.of(JSON);
+
+    assertThat(document.getJsonObject()).isSameAs(document.getJsonObject());
+    assertThat(document.getJsonObject().getString("ldhName")).isEqualTo("example.com");
+
+    JsonNode tree = document.getJsonTree();
+    assertThat(document.getJsonTree()).isSameAs(tree);
+    assertThat(tree.get("ldhName").asText()).isEqualTo("example.com");
+
+    assertThat(document.getJsonPathContext()).isSameAs(document.getJsonPathContext());
+    List<String> paths = document.getJsonPathContext().read("$.entities[?(@.roles contains 'registrar')]");
+    assertThat(paths).containsExactly("$['entities'][0]");
+  }
+
+  @Test
+  public void testReadTree_EmptyBody_BehavesLikeObjectMapper() throws Exception {
+    JsonNode tree = RDAPResponseDocument.readTree("");
+
+    assertThat(tree.isMissingNode()).isTrue();
+  }
+}
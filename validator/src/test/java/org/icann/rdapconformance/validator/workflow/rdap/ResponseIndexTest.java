@@ -0,0 +1,103 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import org.icann.rdapconformance.validator.JpathUtil;
+import org.json.JSONObject;
+import org.testng.annotations.Test;
+
+public class ResponseIndexTest {
+
+  private static final String JSON = "{"
+      + "\"objectClassName\":\"domain\","
+      + "\"notices\":[{\"title\":\"Terms\",\"links\":[{\"href\":\"https://example.com/terms\"}]}],"
+      + "\"links\":[{\"rel\":\"self\",\"href\":\"https://example.com/domain/example.com\"}],"
+      + "\"events\":[{\"eventAction\":\"registration\"}],"
+      + "\"redacted\":[{\"name\":{\"type\":\"Registrant Name\"}},{\"name\":{\"type\":\"Tech Email\"}}],"
+      + "\"entities\":["
+      + "  {\"roles\":[\"registrar\"],\"vcardArray\":[\"vcard\",[]],"
+      + "   \"entities\":[{\"roles\":[\"abuse\"],\"vcardArray\":[\"vcard\",[]]}]},"
+      + "  {\"roles\":[\"registrant\",\"technical\"],\"events\":[]},"
+      + "  {\"handle\":\"NO-ROLES\"}"
+      + "]}";
+
+  private final JpathUtil jpathUtil = new JpathUtil();
+
+  @Test
+  public void testEntitiesByRole() {
+    ResponseIndex index = ResponseIndex.build(new JSONObject(JSON));
+
+    assertThat(index.getTopLevelEntityPointers("registrar")).containsExactly("#/entities/0");
+    assertThat(index.getTopLevelEntityPointers("technical")).containsExactly("#/entities/1");
+    assertThat(index.getTopLevelEntityPointers("abuse")).isEmpty();
+    assertThat(index.getTopLevelEntityPointers("unknown")).isEmpty();
+  }
+
+  @Test
+  public void testMemberPointers() {
+    ResponseIndex index = ResponseIndex.build(new JSONObject(JSON));
+
+    assertThat(index.find("$.redacted[*]")).contains(Set.of("#/redacted/0", "#/redacted/1"));
+    assertThat(index.getNoticesPointers()).containsExactly("#/notices");
+    assertThat(index.getEntityVcardArrayPointers())
+        .containsExactlyInAnyOrder("#/entities/0/vcardArray", "#/entities/0/entities/0/vcardArray");
+  }
+
+  @Test
+  public void testMemberPointers_MatchDeepScans() {
+    JSONObject response = new JSONObject(JSON);
+    ResponseIndex index = ResponseIndex.build(response);
+
+    assertThat(index.getNoticesPointers()).isEqualTo(jpathUtil.getPointerFromJPath(response, "$..notices"));
+    assertThat(index.getEntityVcardArrayPointers())
+        .isEqualTo(jpathUtil.getPointerFromJPath(response, "$..entities..vcardArray"));
+  }
+
+  @Test
+  public void testFind_MatchesJsonPath() {
+    JSONObject response = new JSONObject(JSON);
+    ResponseIndex index = ResponseIndex.build(response);
+
+    for (String jpath : new String[] {
+        "$.redacted[*]",
+        "$.entities[?(@.roles contains 'registrar')]",
+        "$.entities[?(@.roles contains 'technical')]",
+        "$.entities[?(@.roles contains 'abuse')]"}) {
+      assertThat(index.find(jpath)).as(jpath).contains(jpathUtil.getPointerFromJPath(response, jpath));
+    }
+  }
+
+  @Test
+  public void testFind_UnindexedPath_IsEmpty() {
+    ResponseIndex index = ResponseIndex.build(new JSONObject(JSON));
+
+    assertThat(index.find("$.entities[*].handle")).isEmpty();
+    assertThat(index.find(null)).isEmpty();
+  }
+
+  @Test
+  public void testFind_MissingMembers_ReturnsEmptySets() {
+    ResponseIndex index = ResponseIndex.build(new JSONObject("{\"objectClassName\":\"domain\"}"));
+
+    assertThat(index.find("$.redacted[*]")).contains(Set.of());
+    assertThat(index.find("$.entities[?(@.roles contains 'registrar')]")).contains(Set.of());
+  }
+
+  @Test
+  public void testFind_UnusualShapes_LeftToJsonPath() {
+    ResponseIndex index = ResponseIndex.build(new JSONObject(
+        "{\"redacted\":{\"name\":\"x\"},\"entities\":[{\"roles\":\"registrar\"}]}"));
+
+    assertThat(index.find("$.redacted[*]")).isEmpty();
+    assertThat(index.find("$.entities[?(@.roles contains 'registrar')]")).isEmpty();
+  }
+
+  @Test
+  public void testDocument_IndexIsBuiltOnce() {
+    RDAPResponseDocument.clearCache();
+    RDAPResponseDocument document = RDAPResponseDocument.of(JSON);
+
+    assertThat(document.getIndex()).isSameAs(document.getIndex());
+  }
+}
@@ -0,0 +1,232 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SharedDatasetServiceTest {
+
+  private static final Duration REFRESH_INTERVAL = Duration.ofHours(1);
+
+  private final MutableClock clock = new MutableClock();
+  private final List<RDAPDatasetService> created = new ArrayList<>();
+  private boolean downloadSucceeds;
+
+  @BeforeMethod
+  public void setUp() {
+    SharedDatasetService.clear();
+    created.clear();
+    downloadSucceeds = true;
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    SharedDatasetService.clear();
+  }
+
+  @Test
+  public void testAcquire_LoadsTheDatasetsOnce() {
+    try (SharedDatasetService.Lease first = acquire("datasets");
+        SharedDatasetService.Lease second = acquire("datasets")) {
+      assertThat(created).hasSize(1);
+      assertThat(first.download(false)).isTrue();
+      assertThat(first.get(String.class)).isSameAs(second.get(String.class));
+      assertThat(first.getDatasets()).isSameAs(second.getDatasets()).isSameAs(created.get(0));
+      assertThat(SharedDatasetService.get("datasets", false).getReferenceCount()).isEqualTo(2);
+    }
+    assertThat(SharedDatasetService.get("datasets", false).getReferenceCount()).isZero();
+  }
+
+  @Test
+  public void testAcquire_DatasetsStayLoadedWithoutLeases() {
+    acquire("datasets").close();
+    acquire("datasets").close();
+
+    assertThat(created).hasSize(1);
+  }
+
+  @Test
+  public void testAcquire_DirectoriesAndModesAreSeparate() {
+    acquire("datasets").close();
+    acquire("other").close();
+    SharedDatasetService.acquire("datasets", true, REFRESH_INTERVAL, this::newService, clock).close();
+
+    assertThat(created).hasSize(3);
+  }
+
+  @Test
+  public void testClose_ReleasesOnce() {
+    SharedDatasetService.Lease lease = acquire("datasets");
+    acquire("datasets");
+
+    lease.close();
+    lease.close();
+
+    assertThat(SharedDatasetService.get("datasets", false).getReferenceCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testAcquire_FailedLoadIsRetried() {
+    downloadSucceeds = false;
+    try (SharedDatasetService.Lease lease = acquire("datasets")) {
+      assertThat(lease.download(false)).isFalse();
+    }
+
+    downloadSucceeds = true;
+    try (SharedDatasetService.Lease lease = acquire("datasets")) {
+      assertThat(lease.download(false)).isTrue();
+    }
+    assertThat(created).hasSize(2);
+  }
+
+  @Test
+  public void testRefresh_SwapsTheDatasetsForNewLeases() {
+    SharedDatasetService.Lease before = acquire("datasets");
+    Object oldDataset = before.get(String.class);
+
+    assertThat(SharedDatasetService.get("datasets", false).refresh()).isTrue();
+
+    try (SharedDatasetService.Lease after = acquire("datasets")) {
+      assertThat(after.get(String.class)).isNotSameAs(oldDataset);
+    }
+    // Leases keep the datasets they started with
+    assertThat(before.get(String.class)).isSameAs(oldDataset);
+    before.close();
+  }
+
+  @Test
+  public void testRefresh_FailureKeepsThePreviousDatasets() {
+    Object oldDataset;
+    try (SharedDatasetService.Lease before = acquire("datasets")) {
+      oldDataset = before.get(String.class);
+    }
+
+    downloadSucceeds = false;
+    assertThat(SharedDatasetService.get("datasets", false).refresh()).isFalse();
+
+    try (SharedDatasetService.Lease after = acquire("datasets")) {
+      assertThat(after.get(String.class)).isSameAs(oldDataset);
+    }
+  }
+
+  @Test
+  public void testAcquire_StaleDatasetsAreRefreshedInBackground() throws InterruptedException {
+    Object oldDataset;
+    try (SharedDatasetService.Lease lease = acquire("datasets")) {
+      oldDataset = lease.get(String.class);
+    }
+
+    clock.advance(REFRESH_INTERVAL);
+    try (SharedDatasetService.Lease stale = acquire("datasets")) {
+      // Served right away with the datasets already loaded
+      assertThat(stale.get(String.class)).isSameAs(oldDataset);
+    }
+
+    long deadline = System.currentTimeMillis() + 5000;
+    Object refreshed = oldDataset;
+    while (refreshed == oldDataset && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+      try (SharedDatasetService.Lease lease = acquire("datasets")) {
+        refreshed = lease.get(String.class);
+      }
+    }
+    assertThat(refreshed).isNotSameAs(oldDataset);
+  }
+
+  @Test
+  public void testRefresh_SlowDirectoryDoesNotDelayTheOthers() throws InterruptedException {
+    CountDownLatch slowDownload = new CountDownLatch(1);
+    AtomicBoolean blocking = new AtomicBoolean();
+    SharedDatasetService.acquire("slow", false, REFRESH_INTERVAL, () -> {
+      RDAPDatasetService service = mock(RDAPDatasetService.class);
+      boolean block = blocking.get();
+      when(service.download(anyBoolean())).thenAnswer(invocation -> {
+        if (block) {
+          slowDownload.await();
+        }
+        return true;
+      });
+      return service;
+    }, clock).close();
+    Object oldDataset;
+    try (SharedDatasetService.Lease lease = acquire("fast")) {
+      oldDataset = lease.get(String.class);
+    }
+
+    try {
+      blocking.set(true);
+      clock.advance(REFRESH_INTERVAL);
+      SharedDatasetService.acquire("slow", false, REFRESH_INTERVAL, this::newService, clock).close();
+
+      long deadline = System.currentTimeMillis() + 5000;
+      Object refreshed = oldDataset;
+      while (refreshed == oldDataset && System.currentTimeMillis() < deadline) {
+        try (SharedDatasetService.Lease lease = acquire("fast")) {
+          refreshed = lease.get(String.class);
+        }
+        Thread.sleep(10);
+      }
+      assertThat(refreshed).isNotSameAs(oldDataset);
+    } finally {
+      slowDownload.countDown();
+    }
+  }
+
+  @Test
+  public void testAcquire_InvalidRefreshInterval_Throws() {
+    assertThatThrownBy(() -> SharedDatasetService.acquire("datasets", false, Duration.ZERO, this::newService, clock))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private SharedDatasetService.Lease acquire(String directory) {
+    return SharedDatasetService.acquire(directory, false, REFRESH_INTERVAL, this::newService, clock);
+  }
+
+  private synchronized RDAPDatasetService newService() {
+    RDAPDatasetService service = mock(RDAPDatasetService.class);
+    when(service.download(anyBoolean())).thenReturn(downloadSucceeds);
+    // Each load returns its own dataset instance
+    when(service.get(String.class)).thenReturn(new String("dataset-" + created.size()));
+    created.add(service);
+    return service;
+  }
+
+  private static class MutableClock extends Clock {
+
+    private volatile Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package org.icann.rdapconformance.validator.workflow.rdap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.icann.rdapconformance.validator.QueryContext;
+import org.icann.rdapconformance.validator.configuration.RDAPValidatorConfiguration;
+import org.icann.rdapconformance.validator.workflow.ValidatorWorkflow;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ValidationRoundRunnerTest {
+
+    private QueryContext parent;
+
+    @BeforeMethod
+    public void setUp() {
+        RDAPValidatorConfiguration config = mock(RDAPValidatorConfiguration.class);
+        when(config.getUri()).thenReturn(URI.create("https://example.com/rdap/domain/test.example"));
+        parent = QueryContext.forTesting(config);
+    }
+
+    @Test
+    public void testRun_Parallel_MergesInRoundOrder() {
+        List<ValidationRound> rounds = List.of(ValidationRound.values());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<ValidationRound> merged = new ArrayList<>();
+
+        List<Integer> statuses = new ValidationRoundRunner(parent, 4).run(rounds,
+            ctx -> new RoundValidator(ctx, threads), (round, status) -> merged.add(round));
+
+        assertThat(merged).containsExactlyElementsOf(rounds);
+        assertThat(statuses).containsExactly(0, 1, 2, 3);
+        assertThat(parent.getResults().getAllAsList())
+            .extracting(RDAPValidationResult::getValue)
+            .containsExactly("IPv6|application/json", "IPv6|application/rdap+json",
+                "IPv4|application/json", "IPv4|application/rdap+json");
+        assertThat(threads).doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void testRun_Parallel_RunsOnVirtualThreads() {
+        Set<Boolean> virtualThreads = ConcurrentHashMap.newKeySet();
+
+        new ValidationRoundRunner(parent, 4).run(List.of(ValidationRound.values()),
+            ctx -> new RoundValidator(ctx, ConcurrentHashMap.newKeySet()) {
+                @Override
+                public int validate() {
+                    virtualThreads.add(Thread.currentThread().isVirtual());
+                    return super.validate();
+                }
+            }, null);
+
+        assertThat(virtualThreads).containsExactly(true);
+    }
+
+    @Test
+    public void testRun_Sequential_RunsOnCallingThread() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        new ValidationRoundRunner(parent, 1).run(
+            List.of(ValidationRound.IPV4_JSON, ValidationRound.IPV4_RDAP_JSON),
+            ctx -> new RoundValidator(ctx, threads), null);
+
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+        assertThat(parent.getResults().getAllAsList())
+            .extracting(RDAPValidationResult::getValue)
+            .containsExactly("IPv4|application/json", "IPv4|application/rdap+json");
+    }
+
+    @Test
+    public void testRun_NoRounds_DoesNothing() {
+        List<Integer> statuses = new ValidationRoundRunner(parent, 4).run(Collections.emptyList(),
+            ctx -> new RoundValidator(ctx, ConcurrentHashMap.newKeySet()), null);
+
+        assertThat(statuses).isEmpty();
+        assertThat(parent.getResults().getAllAsList()).isEmpty();
+    }
+
+    @Test
+    public void testRun_RoundFailure_IsRethrown() {
+        assertThatThrownBy(() -> new ValidationRoundRunner(parent, 4).run(List.of(ValidationRound.values()),
+            ctx -> new ValidatorWorkflow() {
+                @Override
+                public int validate() {
+                    throw new IllegalArgumentException("boom");
+                }
+
+                @Override
+                public String getResultsPath() {
+                    return null;
+                }
+            }, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("boom");
+    }
+
+    /**
+     * Records the round it ran in as a result; earlier rounds sleep longer so they finish last.
+     */
+    private static class RoundValidator implements ValidatorWorkflow {
+        private final QueryContext context;
+        private final Set<String> threads;
+
+        RoundValidator(QueryContext context, Set<String> threads) {
+            this.context = context;
+            this.threads = threads;
+        }
+
+        @Override
+        public int validate() {
+            threads.add(Thread.currentThread().getName());
+            int index = ValidationRound.values().length - 1;
+            for (ValidationRound round : ValidationRound.values()) {
+                if (round.getProtocol() == context.getNetworkProtocol()
+                    && round.getAcceptHeader().getValue().equals(context.getAcceptHeader())) {
+                    index = round.ordinal();
+                }
+            }
+            try {
+                Thread.sleep((ValidationRound.values().length - index) * 20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            context.getResults().add(RDAPValidationResult.builder()
+                .code(-1)
+                .value(context.getNetworkProtocol() + "|" + context.getAcceptHeader())
+                .message("round")
+                .build());
+            return index;
+        }
+
+        @Override
+        public String getResultsPath() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.icann.rdapconformance.validator.workflow.rdap.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.icann.rdapconformance.validator.workflow.DownloadResult;
+import org.icann.rdapconformance.validator.workflow.LocalFileSystem;
+import org.icann.rdapconformance.validator.workflow.rdap.dataset.model.RDAPExtensions;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RDAPDatasetTest {
+
+  private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+  private Path datasetDirectory;
+  private Path datasetFile;
+  private RecordingFileSystem fileSystem;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    RDAPDataset.clearParsedModels();
+    datasetDirectory = Files.createTempDirectory("rdap-dataset-test");
+    datasetFile = datasetDirectory.resolve("rdap-extensions.xml");
+    fileSystem = new RecordingFileSystem();
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    RDAPDataset.clearParsedModels();
+    try (var files = Files.list(datasetDirectory)) {
+      for (Path file : files.toList()) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(datasetDirectory);
+  }
+
+  @Test
+  public void testDownload_StoresAndSendsTheValidators() {
+    fileSystem.result = new DownloadResult(true, "\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT");
+    assertThat(newDataset(NOW).download(false)).isTrue();
+    assertThat(fileSystem.requests).containsExactly("null null");
+    assertThat(Files.exists(Path.of(datasetFile + DatasetFileMetadata.SUFFIX))).isTrue();
+
+    fileSystem.result = new DownloadResult(false, "\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT");
+    assertThat(newDataset(NOW).download(false)).isTrue();
+    assertThat(fileSystem.requests).containsExactly("null null", "\"v1\" Mon, 01 Jan 2024 00:00:00 GMT");
+  }
+
+  @Test
+  public void testDownload_FreshFileIsNotChecked() {
+    fileSystem.result = new DownloadResult(true, "\"v1\"", null);
+    RDAPDataset<RDAPExtensions> dataset = newDataset(NOW);
+    dataset.setFreshnessTtl(Duration.ofHours(1));
+    dataset.download(false);
+
+    RDAPDataset<RDAPExtensions> fresh = newDataset(NOW.plus(Duration.ofMinutes(59)));
+    fresh.setFreshnessTtl(Duration.ofHours(1));
+    assertThat(fresh.download(false)).isTrue();
+    assertThat(fileSystem.requests).hasSize(1);
+
+    RDAPDataset<RDAPExtensions> stale = newDataset(NOW.plus(Duration.ofHours(1)));
+    stale.setFreshnessTtl(Duration.ofHours(1));
+    assertThat(stale.download(false)).isTrue();
+    assertThat(fileSystem.requests).hasSize(2);
+  }
+
+  @Test
+  public void testDownload_UseLocalDatasets_DoesNotCheckAnExistingFile() {
+    newDataset(NOW).download(false);
+
+    assertThat(newDataset(NOW).download(true)).isTrue();
+    assertThat(fileSystem.requests).hasSize(1);
+  }
+
+  @Test
+  public void testDownload_Failure_ReturnsFalse() {
+    fileSystem.failure = new IOException("unreachable");
+
+    assertThat(newDataset(NOW).download(false)).isFalse();
+  }
+
+  @Test
+  public void testSetFreshnessTtl_Negative_Throws() {
+    assertThatThrownBy(() -> newDataset(NOW).setFreshnessTtl(Duration.ofSeconds(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void testParse_ReusesTheModelOfAnUnchangedFile() throws IOException {
+    RDAPDataset<RDAPExtensions> first = newDataset(NOW);
+    first.download(false);
+    assertThat(first.parse()).isTrue();
+
+    RDAPDataset<RDAPExtensions> second = newDataset(NOW);
+    assertThat(second.parse()).isTrue();
+    assertThat(second.getData()).isSameAs(first.getData());
+
+    Files.writeString(datasetFile, "\n", StandardOpenOption.APPEND);
+    RDAPDataset<RDAPExtensions> changed = newDataset(NOW);
+    assertThat(changed.parse()).isTrue();
+    assertThat(changed.getData()).isNotSameAs(first.getData());
+  }
+
+  @Test
+  public void testParse_LoadsTheSnapshotOfAnUnchangedFile() {
+    RDAPDataset<RDAPExtensions> first = newDataset(NOW);
+    first.download(false);
+    assertThat(first.parse()).isTrue();
+    assertThat(Files.exists(snapshotFile())).isTrue();
+
+    // As in a new process
+    RDAPDataset.clearParsedModels();
+    RDAPDataset<RDAPExtensions> second = newDataset(NOW);
+    assertThat(second.parse()).isTrue();
+    assertThat(second.getData()).isNotSameAs(first.getData());
+    assertThat(second.getData().getValues()).isNotEmpty().isEqualTo(first.getData().getValues());
+  }
+
+  @Test
+  public void testParse_ChangedFile_ReplacesTheSnapshot() throws IOException {
+    RDAPDataset<RDAPExtensions> first = newDataset(NOW);
+    first.download(false);
+    first.parse();
+    byte[] snapshot = Files.readAllBytes(snapshotFile());
+
+    RDAPDataset.clearParsedModels();
+    Files.writeString(datasetFile, "\n", StandardOpenOption.APPEND);
+    assertThat(newDataset(NOW).parse()).isTrue();
+    assertThat(Files.readAllBytes(snapshotFile())).isNotEqualTo(snapshot);
+  }
+
+  @Test
+  public void testParse_CorruptSnapshot_ParsesTheFile() throws IOException {
+    RDAPDataset<RDAPExtensions> first = newDataset(NOW);
+    first.download(false);
+    first.parse();
+    byte[] snapshot = Files.readAllBytes(snapshotFile());
+    Files.write(snapshotFile(), Arrays.copyOf(snapshot, snapshot.length / 2));
+
+    RDAPDataset.clearParsedModels();
+    RDAPDataset<RDAPExtensions> second = newDataset(NOW);
+    assertThat(second.parse()).isTrue();
+    assertThat(second.getData().getValues()).isEqualTo(first.getData().getValues());
+    assertThat(Files.readAllBytes(snapshotFile())).isEqualTo(snapshot);
+  }
+
+  @Test
+  public void testParse_MissingFile_ReturnsFalse() {
+    assertThat(newDataset(NOW).parse()).isFalse();
+  }
+
+  private Path snapshotFile() {
+    return Path.of(datasetFile + DatasetSnapshot.SUFFIX);
+  }
+
+  private RDAPDataset<RDAPExtensions> newDataset(Instant now) {
+    RDAPExtensionsDataset dataset = new RDAPExtensionsDataset(fileSystem, datasetDirectory.toString());
+    dataset.setClock(Clock.fixed(now, ZoneOffset.UTC));
+    return dataset;
+  }
+
+  /**
+   * Serves the test rdap-extensions.xml and records the validators of each request.
+   */
+  private static class RecordingFileSystem extends LocalFileSystem {
+
+    private final List<String> requests = new ArrayList<>();
+    private DownloadResult result = new DownloadResult(true, null, null);
+    private IOException failure;
+
+    @Override
+    public DownloadResult downloadIfModified(URI uri, String filePath, String etag, String lastModified)
+        throws IOException {
+      requests.add(etag + " " + lastModified);
+      if (failure != null) {
+        throw failure;
+      }
+      if (result.modified()) {
+        try (InputStream is = Objects.requireNonNull(
+            getClass().getResourceAsStream("/dataset/rdap-extensions.xml"))) {
+          Files.copy(is, Path.of(filePath), StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+      return result;
+    }
+  }
+}
@@ -4,6 +4,10 @@ package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Unmarshaller;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import org.icann.rdapconformance.validator.workflow.StaxDeserializer;
 
 public abstract class BaseUnmarshallingTest<T> {
 
@@ -19,4 +23,13 @@ public abstract class BaseUnmarshallingTest<T> {
             throw new RuntimeException(e);
         }
     }
+
+    protected T stream(String xmlFile, Class<T> modelInstanceClass) {
+        try {
+            return new StaxDeserializer<>(modelInstanceClass)
+                .deserialize(new File(getClass().getResource(xmlFile).toURI()));
+        } catch (IOException | URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
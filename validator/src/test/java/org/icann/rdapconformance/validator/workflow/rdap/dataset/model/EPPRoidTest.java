@@ -14,6 +14,13 @@ public class EPPRoidTest extends BaseUnmarshallingTest<EPPRoid> {
         this.eppRoid = unmarshal("/dataset/epp-repository-ids.xml", EPPRoid.class);
     }
 
+    @Test
+    public void givenValidEppRoidXml_whenStreaming_thenReturnSameEppRoids() {
+        assertThat(stream("/dataset/epp-repository-ids.xml", EPPRoid.class).getValues())
+                .hasSize(519)
+                .isEqualTo(this.eppRoid.getValues());
+    }
+
     @Test
     public void givenValidEppRoidXml_whenUnmarshalling_thenReturnEppRoid() {
         assertThat(this.eppRoid.getValues()).hasSize(519);
@@ -0,0 +1,119 @@
+package org.icann.rdapconformance.validator.workflow.rdap.dataset.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import inet.ipaddr.IPAddressString;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+public class IpPrefixIndexTest {
+
+  private static final List<String> NETWORKS = List.of(
+      "10.0.0.0/8",
+      "192.0.0.0/24 ",
+      "192.0.0.170/32, 192.0.0.171/32",
+      "255.255.255.255/32",
+      "2001::/23",
+      "2001:db8::/32",
+      "fe80::/10");
+
+  @Test
+  public void testContains_Ipv4() {
+    IpPrefixIndex index = IpPrefixIndex.of(NETWORKS);
+
+    assertThat(index.contains("10.1.2.3")).isTrue();
+    assertThat(index.contains("192.0.0.1")).isTrue();
+    assertThat(index.contains("255.255.255.255")).isTrue();
+    assertThat(index.contains("11.1.2.3")).isFalse();
+    assertThat(index.contains("192.0.1.1")).isFalse();
+    assertThat(index.contains("255.255.255.254")).isFalse();
+  }
+
+  @Test
+  public void testContains_Ipv6() {
+    IpPrefixIndex index = IpPrefixIndex.of(NETWORKS);
+
+    assertThat(index.contains("2001:db8::1")).isTrue();
+    assertThat(index.contains("2001:1ff::1")).isTrue();
+    assertThat(index.contains("fe80::1")).isTrue();
+    assertThat(index.contains("2001:200::1")).isFalse();
+    assertThat(index.contains("::1")).isFalse();
+  }
+
+  @Test
+  public void testContains_CidrBlock() {
+    IpPrefixIndex index = IpPrefixIndex.of(NETWORKS);
+
+    assertThat(index.contains("10.20.0.0/16")).isTrue();
+    assertThat(index.contains("10.0.0.0/8")).isTrue();
+    assertThat(index.contains("10.0.0.0/7")).isFalse();
+  }
+
+  @Test
+  public void testContains_VersionsAreSeparate() {
+    IpPrefixIndex index = IpPrefixIndex.of(List.of("0.0.0.0/8"));
+
+    assertThat(index.contains("0.1.2.3")).isTrue();
+    assertThat(index.contains("::1")).isFalse();
+  }
+
+  @Test
+  public void testContains_NestedPrefixesInAnyOrder() {
+    assertThat(IpPrefixIndex.of(List.of("192.0.0.0/24", "192.0.0.0/29")).contains("192.0.0.100")).isTrue();
+    assertThat(IpPrefixIndex.of(List.of("192.0.0.0/29", "192.0.0.0/24")).contains("192.0.0.100")).isTrue();
+  }
+
+  @Test
+  public void testContains_InvalidInputsNeverMatch() {
+    IpPrefixIndex index = IpPrefixIndex.of(NETWORKS);
+
+    assertThat(index.contains(null)).isFalse();
+    assertThat(index.contains("not an ip")).isFalse();
+    // The unparseable network is left out
+    assertThat(index.contains("192.0.0.170")).isTrue();
+    assertThat(IpPrefixIndex.of(List.of("192.0.0.170/32, 192.0.0.171/32")).contains("192.0.0.170")).isFalse();
+  }
+
+  @Test
+  public void testContains_RangeNetwork() {
+    IpPrefixIndex index = IpPrefixIndex.of(List.of("1.2.3.4-5"));
+
+    assertThat(index.contains("1.2.3.4")).isTrue();
+    assertThat(index.contains("1.2.3.5")).isTrue();
+    assertThat(index.contains("1.2.3.6")).isFalse();
+  }
+
+  @Test
+  public void testContains_SameAnswersAsIpAddressString() {
+    List<String> networks = List.of("0.0.0.0/8", "100.64.0.0/10", "172.16.0.0/12", "192.168.0.0/16",
+        "198.18.0.0/15", "240.0.0.0/4", "::/128", "::ffff:0:0/96", "64:ff9b::/96", "fc00::/7", "2002::/16");
+    List<String> addresses = List.of("0.0.0.1", "1.0.0.0", "100.63.255.255", "100.64.0.0", "100.127.255.255",
+        "100.128.0.0", "172.31.1.1", "172.32.0.0", "192.167.255.255", "192.168.255.255", "198.19.255.255",
+        "198.20.0.0", "239.255.255.255", "240.0.0.1", "::", "::1", "::ffff:1.2.3.4", "64:ff9b::1.2.3.4",
+        "fbff::1", "fc00::1", "fdff::1", "fe00::1", "2002:c000:204::1", "2003::1", "1.2.3.4/24", "garbage");
+    IpPrefixIndex index = IpPrefixIndex.of(networks);
+
+    for (String address : addresses) {
+      boolean expected = networks.stream()
+          .anyMatch(network -> new IPAddressString(network).contains(new IPAddressString(address)));
+      assertThat(index.contains(address)).as(address).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void testLazy_BuiltOnceUntilReset() {
+    IpPrefixIndex.Lazy lazy = new IpPrefixIndex.Lazy();
+    AtomicInteger builds = new AtomicInteger();
+
+    IpPrefixIndex first = lazy.get(() -> {
+      builds.incrementAndGet();
+      return NETWORKS;
+    });
+    assertThat(lazy.get(() -> List.of("0.0.0.0/0"))).isSameAs(first);
+    assertThat(builds).hasValue(1);
+
+    lazy.reset();
+    assertThat(lazy.get(() -> List.of("0.0.0.0/0")).contains("8.8.8.8")).isTrue();
+  }
+}
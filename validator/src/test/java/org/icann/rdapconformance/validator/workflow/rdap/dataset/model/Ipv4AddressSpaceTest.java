@@ -111,6 +111,22 @@ public class Ipv4AddressSpaceTest extends BaseUnmarshallingTest<Ipv4AddressSpace
         assertThat(record.getPrefix()).isEqualTo("192.0.0.0/8");
     }
 
+    @Test
+    public void givenValidIpv4AddressSpaceXml_whenStreaming_thenReturnSameRecords() throws Exception {
+        Ipv4AddressSpace streamed = stream("/dataset/ipv4-address-space.xml", Ipv4AddressSpace.class);
+
+        Field field = Ipv4AddressSpace.class.getDeclaredField("records");
+        field.setAccessible(true);
+        List<Ipv4AddressSpace.Ipv4AddressSpaceRecord> records = (List<Ipv4AddressSpace.Ipv4AddressSpaceRecord>) field.get(streamed);
+        List<Ipv4AddressSpace.Ipv4AddressSpaceRecord> expected = (List<Ipv4AddressSpace.Ipv4AddressSpaceRecord>) field.get(ipv4AddressSpace);
+
+        assertThat(records).hasSize(256);
+        assertThat(records).extracting("prefix", "status")
+                .containsExactlyElementsOf(expected.stream().map(r -> tuple(r.getPrefix(), r.getStatus())).toList());
+        assertThat(streamed.isInvalid("1.1.1.1")).isFalse();
+        assertThat(streamed.isInvalid("0.1.1.1")).isTrue();
+    }
+
     @Test  
     public void testIsInvalid_WithManualRecords() throws Exception {
         // Create a test instance with known records
@@ -17,6 +17,13 @@ public class MediaTypesTest extends BaseUnmarshallingTest<MediaTypes> {
         this.mediaTypes = unmarshal("/dataset/media-types.xml", MediaTypes.class);
     }
 
+    @Test
+    public void givenValidMediaTypeXml_whenStreaming_thenReturnSameMediaTypes() {
+        Assertions.assertThat(stream("/dataset/media-types.xml", MediaTypes.class).getRecords())
+                .isNotEmpty()
+                .isEqualTo(mediaTypes.getRecords());
+    }
+
     @Test
     public void givenValidMediaTypeXml_whenUnmarshalling_thenReturnMediaType() {
         Assertions.assertThat(mediaTypes.getRecords())
@@ -19,6 +19,13 @@ public class RDAPExtensionsTest extends BaseUnmarshallingTest<RDAPExtensions> {
     this.rdapExtensionMarshalled = unmarshal("/dataset/rdap-extensions.xml", RDAPExtensions.class);
   }
 
+  @Test
+  public void testStreaming_ReadsTheSameExtensions() {
+    assertThat(stream("/dataset/rdap-extensions.xml", RDAPExtensions.class).getValues())
+        .isNotEmpty()
+        .isEqualTo(rdapExtensionMarshalled.getValues());
+  }
+
   @Test
   public void test_rdap_level_0() {
     assertThat(rdapExtensions.isInvalid("rdap_level_0")).isFalse();
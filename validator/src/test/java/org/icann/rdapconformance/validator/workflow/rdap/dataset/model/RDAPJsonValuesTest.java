@@ -4,6 +4,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.testng.Assert.assertNotNull;
 
 public class RDAPJsonValuesTest extends BaseUnmarshallingTest<RDAPJsonValues> {
@@ -34,4 +35,25 @@ public class RDAPJsonValuesTest extends BaseUnmarshallingTest<RDAPJsonValues> {
         assertThat(rdapJsonValues.getByType(RDAPJsonValues.JsonValueType.REDACTED_EXPRESSION_LANGUAGE)).hasSize(1);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testGetByType_ReturnsTheSameUnmodifiableSet() {
+        assertThat(rdapJsonValues.getByType(RDAPJsonValues.JsonValueType.STATUS))
+                .isSameAs(rdapJsonValues.getByType(RDAPJsonValues.JsonValueType.STATUS));
+        assertThatThrownBy(() -> rdapJsonValues.getByType(RDAPJsonValues.JsonValueType.STATUS).add("foo"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testGetByType_NotUnmarshalled_ReturnsEmptySet() {
+        assertThat(new RDAPJsonValues().getByType(RDAPJsonValues.JsonValueType.ROLE)).isEmpty();
+    }
+
+    @Test
+    public void testSubJsonValues_CheckTheirType() {
+        assertThat(new StatusJsonValues(rdapJsonValues).isInvalid("active")).isFalse();
+        assertThat(new StatusJsonValues(rdapJsonValues).isInvalid("registrant")).isTrue();
+        assertThat(new RoleJsonValues(rdapJsonValues).isInvalid("registrant")).isFalse();
+        assertThat(new EventActionJsonValues(rdapJsonValues).isInvalid("registration")).isFalse();
+        assertThat(new EventActionJsonValues(rdapJsonValues).isInvalid("active")).isTrue();
+    }
+}
@@ -75,6 +75,16 @@ public class RegistrarIdTest extends BaseUnmarshallingTest<RegistrarId> {
                         Tuple.tuple(9994, "Test 4", "", null)});
   }
 
+    @Test
+    public void parseRegistrarIds_Streaming_ReadsTheSameRecords() {
+        RegistrarId streamed = stream("/dataset/registrar-ids.xml", RegistrarId.class);
+
+        assertThat(streamed.recordByIdentifier).isEqualTo(registrarId.recordByIdentifier);
+        assertThat(streamed.names).isEqualTo(registrarId.names);
+        assertThat(streamed.getById(9994).isReserved()).isTrue();
+        assertThat(streamed.getById(3878).isAccredited()).isTrue();
+    }
+
         @Test
         public void testContainsId () {
             assertThat(registrarId.containsId(9994)).isTrue();
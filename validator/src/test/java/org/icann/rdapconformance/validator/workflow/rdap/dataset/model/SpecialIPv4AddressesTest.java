@@ -13,6 +13,14 @@ public class SpecialIPv4AddressesTest extends BaseUnmarshallingTest<SpecialIPv4A
         this.ipAddressSpecialRegistry = unmarshal("/dataset/iana-ipv4-special-registry.xml", SpecialIPv4Addresses.class);
     }
 
+    @Test
+    public void givenIpAddressSpecialRegistry_whenStreaming_thenSameAddressesAreRead() {
+        SpecialIPv4Addresses streamed = stream("/dataset/iana-ipv4-special-registry.xml", SpecialIPv4Addresses.class);
+        assertThat(streamed.getValues()).hasSize(24).isEqualTo(ipAddressSpecialRegistry.getValues());
+        assertThat(streamed.isInvalid("192.168.1.1")).isTrue();
+        assertThat(streamed.isInvalid("8.8.8.8")).isFalse();
+    }
+
     @Test
     public void givenIpAddressSpecialRegistry_whenUnmarshalling_thenSpecialIPv4AddressesAndSpecialIPv6AddressesAreUnmarshalled() {
         assertThat(ipAddressSpecialRegistry.getValues()).hasSize(24);
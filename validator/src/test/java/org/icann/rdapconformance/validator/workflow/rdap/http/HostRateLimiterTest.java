@@ -0,0 +1,184 @@
+package org.icann.rdapconformance.validator.workflow.rdap.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class HostRateLimiterTest {
+
+    private static final String HOST = "rdap.example.com";
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<Long> delays = new ArrayList<>();
+    private final List<Runnable> tasks = new ArrayList<>();
+    private HostRateLimiter limiter;
+
+    @BeforeMethod
+    public void setUp() {
+        now.set(TimeUnit.SECONDS.toNanos(1000));
+        delays.clear();
+        tasks.clear();
+        limiter = new HostRateLimiter(now::get, (delayNanos, task) -> {
+            delays.add(delayNanos);
+            tasks.add(task);
+        });
+    }
+
+    @Test
+    public void testAcquire_Default_NoLimitUntilTooManyRequests() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.acquire(HOST)).isDone();
+        }
+        assertThat(delays).isEmpty();
+    }
+
+    @Test
+    public void testAcquire_BurstThenSpacedByTheRate() {
+        limiter.configure(10, 10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.acquire(HOST)).isDone();
+        }
+
+        CompletableFuture<Void> next = limiter.acquire(HOST);
+        CompletableFuture<Void> afterNext = limiter.acquire(HOST);
+
+        assertThat(next).isNotDone();
+        assertThat(afterNext).isNotDone();
+        assertThat(delays).containsExactly(millis(100), millis(200));
+
+        tasks.get(0).run();
+        assertThat(next).isDone();
+        assertThat(afterNext).isNotDone();
+    }
+
+    @Test
+    public void testAcquire_IdleHost_BurstIsRefilled() {
+        limiter.configure(10, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(HOST);
+        }
+        now.addAndGet(millis(1000));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.acquire(HOST)).isDone();
+        }
+        assertThat(delays).isEmpty();
+    }
+
+    @Test
+    public void testOnTooManyRequests_BlocksTheHostAndSlowsItDown() {
+        limiter.onTooManyRequests(HOST, Duration.ofSeconds(5));
+
+        assertThat(limiter.acquire(HOST)).isNotDone();
+        assertThat(limiter.acquire(HOST)).isNotDone();
+        assertThat(delays).containsExactly(millis(5000), millis(6000));
+    }
+
+    @Test
+    public void testOnTooManyRequests_LongRetryAfter_IsCapped() {
+        limiter.onTooManyRequests(HOST, Duration.ofDays(1));
+
+        assertThat(limiter.acquire(HOST)).isNotDone();
+        assertThat(delays).containsExactly(HostRateLimiter.MAX_RETRY_AFTER.toNanos());
+    }
+
+    @Test
+    public void testOnTooManyRequests_SlowHost_HalvesItsRate() {
+        limiter.configure(0.5, 1);
+        limiter.onTooManyRequests(HOST, Duration.ZERO);
+
+        assertThat(limiter.acquire(HOST)).isDone();
+        limiter.acquire(HOST);
+
+        assertThat(delays).containsExactly(millis(4000));
+    }
+
+    @Test
+    public void testOnTooManyRequests_RepeatedResponses_RateIsBounded() {
+        for (int i = 0; i < 20; i++) {
+            limiter.onTooManyRequests(HOST, Duration.ZERO);
+        }
+
+        assertThat(limiter.acquire(HOST)).isDone();
+        limiter.acquire(HOST);
+
+        assertThat(delays).containsExactly(millis(10000));
+    }
+
+    @Test
+    public void testOnSuccess_ThrottledHost_RecoversGradually() {
+        limiter.onTooManyRequests(HOST, Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            limiter.onSuccess(HOST);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(limiter.acquire(HOST)).isDone();
+        assertThat(limiter.acquire(HOST)).isNotDone();
+    }
+
+    @Test
+    public void testOnSuccess_ThrottledHost_RecoversTheConfiguredRate() {
+        limiter.onTooManyRequests(HOST, Duration.ZERO);
+        for (int i = 0; i < 22; i++) {
+            limiter.onSuccess(HOST);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire(HOST);
+        }
+
+        assertThat(delays).isEmpty();
+    }
+
+    @Test
+    public void testOnTooManyRequests_OtherHostsAreNotAffected() {
+        limiter.onTooManyRequests(HOST, Duration.ofSeconds(30));
+
+        assertThat(limiter.acquire("rdap.example.net")).isDone();
+        assertThat(limiter.acquire("RDAP.Example.COM")).isNotDone();
+    }
+
+    @Test
+    public void testAcquire_ManyHosts_KeepsTheHostsBackingOff() {
+        limiter.onTooManyRequests(HOST, Duration.ofSeconds(30));
+
+        for (int i = 0; i < 2000; i++) {
+            assertThat(limiter.acquire("rdap" + i + ".example.net")).isDone();
+        }
+
+        assertThat(limiter.acquire(HOST)).isNotDone();
+        assertThat(delays).containsExactly(millis(30000));
+    }
+
+    @Test
+    public void testConfigure_AppliesToAllHosts() {
+        limiter.configure(2, 1);
+
+        assertThat(limiter.acquire(HOST)).isDone();
+        assertThat(limiter.acquire(HOST)).isNotDone();
+        assertThat(delays).containsExactly(millis(500));
+    }
+
+    @Test
+    public void testConfigure_InvalidRate_IsRejected() {
+        assertThatThrownBy(() -> limiter.configure(-1, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limiter.configure(Double.NaN, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limiter.configure(Double.POSITIVE_INFINITY, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limiter.configure(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -102,6 +102,19 @@ public class HttpClientManagerTest {
     assertThat(client1).isSameAs(client2);
   }
 
+  @Test
+  public void testGetClient_SharedLeafValidatingContext_ReusesClient() throws Exception {
+    manager = new HttpClientManager();
+    InetAddress localBindIp = InetAddress.getLoopbackAddress();
+
+    CloseableHttpClient client1 = manager.getClient("example.com",
+        manager.getSslContext(TlsContextProvider.TrustPolicy.LEAF_VALIDATING), localBindIp, 30);
+    CloseableHttpClient client2 = manager.getClient("example.com",
+        manager.getSslContext(TlsContextProvider.TrustPolicy.LEAF_VALIDATING), localBindIp, 30);
+
+    assertThat(client1).isSameAs(client2);
+  }
+
   @Test
   public void testGetClient_DifferentConfigurations_DifferentClients() throws Exception {
     manager = new HttpClientManager();
@@ -0,0 +1,140 @@
+package org.icann.rdapconformance.validator.workflow.rdap.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.KeyStore;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import org.icann.rdapconformance.validator.workflow.rdap.http.TlsContextProvider.TrustPolicy;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TlsContextProviderTest {
+
+  private static final char[] KEYSTORE_PASSWORD = "password".toCharArray();
+
+  private SSLServerSocket serverSocket;
+  private ExecutorService acceptor;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    KeyStore keyStore = KeyStore.getInstance("PKCS12");
+    try (InputStream in = getClass().getResourceAsStream("/keystores/expired.p12")) {
+      keyStore.load(in, KEYSTORE_PASSWORD);
+    }
+    KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    kmf.init(keyStore, KEYSTORE_PASSWORD);
+    SSLContext serverContext = SSLContext.getInstance("TLS");
+    serverContext.init(kmf.getKeyManagers(), null, null);
+
+    serverSocket = (SSLServerSocket) serverContext.getServerSocketFactory()
+        .createServerSocket(0, 10, InetAddress.getLoopbackAddress());
+    acceptor = Executors.newSingleThreadExecutor();
+    acceptor.submit(() -> {
+      while (!serverSocket.isClosed()) {
+        try (SSLSocket socket = (SSLSocket) serverSocket.accept()) {
+          socket.startHandshake();
+        } catch (Exception e) {
+          // The client rejects the certificate, accept the next connection
+        }
+      }
+    });
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    serverSocket.close();
+    acceptor.shutdownNow();
+  }
+
+  @Test
+  public void testCreateSslContext_ReturnsNewInstance() {
+    SSLContext first = TlsContextProvider.createSslContext(TrustPolicy.LEAF_VALIDATING);
+    SSLContext second = TlsContextProvider.createSslContext(TrustPolicy.LEAF_VALIDATING);
+
+    assertThat(first).isNotNull();
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  public void testGetSslContext_SameManager_ReturnsSameInstance() {
+    HttpClientManager manager = new HttpClientManager();
+    try {
+      SSLContext first = manager.getSslContext(TrustPolicy.LEAF_VALIDATING);
+      SSLContext second = manager.getSslContext(TrustPolicy.LEAF_VALIDATING);
+
+      assertThat(second).isSameAs(first);
+    } finally {
+      manager.shutdown();
+    }
+  }
+
+  @Test
+  public void testGetSslContext_DifferentManagers_ReturnDifferentInstances() {
+    HttpClientManager first = new HttpClientManager();
+    HttpClientManager second = new HttpClientManager();
+    try {
+      assertThat(second.getSslContext(TrustPolicy.LEAF_VALIDATING))
+          .isNotSameAs(first.getSslContext(TrustPolicy.LEAF_VALIDATING));
+    } finally {
+      first.shutdown();
+      second.shutdown();
+    }
+  }
+
+  @Test
+  public void testGetSslContext_ConcurrentAccess_ReturnsSameInstance() throws Exception {
+    HttpClientManager manager = new HttpClientManager();
+    int threadCount = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      CompletableFuture<SSLContext>[] futures = new CompletableFuture[threadCount];
+      for (int i = 0; i < threadCount; i++) {
+        futures[i] = CompletableFuture.supplyAsync(
+            () -> manager.getSslContext(TrustPolicy.LEAF_VALIDATING), executor);
+      }
+
+      SSLContext first = futures[0].get(5, TimeUnit.SECONDS);
+      for (int i = 1; i < threadCount; i++) {
+        assertThat(futures[i].get(5, TimeUnit.SECONDS)).isSameAs(first);
+      }
+    } finally {
+      executor.shutdown();
+      manager.shutdown();
+    }
+  }
+
+  @Test
+  public void testGetSslContext_SecondValidation_StillRejectsExpiredLeaf() throws Exception {
+    for (int validation = 0; validation < 2; validation++) {
+      HttpClientManager manager = new HttpClientManager();
+      try {
+        SSLContext sslContext = manager.getSslContext(TrustPolicy.LEAF_VALIDATING);
+
+        assertThatThrownBy(() -> handshake(sslContext))
+            .hasStackTraceContaining("Leaf certificate expired");
+      } finally {
+        manager.shutdown();
+      }
+    }
+  }
+
+  private void handshake(SSLContext sslContext) throws Exception {
+    try (SSLSocket socket = (SSLSocket) sslContext.getSocketFactory().createSocket()) {
+      socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()), 5000);
+      socket.setSoTimeout(5000);
+      socket.startHandshake();
+    }
+  }
+}